@@ -80,7 +80,23 @@ public final class FilerUtils {
      * @throws javax.annotation.processing.FilerException if the same pathname has already been created
      */
     public static SimpleResourceWriter createResource(StandardLocation location, String targetPackage, String fileName, Element... originatingElements) throws IOException {
-        return new SimpleResourceWriter(ProcessingEnvironmentUtils.getFiler().createResource(location, targetPackage != null ? targetPackage : "", fileName, originatingElements));
+        return createResource(location, targetPackage, fileName, false, originatingElements);
+    }
+
+    /**
+     * Creates a resource file resident in passed location in root package with give name.
+     *
+     * @param location            the location to write the file to.
+     * @param targetPackage       the target package to use
+     * @param fileName            the file name to use
+     * @param useUtf8ByteOutput   true if file should be written UTF-8 encoded via the OutputStream of the file, which allows templates to be rendered without encoding static content
+     * @param originatingElements the originating elements responsible for resource file creation.
+     * @return SimpleResourceWriter if it hasn't been created before.
+     * @throws IOException
+     * @throws javax.annotation.processing.FilerException if the same pathname has already been created
+     */
+    public static SimpleResourceWriter createResource(StandardLocation location, String targetPackage, String fileName, boolean useUtf8ByteOutput, Element... originatingElements) throws IOException {
+        return new SimpleResourceWriter(ProcessingEnvironmentUtils.getFiler().createResource(location, targetPackage != null ? targetPackage : "", fileName, originatingElements), useUtf8ByteOutput);
     }
 
     /**
@@ -117,7 +133,20 @@ public final class FilerUtils {
      * @throws IOException is thrown if writer can't be created
      */
     public static SimpleJavaWriter createSourceFile(String fileName, Element... originatingElements) throws IOException {
-        return new SimpleJavaWriter(ProcessingEnvironmentUtils.getFiler().createSourceFile(fileName, originatingElements));
+        return createSourceFile(fileName, false, originatingElements);
+    }
+
+    /**
+     * Creates a source file writer.
+     *
+     * @param fileName            the filename to use
+     * @param useUtf8ByteOutput   true if file should be written UTF-8 encoded via the OutputStream of the file, which allows templates to be rendered without encoding static content
+     * @param originatingElements the element which originates the creation of the source file
+     * @return a SimpleJavaWriter that can be used to write java source code
+     * @throws IOException is thrown if writer can't be created
+     */
+    public static SimpleJavaWriter createSourceFile(String fileName, boolean useUtf8ByteOutput, Element... originatingElements) throws IOException {
+        return new SimpleJavaWriter(ProcessingEnvironmentUtils.getFiler().createSourceFile(fileName, originatingElements), useUtf8ByteOutput);
     }
 
 
@@ -4,21 +4,47 @@ import io.toolisticon.annotationprocessortoolkit.templating.TemplateProcessor;
 
 import javax.tools.FileObject;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
  * Abstract base class for writers of java code and resources.
+ * <p/>
+ * Writers can either write via the Writer of the file object or via its OutputStream using UTF-8 encoding.
+ * In the latter case templates are rendered directly into the OutputStream, so static template content isn't encoded again on each rendering.
  */
 public class AbstractSimpleWriter<T extends FileObject> {
 
 
     private final T fileObject;
     private final Writer foWriter;
+    private final OutputStream foOutputStream;
 
     public AbstractSimpleWriter(T fileObject) throws IOException {
+        this(fileObject, false);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param fileObject        the file object to write to
+     * @param useUtf8ByteOutput true if file should be written UTF-8 encoded via the OutputStream of the file object, false if the Writer of the file object should be used
+     * @throws IOException is thrown if file object can't be opened for writing
+     */
+    public AbstractSimpleWriter(T fileObject, boolean useUtf8ByteOutput) throws IOException {
         this.fileObject = fileObject;
-        this.foWriter = fileObject.openWriter();
+
+        if (useUtf8ByteOutput) {
+            this.foOutputStream = fileObject.openOutputStream();
+            this.foWriter = new OutputStreamWriter(foOutputStream, StandardCharsets.UTF_8);
+        } else {
+            this.foOutputStream = null;
+            this.foWriter = fileObject.openWriter();
+        }
+
     }
 
     /**
@@ -45,34 +71,36 @@ public class AbstractSimpleWriter<T extends FileObject> {
 
     /**
      * Write a template based content.
+     * The template is rendered directly into the writer.
      *
      * @param templateFileName the template resource file to use
      * @param values           the values to be used with template
      * @throws IOException is thrown if content can't be written
      */
     public void writeTemplate(String templateFileName, Map<String, Object> values) throws IOException {
-        String processedTemplate = TemplateProcessor.processTemplateResourceFile(templateFileName, values);
-
-        if (processedTemplate != null) {
-            append(processedTemplate);
+        if (foOutputStream != null) {
+            TemplateProcessor.processTemplateResourceFile(templateFileName, values, foOutputStream);
+        } else {
+            TemplateProcessor.processTemplateResourceFile(templateFileName, values, foWriter);
+            foWriter.flush();
         }
-
     }
 
     /**
      * Write a template based content.
+     * The template is rendered directly into the writer.
      *
      * @param templateString the template string to use
      * @param values         the values to be used with template
      * @throws IOException is thrown if content can't be written
      */
     public void writeTemplateString(String templateString, Map<String, Object> values) throws IOException {
-        String processedTemplate = TemplateProcessor.processTemplate(templateString, values);
-
-        if (processedTemplate != null) {
-            append(processedTemplate);
+        if (foOutputStream != null) {
+            TemplateProcessor.processTemplate(templateString, values, foOutputStream);
+        } else {
+            TemplateProcessor.processTemplate(templateString, values, foWriter);
+            foWriter.flush();
         }
-
     }
 
     /**
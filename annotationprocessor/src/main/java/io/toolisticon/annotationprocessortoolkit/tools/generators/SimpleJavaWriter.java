@@ -14,5 +14,9 @@ public class SimpleJavaWriter extends AbstractSimpleWriter<JavaFileObject> {
         super(fileObject);
     }
 
+    public SimpleJavaWriter(JavaFileObject fileObject, boolean useUtf8ByteOutput) throws IOException {
+        super(fileObject, useUtf8ByteOutput);
+    }
+
 
 }
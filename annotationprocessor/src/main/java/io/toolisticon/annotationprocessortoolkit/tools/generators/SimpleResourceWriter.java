@@ -15,5 +15,9 @@ public class SimpleResourceWriter extends AbstractSimpleWriter<FileObject> {
         super(fileObject);
     }
 
+    public SimpleResourceWriter(FileObject fileObject, boolean useUtf8ByteOutput) throws IOException {
+        super(fileObject, useUtf8ByteOutput);
+    }
+
 
 }
\ No newline at end of file
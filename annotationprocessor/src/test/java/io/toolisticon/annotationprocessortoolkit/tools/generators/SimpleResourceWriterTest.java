@@ -7,8 +7,10 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import javax.tools.FileObject;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -115,4 +117,28 @@ public class SimpleResourceWriterTest {
 
     }
 
+    @Test
+    public void testUtf8ByteOutput() throws IOException {
+
+        FileObject byteFileObject = Mockito.mock(FileObject.class);
+        ByteArrayOutputStream outputStream = Mockito.spy(new ByteArrayOutputStream());
+        Mockito.when(byteFileObject.openOutputStream()).thenReturn(outputStream);
+
+        SimpleResourceWriter byteUnit = new SimpleResourceWriter(byteFileObject, true);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("value", "\u00e4\u20ac");
+
+        byteUnit.append("<");
+        byteUnit.writeTemplateString("AB${value}EF", model);
+        byteUnit.writeTemplate("/testcases/generators/testTemplate.tpl", model);
+        byteUnit.write(">");
+        byteUnit.close();
+
+        MatcherAssert.assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), Matchers.is("<AB\u00e4\u20acEFAB\u00e4\u20acEF>"));
+        Mockito.verify(byteFileObject, Mockito.never()).openWriter();
+        Mockito.verify(outputStream, Mockito.times(1)).close();
+
+    }
+
 }
@@ -0,0 +1,223 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the models used by the benchmarks - a mix of POJOs and Maps like models of code generating annotation processors.
+ */
+public final class BenchmarkModel {
+
+    /**
+     * Model of a generated class.
+     */
+    public static class ClassModel {
+
+        private final String packageName;
+        private final String className;
+        private final List<String> imports;
+        private final List<FieldModel> fields;
+        private final List<MethodModel> methods;
+
+        public ClassModel(String packageName, String className, List<String> imports, List<FieldModel> fields, List<MethodModel> methods) {
+            this.packageName = packageName;
+            this.className = className;
+            this.imports = imports;
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public List<String> getImports() {
+            return imports;
+        }
+
+        public List<FieldModel> getFields() {
+            return fields;
+        }
+
+        public List<MethodModel> getMethods() {
+            return methods;
+        }
+
+    }
+
+    /**
+     * Model of a field of a generated class.
+     */
+    public static class FieldModel {
+
+        private final String type;
+        private final String name;
+        private final boolean finalField;
+
+        public FieldModel(String type, String name, boolean finalField) {
+            this.type = type;
+            this.name = name;
+            this.finalField = finalField;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Boolean isFinalField() {
+            return finalField;
+        }
+
+    }
+
+    /**
+     * Model of a method of a generated class.
+     */
+    public static class MethodModel {
+
+        private final String name;
+        private final String description;
+        private final String returnType;
+        private final String defaultValue;
+        private final boolean visible;
+        private final List<ParameterModel> parameters;
+        private final List<String> statements;
+
+        public MethodModel(String name, String description, String returnType, String defaultValue, boolean visible, List<ParameterModel> parameters, List<String> statements) {
+            this.name = name;
+            this.description = description;
+            this.returnType = returnType;
+            this.defaultValue = defaultValue;
+            this.visible = visible;
+            this.parameters = parameters;
+            this.statements = statements;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getReturnType() {
+            return returnType;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public Boolean isVisible() {
+            return visible;
+        }
+
+        public List<ParameterModel> getParameters() {
+            return parameters;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+    }
+
+    /**
+     * Model of a method parameter.
+     */
+    public static class ParameterModel {
+
+        private final String type;
+        private final String name;
+        private final boolean last;
+
+        public ParameterModel(String type, String name, boolean last) {
+            this.type = type;
+            this.name = name;
+            this.last = last;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Boolean isLast() {
+            return last;
+        }
+
+    }
+
+    private static final String[] TYPES = {"String", "int", "List<String>", "Map<String, Object>", "boolean"};
+
+    /**
+     * Hidden constructor.
+     */
+    private BenchmarkModel() {
+
+    }
+
+    /**
+     * Creates the model - a POJO describing the generated class and a Map holding generator settings.
+     *
+     * @return the model
+     */
+    public static Map<String, Object> createModel() {
+
+        List<FieldModel> fields = new ArrayList<FieldModel>();
+        for (int i = 0; i < 5; i++) {
+            fields.add(new FieldModel(TYPES[i % TYPES.length], "field" + i, i % 2 == 0));
+        }
+
+        List<MethodModel> methods = new ArrayList<MethodModel>();
+        for (int i = 0; i < 4; i++) {
+
+            List<ParameterModel> parameters = new ArrayList<ParameterModel>();
+            for (int j = 0; j < i; j++) {
+                parameters.add(new ParameterModel(TYPES[j % TYPES.length], "parameter" + j, j == i - 1));
+            }
+
+            methods.add(new MethodModel(
+                    "method" + i,
+                    "does something with " + i + " parameters",
+                    i % 2 == 0 ? "void" : "String",
+                    "\"result\"",
+                    i != 3,
+                    parameters,
+                    Arrays.asList("validate(field" + i + ")", "log(\"method" + i + "\")")));
+
+        }
+
+        Map<String, Object> generator = new HashMap<String, Object>();
+        generator.put("name", "BenchmarkProcessor");
+        generator.put("version", "1.0.0");
+
+        Map<String, Object> settings = new HashMap<String, Object>();
+        settings.put("prefix", "Generated ");
+        settings.put("suffix", " implementation");
+        settings.put("generator", generator);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("model", new ClassModel("io.toolisticon.benchmark", "BenchmarkClass", Arrays.asList("java.util.List", "java.util.Map", "javax.annotation.Generated"), fields, methods));
+        model.put("settings", settings);
+
+        return model;
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so allocation rates are reported next to the throughput.
+ * <p/>
+ * Accepts the usual JMH command line options, for example a regular expression to select the benchmarks to run.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Hidden constructor.
+     */
+    private BenchmarkRunner() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+    }
+
+}
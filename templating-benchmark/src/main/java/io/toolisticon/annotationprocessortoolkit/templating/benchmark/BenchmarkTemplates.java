@@ -0,0 +1,45 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+
+/**
+ * Creates templates of a given size that look like templates of code generating annotation processors.
+ * <p/>
+ * The templates consist of numbered class sections with nested FOR and IF blocks, expressions on POJO and Map models and chains of INCLUDE blocks.
+ */
+public final class BenchmarkTemplates {
+
+    private static final String CLASS_SECTION_RESOURCE = "/benchmark/ClassSection.tpl";
+
+    /**
+     * Hidden constructor.
+     */
+    private BenchmarkTemplates() {
+
+    }
+
+    /**
+     * Creates a template by repeating the class section until the template has at least the passed size.
+     *
+     * @param minimalSize the minimal length of the template in characters
+     * @return the template string
+     */
+    public static String createTemplate(int minimalSize) {
+
+        String classSection;
+        try {
+            classSection = ParseUtilities.readResourceToString(CLASS_SECTION_RESOURCE);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read template resource " + CLASS_SECTION_RESOURCE, e);
+        }
+
+        StringBuilder template = new StringBuilder("package ${model.packageName};\n\n");
+        for (int section = 1; template.length() < minimalSize; section++) {
+            template.append(classSection.replace("${section}", String.valueOf(section)));
+        }
+
+        return template.toString();
+
+    }
+
+}
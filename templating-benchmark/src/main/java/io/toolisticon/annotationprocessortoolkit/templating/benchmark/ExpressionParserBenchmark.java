@@ -0,0 +1,44 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ExpressionParser#parseExpression(String)}.
+ * <p/>
+ * Measures parsing of expressions like they are used in IF blocks and dynamic text of templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpressionParserBenchmark {
+
+    @Param({
+            "model.className",
+            "method.visible && !method.deprecated",
+            "(index + 1) * 2 >= size - 1 || name == 'value'",
+            "'prefix' + settings.prefix + ' - ' + settings.suffix"
+    })
+    private String expressionString;
+
+    @Benchmark
+    public Expression parseExpression() {
+        return ExpressionParser.parseExpression(expressionString);
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ModelPathResolver#resolveModelPath(Map, String)}.
+ * <p/>
+ * Measures resolution of model paths on POJO and Map models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelPathResolverBenchmark {
+
+    @Param({"model.className", "model.methods", "settings.prefix", "settings.generator.version"})
+    private String modelPath;
+
+    private Map<String, Object> model;
+
+    @Setup
+    public void setup() {
+        model = BenchmarkModel.createModel();
+    }
+
+    @Benchmark
+    public ModelPathResolver.ResolvedModelPathResult resolveModelPath() {
+        return ModelPathResolver.resolveModelPath(model, modelPath);
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ParseUtilities#parseString(String)}.
+ * <p/>
+ * Measures parsing of template strings into template blocks without any caching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParseUtilitiesBenchmark {
+
+    @Param({"1024", "10240", "102400", "1048576"})
+    private int templateSize;
+
+    private String templateString;
+
+    @Setup
+    public void setup() {
+        templateString = BenchmarkTemplates.createTemplate(templateSize);
+    }
+
+    @Benchmark
+    public TemplateBlockBinder parseString() {
+        return ParseUtilities.parseString(templateString);
+    }
+
+}
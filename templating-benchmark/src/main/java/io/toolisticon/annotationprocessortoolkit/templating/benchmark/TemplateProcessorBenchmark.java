@@ -0,0 +1,54 @@
+package io.toolisticon.annotationprocessortoolkit.templating.benchmark;
+
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link TemplateProcessor#processTemplate(String, Map)}.
+ * <p/>
+ * Measures rendering of cached templates - the template is compiled once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TemplateProcessorBenchmark {
+
+    @Param({"1024", "10240", "102400", "1048576"})
+    private int templateSize;
+
+    private String templateString;
+    private Map<String, Object> model;
+
+    @Setup
+    public void setup() {
+
+        templateString = BenchmarkTemplates.createTemplate(templateSize);
+        model = BenchmarkModel.createModel();
+
+        // compiles the template and puts it into the template cache
+        TemplateProcessor.processTemplate(templateString, model);
+
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        return TemplateProcessor.processTemplate(templateString, model);
+    }
+
+}
@@ -0,0 +1,21 @@
+// ------------------------------------------------------------------
+// section ${section}
+// ------------------------------------------------------------------
+!{for import : model.imports}import ${import};
+!{/for}
+/**
+ * ${settings.prefix + model.className + settings.suffix} generated by ${settings.generator.name} ${settings.generator.version}
+ */
+public class ${model.className}${section} {
+!{for field : model.fields}
+    private !{if field.finalField}final!{/if} ${field.type} ${field.name};
+!{/for}
+!{for method : model.methods}
+!{include resource:'/benchmark/MethodJavadoc.tpl', model:'method'}!{/include}
+    !{if method.visible}public!{/if} ${method.returnType} ${method.name}(!{for parameter : method.parameters}${parameter.type} ${parameter.name}!{if !parameter.last},!{/if}!{/for}) {
+!{for statement : method.statements}        ${statement};
+!{/for}!{if method.returnType != 'void'}        return ${method.defaultValue};
+!{/if}    }
+!{/for}
+}
+
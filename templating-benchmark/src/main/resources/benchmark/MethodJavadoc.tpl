@@ -0,0 +1,5 @@
+    /**
+     * ${model.name} - ${model.description}
+     *
+!{for parameter : model.parameters}!{include resource:'/benchmark/ParameterJavadoc.tpl', model:'parameter'}!{/include}!{/for}
+     */
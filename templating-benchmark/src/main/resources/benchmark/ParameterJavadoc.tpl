@@ -0,0 +1 @@
+     * @param ${model.name} the ${model.type} value
@@ -0,0 +1,107 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map that evicts the least recently used entry if maximum size is exceeded.
+ * Counts hits and misses of lookups.
+ * <p/>
+ * This implementation is threadsafe.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+    };
+
+    private int maximumSize;
+    private long hitCount = 0L;
+    private long missCount = 0L;
+
+
+    public LruCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Gets the value for a key and marks it as recently used.
+     *
+     * @param key the key
+     * @return the cached value or null if the key isn't cached
+     */
+    public synchronized V get(K key) {
+
+        V value = cache.get(key);
+        if (value != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return value;
+
+    }
+
+    /**
+     * Stores a value.
+     * The least recently used entry will be evicted if maximum size is exceeded.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    /**
+     * Sets the maximum number of cached entries.
+     * Least recently used entries will be evicted immediately if the cache contains more entries than allowed.
+     *
+     * @param maximumSize the maximum number of cached entries, 0 disables caching
+     */
+    public synchronized void setMaximumSize(int maximumSize) {
+
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+
+        this.maximumSize = maximumSize;
+
+        while (cache.size() > maximumSize) {
+            cache.remove(cache.keySet().iterator().next());
+        }
+
+    }
+
+    public synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Removes all entries and resets hit and miss counters.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        hitCount = 0L;
+        missCount = 0L;
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+/**
+ * Reflection free access to the properties of a model class.
+ * <p/>
+ * Implementations are generated at compile time for classes annotated with {@link TemplateModel} by the {@link TemplateModelProcessor}.
+ * {@link ModelPath}s use the accessor registered for the runtime class of a model node (see {@link ModelAccessors}) before falling back to reflection.
+ * Property names are resolved like reflection based resolution does: a path token either is the name of a public method without parameters
+ * or is the name of a property with a getter prefixed by get, is or has.
+ */
+public interface ModelAccessor {
+
+    /**
+     * Gets the model class the accessor is made for.
+     * The accessor is just used for models whose runtime class is exactly this class.
+     *
+     * @return the model class
+     */
+    Class<?> getModelType();
+
+    /**
+     * Gets the declared type of a property.
+     *
+     * @param propertyName the path token
+     * @return the return type of the getter or null if the accessor doesn't provide the property
+     */
+    Class<?> getPropertyType(String propertyName);
+
+    /**
+     * Gets the value of a property by calling its getter directly.
+     *
+     * @param model        the model to read the property from
+     * @param propertyName the path token - must be a property provided by the accessor
+     * @return the value of the property
+     * @throws Exception if the getter throws an exception
+     */
+    Object getPropertyValue(Object model, String propertyName) throws Exception;
+
+}
@@ -0,0 +1,101 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of {@link ModelAccessor}s.
+ * <p/>
+ * Accessors listed in META-INF/services/io.toolisticon.annotationprocessortoolkit.templating.ModelAccessor are loaded via the ServiceLoader
+ * when an accessor is looked up for the first time. Accessors can also be registered manually, manually registered accessors replace service loaded ones.
+ * Accessors should be registered before templates are rendered, because model paths cache the accessors they've used.
+ * <p/>
+ * This implementation is threadsafe.
+ */
+public final class ModelAccessors {
+
+    /**
+     * Lazily initialized holder of the registered accessors.
+     */
+    private static class Registry {
+
+        private static final ConcurrentMap<Class<?>, ModelAccessor> MODEL_ACCESSORS = loadModelAccessors();
+
+        private static ConcurrentMap<Class<?>, ModelAccessor> loadModelAccessors() {
+
+            ConcurrentMap<Class<?>, ModelAccessor> modelAccessors = new ConcurrentHashMap<Class<?>, ModelAccessor>();
+
+            try {
+
+                Iterator<ModelAccessor> iterator = ServiceLoader.load(ModelAccessor.class, ModelAccessor.class.getClassLoader()).iterator();
+                while (iterator.hasNext()) {
+
+                    try {
+                        ModelAccessor modelAccessor = iterator.next();
+                        modelAccessors.put(modelAccessor.getModelType(), modelAccessor);
+                    } catch (ServiceConfigurationError e) {
+                        // skip accessors that can't be loaded - reflection is used for their models
+                    }
+
+                }
+
+            } catch (ServiceConfigurationError e) {
+                // service configuration file can't be read - reflection is used for all models
+            }
+
+            return modelAccessors;
+
+        }
+
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private ModelAccessors() {
+
+    }
+
+    /**
+     * Registers a model accessor for its model type.
+     *
+     * @param modelAccessor the accessor to register
+     * @throws IllegalArgumentException if passed modelAccessor or its model type is null
+     */
+    public static void register(ModelAccessor modelAccessor) {
+
+        if (modelAccessor == null || modelAccessor.getModelType() == null) {
+            throw new IllegalArgumentException("passed modelAccessor and its model type must not be null");
+        }
+
+        Registry.MODEL_ACCESSORS.put(modelAccessor.getModelType(), modelAccessor);
+
+    }
+
+    /**
+     * Removes the model accessor of a model type.
+     *
+     * @param modelType the model type
+     */
+    public static void unregister(Class<?> modelType) {
+
+        if (modelType != null) {
+            Registry.MODEL_ACCESSORS.remove(modelType);
+        }
+
+    }
+
+    /**
+     * Gets the model accessor for a model type.
+     *
+     * @param modelType the exact runtime type of the model
+     * @return the model accessor or null if no accessor is registered for the type
+     */
+    public static ModelAccessor getModelAccessor(Class<?> modelType) {
+        return modelType != null ? Registry.MODEL_ACCESSORS.get(modelType) : null;
+    }
+
+}
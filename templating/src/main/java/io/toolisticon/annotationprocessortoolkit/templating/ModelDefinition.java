@@ -0,0 +1,176 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidIncludeModelExpression;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A precompiled model definition.
+ * <p/>
+ * Model definitions consist of key value pairs, one per line separated by ':'.
+ * The key defines the access path in the model to create, the value is an expression that is evaluated against the outer model.
+ * Empty lines and lines starting with // are ignored.
+ * <p/>
+ * Lines are parsed just once, so a model definition can be used to create models for multiple outer models.
+ */
+public class ModelDefinition {
+
+    private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\\r{0,1}\\n");
+    private static final Pattern KEY_VALUE_EXTRACTION_PATTERN = Pattern.compile("^\\s*(\\w+(?:[.]\\w+)*)\\s*[:]\\s*(.+)\\s*$");
+
+    /**
+     * A parsed key value pair.
+     */
+    private static class KeyValuePair {
+
+        private final String line;
+        private final String[] keyAccessPath;
+        private final Expression valueExpression;
+
+        private KeyValuePair(String line, String[] keyAccessPath, Expression valueExpression) {
+            this.line = line;
+            this.keyAccessPath = keyAccessPath;
+            this.valueExpression = valueExpression;
+        }
+
+    }
+
+    private final List<KeyValuePair> keyValuePairs;
+
+    private ModelDefinition(List<KeyValuePair> keyValuePairs) {
+        this.keyValuePairs = keyValuePairs;
+    }
+
+    /**
+     * Compiles a model definition string.
+     *
+     * @param modelString the model definition string
+     * @return the compiled model definition
+     * @throws InvalidIncludeModelExpression if a line isn't syntactically correct
+     */
+    public static ModelDefinition compile(String modelString) {
+
+        if (modelString == null) {
+            throw new IllegalArgumentException("passed modelString must not be null");
+        }
+
+        List<KeyValuePair> keyValuePairs = new ArrayList<KeyValuePair>();
+
+        for (String line : LINE_SEPARATOR_PATTERN.split(modelString)) {
+
+            // skip empty line or comments starting with //
+            if (line.trim().isEmpty() || line.trim().startsWith("//")) {
+                continue;
+            }
+
+            Matcher matcher = KEY_VALUE_EXTRACTION_PATTERN.matcher(line);
+
+            if (matcher.matches()) {
+
+                try {
+                    String key = matcher.group(1);
+                    String value = matcher.group(2);
+
+                    keyValuePairs.add(new KeyValuePair(line, key.split("[.]"), ExpressionParser.parseExpression(value)));
+                } catch (Exception e) {
+                    throw new InvalidIncludeModelExpression("couldn't add get key/value pair for expression : " + line, e);
+                }
+
+            } else {
+                throw new InvalidIncludeModelExpression("key/value pair expression for generating a model isn't syntactically correct ( '<TARGET MODEL ACCESS PATH SEPARATED BY .>:<VALUE EXPRESSION>'): " + line);
+            }
+
+        }
+
+        return new ModelDefinition(keyValuePairs);
+
+    }
+
+    /**
+     * Creates the model by evaluating all value expressions against the outer model.
+     *
+     * @param outerModel the outer model
+     * @return the created model
+     * @throws InvalidIncludeModelExpression if a key value pair can't be added to the model
+     */
+    public Map<String, Object> createModel(Map<String, Object> outerModel) {
+
+        if (outerModel == null) {
+            throw new IllegalArgumentException("passed outerModel must not be null");
+        }
+
+        Map<String, Object> result = new HashMap<>();
+
+        for (KeyValuePair keyValuePair : keyValuePairs) {
+
+            try {
+                putValue(result, keyValuePair.keyAccessPath, keyValuePair.valueExpression.evaluateExpression(outerModel).value());
+            } catch (Exception e) {
+                throw new InvalidIncludeModelExpression("couldn't add get key/value pair for expression : " + keyValuePair.line, e);
+            }
+
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Gets the access paths of all outer model values read by the value expressions.
+     *
+     * @return the access paths
+     */
+    public Set<String> getModelPaths() {
+
+        Set<String> modelPaths = new LinkedHashSet<String>();
+        for (KeyValuePair keyValuePair : keyValuePairs) {
+            modelPaths.addAll(keyValuePair.valueExpression.getModelPaths());
+        }
+        return modelPaths;
+
+    }
+
+    /**
+     * Puts a value into the model to build.
+     * Maps on the key access path are created if they don't exist yet.
+     *
+     * @param modelToBuild  the model to put the value in
+     * @param keyAccessPath the access path of the key
+     * @param value         the value
+     */
+    static void putValue(Map<String, Object> modelToBuild, String[] keyAccessPath, Object value) {
+
+        String valueKey = keyAccessPath[keyAccessPath.length - 1];
+
+        // First get target Map to put the value in
+        Map<String, Object> targetMap = modelToBuild;
+
+        for (int i = 0; i < keyAccessPath.length - 1; i++) {
+
+            Object accessChainObject = targetMap.get(keyAccessPath[i]);
+            if (accessChainObject == null) {
+                Map<String, Object> nextMap = new HashMap<>();
+                targetMap.put(keyAccessPath[i], nextMap);
+                targetMap = nextMap;
+            } else if (Map.class.isAssignableFrom(accessChainObject.getClass())) {
+                targetMap = (Map<String, Object>) accessChainObject;
+            } else {
+                throw new IllegalArgumentException("key path must not include Objects others than of type Map");
+            }
+
+        }
+
+        targetMap.put(valueKey, value);
+
+    }
+
+}
@@ -0,0 +1,217 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled model access path.
+ * <p/>
+ * The path is split into its tokens just once. Additionally, the getter used for each path token is cached for the class of the last seen model node,
+ * so resolving the path for nodes of the same type as in the previous resolution doesn't need any lookups.
+ * Properties of nodes whose class has a registered {@link ModelAccessor} are read via the accessor, all other properties are read via reflection.
+ * <p/>
+ * This implementation is threadsafe.
+ */
+public class ModelPath {
+
+    /**
+     * Inline cache entry for the getter of a path token.
+     * Either holds a model accessor that provides the path token or the getter method to call via reflection.
+     */
+    private static class GetterCacheEntry {
+
+        private final Class<?> type;
+        private final ModelAccessor modelAccessor;
+        private final Class<?> propertyType;
+        private final Method getter;
+
+        private GetterCacheEntry(Class<?> type, ModelAccessor modelAccessor, Class<?> propertyType) {
+            this.type = type;
+            this.modelAccessor = modelAccessor;
+            this.propertyType = propertyType;
+            this.getter = null;
+        }
+
+        private GetterCacheEntry(Class<?> type, Method getter) {
+            this.type = type;
+            this.modelAccessor = null;
+            this.propertyType = null;
+            this.getter = getter;
+        }
+
+    }
+
+    private final String path;
+    private final String[] pathTokens;
+    private final GetterCacheEntry[] getterCache;
+
+    public ModelPath(String path) {
+
+        if (path == null) {
+            throw new IllegalArgumentException("passed path must not be null");
+        }
+
+        this.path = path;
+        this.pathTokens = splitPath(path);
+        this.getterCache = new GetterCacheEntry[pathTokens.length];
+
+    }
+
+    /**
+     * Splits path into tokens separated by dots.
+     * Behaves like path.split("[.]").
+     *
+     * @param path the path to split
+     * @return the path tokens
+     */
+    private static String[] splitPath(String path) {
+
+        List<String> tokens = new ArrayList<String>();
+
+        int tokenBeginIndex = 0;
+        int dotIndex;
+        while ((dotIndex = path.indexOf('.', tokenBeginIndex)) >= 0) {
+            tokens.add(path.substring(tokenBeginIndex, dotIndex));
+            tokenBeginIndex = dotIndex + 1;
+        }
+
+        if (tokens.isEmpty()) {
+            return new String[]{path};
+        }
+
+        tokens.add(path.substring(tokenBeginIndex));
+
+        // remove trailing empty tokens
+        int size = tokens.size();
+        while (size > 0 && tokens.get(size - 1).isEmpty()) {
+            size--;
+        }
+
+        return tokens.subList(0, size).toArray(new String[size]);
+    }
+
+    /**
+     * Resolves the path on the passed model.
+     *
+     * @param model the model
+     * @return the resolved value and type or null if passed model is null
+     * @throws InvalidPathException if path can't be resolved
+     */
+    public ModelPathResolver.ResolvedModelPathResult resolve(Map<String, Object> model) {
+
+        if (model == null) {
+            return null;
+        }
+
+        Object currentNode = model;
+        Class currentNodeType = null;
+
+        for (int i = 0; i < pathTokens.length; i++) {
+
+            String currentPathToken = pathTokens[i];
+
+            if (currentNode == null) {
+                throw new InvalidPathException("Path cannot be resolved. Encountered null value in path '" + path + "'  so token '" + currentPathToken + "' cannot be applied.");
+            } else if (currentNode.getClass().isArray()) {
+                throw new InvalidPathException("Path cannot be resolved. Encountered array in path '" + path + "' so token '" + currentPathToken + "' cannot be applied.");
+            } else if (currentNode instanceof Map) {
+
+                if (!(((Map) currentNode).containsKey(currentPathToken))) {
+                    throw new InvalidPathException("Path cannot be resolved. Encountered Map in path '" + path + "' which has no key " + currentPathToken + ".");
+                }
+
+                currentNode = ((Map) currentNode).get(currentPathToken);
+
+                // Now use values type
+                if (currentNode != null) {
+                    currentNodeType = currentNode.getClass();
+                }
+
+            } else {
+
+                // POJOS
+
+                // get getter
+                GetterCacheEntry getterCacheEntry = getGetter(i, currentNode);
+
+                if (getterCacheEntry.modelAccessor != null) {
+
+                    // call getter directly via generated accessor
+                    try {
+
+                        currentNode = getterCacheEntry.modelAccessor.getPropertyValue(currentNode, currentPathToken);
+                        currentNodeType = getterCacheEntry.propertyType;
+
+                    } catch (Exception e) {
+                        throw new InvalidPathException("Path '" + path + "' cannot be resolved. Cannot invoke getter method of token '" + currentPathToken + "'", e);
+                    }
+
+                    continue;
+
+                }
+
+                Method getterMethodToCall = getterCacheEntry.getter;
+
+                if (getterMethodToCall == null) {
+                    throw new InvalidPathException("Path '" + path + "' cannot be resolved. Path token " + currentPathToken + " not resolvable");
+                }
+
+                // now call method via reflection
+                try {
+
+                    currentNode = getterMethodToCall.invoke(currentNode);
+                    currentNodeType = getterMethodToCall.getReturnType();
+
+                } catch (Exception e) {
+                    throw new InvalidPathException("Path '" + path + "' cannot be resolved. Cannot invoke getter method of token '" + currentPathToken + "'", e);
+                }
+
+            }
+
+        }
+
+        return new ModelPathResolver.ResolvedModelPathResult(currentNodeType, currentNode);
+
+    }
+
+    /**
+     * Gets the getter for a path token.
+     * Uses cached getter if the node has the same type as the node seen at last resolution of the token.
+     * The model accessor of the node type is preferred, reflection is used if there is no accessor or if the accessor doesn't provide the path token.
+     *
+     * @param tokenIndex the index of the path token
+     * @param node       the node to get the getter for
+     * @return the cache entry holding the model accessor or the getter, the getter is null if no getter can be found
+     */
+    private GetterCacheEntry getGetter(int tokenIndex, Object node) {
+
+        // cache entries are immutable, so concurrent updates are harmless
+        GetterCacheEntry cacheEntry = getterCache[tokenIndex];
+        if (cacheEntry == null || cacheEntry.type != node.getClass()) {
+
+            ModelAccessor modelAccessor = ModelAccessors.getModelAccessor(node.getClass());
+            Class<?> propertyType = modelAccessor != null ? modelAccessor.getPropertyType(pathTokens[tokenIndex]) : null;
+
+            cacheEntry = propertyType != null
+                    ? new GetterCacheEntry(node.getClass(), modelAccessor, propertyType)
+                    : new GetterCacheEntry(node.getClass(), ModelPathResolver.getGetterMethod(node, pathTokens[tokenIndex]));
+            getterCache[tokenIndex] = cacheEntry;
+
+        }
+
+        return cacheEntry;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String[] getPathTokens() {
+        return pathTokens.clone();
+    }
+
+}
@@ -1,10 +1,10 @@
 package io.toolisticon.annotationprocessortoolkit.templating;
 
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
-
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class to access Model.
@@ -13,7 +13,8 @@ import java.util.Map;
 public class ModelPathResolver {
 
     /**
-     *
+     * Model bound to the current thread.
+     * Is just used by the thread bound evaluation methods, templates pass the model explicitly while rendering.
      */
     public static ThreadLocal<Map<String, Object>> modelMapThreadLocal = new ThreadLocal<Map<String, Object>>() {
         @Override
@@ -22,6 +23,94 @@ public class ModelPathResolver {
         }
     };
 
+    private static final String[] GETTER_PREFIXES = {"get", "is", "has"};
+
+    /**
+     * Getter methods of a class.
+     * Path tokens are resolved just once per class, resolved getter methods are invoked directly without further lookups.
+     */
+    private static class ClassGetters {
+
+        /**
+         * Holder for resolved getters, allows caching of non resolvable path tokens.
+         */
+        private static class Getter {
+
+            private final Method method;
+
+            private Getter(Method method) {
+                this.method = method;
+            }
+
+        }
+
+        private final Map<String, Method> publicMethodsWithoutParameters = new HashMap<String, Method>();
+        private final ConcurrentMap<String, Getter> getters = new ConcurrentHashMap<String, Getter>();
+
+        private ClassGetters(Class<?> type) {
+
+            for (Method method : type.getMethods()) {
+
+                if (method.getParameterTypes().length == 0) {
+
+                    // prefer methods with the most specific return type - like Class.getMethod does
+                    Method existingMethod = publicMethodsWithoutParameters.get(method.getName());
+                    if (existingMethod == null || existingMethod.getReturnType().isAssignableFrom(method.getReturnType())) {
+                        publicMethodsWithoutParameters.put(method.getName(), method);
+                    }
+
+                }
+
+            }
+
+        }
+
+        private Method getGetter(String fieldNameOrGetter) {
+
+            Getter getter = getters.get(fieldNameOrGetter);
+            if (getter == null) {
+
+                getter = new Getter(findGetter(fieldNameOrGetter));
+                getters.putIfAbsent(fieldNameOrGetter, getter);
+
+            }
+
+            return getter.method;
+        }
+
+        private Method findGetter(String fieldNameOrGetter) {
+
+            // check if passed fieldNameOrGetter is already method without parameter
+            Method method = publicMethodsWithoutParameters.get(fieldNameOrGetter);
+            if (method != null) {
+                return method;
+            }
+
+            // now check existence of method with getter prefixes - return first match
+            for (String getterPrefix : GETTER_PREFIXES) {
+
+                // construct getter name
+                String getterName = getterPrefix + fieldNameOrGetter.substring(0, 1).toUpperCase() + fieldNameOrGetter.substring(1);
+
+                method = publicMethodsWithoutParameters.get(getterName);
+                if (method != null) {
+                    return method;
+                }
+
+            }
+
+            return null;
+        }
+
+    }
+
+    private static final ClassValue<ClassGetters> CLASS_GETTERS = new ClassValue<ClassGetters>() {
+        @Override
+        protected ClassGetters computeValue(Class<?> type) {
+            return new ClassGetters(type);
+        }
+    };
+
     /**
      * Static class that holds the result of the resolved path.
      */
@@ -69,61 +158,7 @@ public class ModelPathResolver {
             return null;
         }
 
-        // break path strings to path tokens
-        String[] pathTokens = path.split("[.]");
-
-        Object currentNode = model;
-        Class currentNodeType = null;
-
-        for (String currentPathToken : pathTokens) {
-
-            if (currentNode == null) {
-                throw new InvalidPathException("Path cannot be resolved. Encountered null value in path '" + path + "'  so token '" + currentPathToken + "' cannot be applied.");
-            } else if (currentNode.getClass().isArray()) {
-                throw new InvalidPathException("Path cannot be resolved. Encountered array in path '" + path + "' so token '" + currentPathToken + "' cannot be applied.");
-            } else if (currentNode instanceof Map) {
-
-                if (!(((Map) currentNode).containsKey(currentPathToken))) {
-                    throw new InvalidPathException("Path cannot be resolved. Encountered Map in path '" + path + "' which has no key " + currentPathToken + ".");
-                }
-
-                currentNode = ((Map) currentNode).get(currentPathToken);
-
-                // Now use values type
-                if (currentNode != null) {
-                    currentNodeType = currentNode.getClass();
-                }
-
-            } else {
-
-                // POJOS
-
-                // get getter
-                String getterName = getGetter(currentNode, currentPathToken);
-
-                if (getterName == null) {
-                    throw new InvalidPathException("Path '" + path + "' cannot be resolved. Path token " + currentPathToken + " not resolvable");
-                }
-
-                // now call method via reflection
-                try {
-                    Method getterMethodToCall = currentNode.getClass().getMethod(getterName);
-
-                    currentNode = getterMethodToCall.invoke(currentNode);
-                    currentNodeType = getterMethodToCall.getReturnType();
-
-                } catch (NoSuchMethodException e) {
-                    // can be ignored - because it's guaranteed that the method exists
-                } catch (Exception e) {
-                    throw new InvalidPathException("Path '\" + path + \"' cannot be resolved. Cannot invoke getter method of token '" + currentPathToken + "'", e);
-                }
-
-
-            }
-
-        }
-
-        return new ResolvedModelPathResult(currentNodeType, currentNode);
+        return new ModelPath(path).resolve(model);
 
     }
 
@@ -137,7 +172,20 @@ public class ModelPathResolver {
      */
     protected static String getGetter(Object instance, String fieldNameOrGetter) {
 
-        final String[] GETTER_PREFIXES = {"get", "is", "has"};
+        Method getterMethod = getGetterMethod(instance, fieldNameOrGetter);
+        return getterMethod != null ? getterMethod.getName() : null;
+
+    }
+
+    /**
+     * Gets the getter method.
+     * Getter method must take no parameters and must be public
+     *
+     * @param instance          the instance to search the getter in
+     * @param fieldNameOrGetter the name of the field or method to get the getter for
+     * @return the method or getter method or null if no callable getter can be found
+     */
+    static Method getGetterMethod(Object instance, String fieldNameOrGetter) {
 
         final String trimmedFieldNameOrGetter = fieldNameOrGetter != null ? fieldNameOrGetter.trim() : null;
 
@@ -145,43 +193,7 @@ public class ModelPathResolver {
             return null;
         }
 
-        try {
-
-            // check if passed fieldNameOrGetter is already method without parameter
-            Method method = instance.getClass().getMethod(trimmedFieldNameOrGetter.trim());
-
-            if (java.lang.reflect.Modifier.isPublic(method.getModifiers())) {
-                return trimmedFieldNameOrGetter;
-            }
-
-
-        } catch (NoSuchMethodException e) {
-            // ignore this
-        }
-
-        // now check existence of method with getter prefixes - return first match
-        for (String getterPrefix : GETTER_PREFIXES) {
-
-            // construct getter name
-            String getterName = getterPrefix + trimmedFieldNameOrGetter.substring(0, 1).toUpperCase() + trimmedFieldNameOrGetter.substring(1);
-
-
-            try {
-
-                // check if passed fieldNameOrGetter is already method without parameter
-                Method method = instance.getClass().getMethod(getterName);
-                if (java.lang.reflect.Modifier.isPublic(method.getModifiers())) {
-                    return getterName;
-                }
-
-            } catch (NoSuchMethodException e) {
-                // ignore this
-            }
-
-
-        }
-
-        return null;
+        return CLASS_GETTERS.get(instance.getClass()).getGetter(trimmedFieldNameOrGetter);
 
     }
 
@@ -1,14 +1,13 @@
 package io.toolisticon.annotationprocessortoolkit.templating;
 
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidIncludeModelExpression;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.ForTemplateBlock;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.IfTemplateBlock;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.IncludeTemplateBlock;
-import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.PlainTextTemplateBlock;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.StaticTemplateBlock;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
-import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinderBuilder;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockTokenizer;
 import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.VariableTextTemplateBlock;
 
 import java.io.ByteArrayOutputStream;
@@ -22,6 +21,10 @@ import java.util.regex.Pattern;
 
 public class ParseUtilities {
 
+    private static final String NAMED_ATTRIBUTE_PATTERN_STRING = "\\s*(\\w+)\\s*:\\s*'(.*?)'\\s*";
+    private static final Pattern NAMED_ATTRIBUTE_PATTERN = Pattern.compile(NAMED_ATTRIBUTE_PATTERN_STRING);
+    private static final Pattern NAMED_ATTRIBUTES_PATTERN = Pattern.compile("(" + NAMED_ATTRIBUTE_PATTERN_STRING + ")(?:,(" + NAMED_ATTRIBUTE_PATTERN_STRING + "))*");
+
     /**
      * Result class to store a parsing result.
      */
@@ -52,82 +55,78 @@ public class ParseUtilities {
     }
 
 
-    /**
-     * Enum that defines type of the next block
-     */
-    private enum NextBlockType {
-        NONE,
-        FOR,
-        IF,
-        STATIC,
-        DYNAMIC_TEXT
-    }
-
-
     public static final Pattern DYNAMIC_TEXT_BLOCK_REGEX = Pattern.compile("[$][{]\\s*((?:\\w|.)*?)\\s*[}]");
 
 
     public static TemplateBlockBinder parseString(String templateString) {
+        return parseString(templateString, 0, templateString.length());
+    }
 
-        String tmpTemplateString = templateString;
+    /**
+     * Parses a range of a template string.
+     * Bodies of FOR and IF blocks are parsed recursively as ranges of the same template string, so no substrings of the template are created.
+     *
+     * @param templateString the template string
+     * @param beginIndex     the index to start parsing at
+     * @param endIndex       the index to stop parsing at
+     * @return the binder containing the parsed template blocks
+     */
+    static TemplateBlockBinder parseString(String templateString, int beginIndex, int endIndex) {
+
+        TemplateBlockBinderBuilder binderBuilder = new TemplateBlockBinderBuilder(null);
+        parseString(templateString, beginIndex, endIndex, binderBuilder);
+        return binderBuilder.build();
+
+    }
 
-        TemplateBlockBinder binder = new TemplateBlockBinder(tmpTemplateString);
+    private static void parseString(String templateString, int beginIndex, int endIndex, TemplateBlockBinderBuilder binderBuilder) {
 
-        NextDetectedBlockResult nextBlock = TemplateBlockType.getNextBlock(templateString);
+        TemplateBlockTokenizer tokenizer = new TemplateBlockTokenizer(templateString, beginIndex, endIndex);
+        int index = beginIndex;
 
-        while (nextBlock != null) {
+        while (tokenizer.nextBlock()) {
 
             // add plain text block upfront
-            if (nextBlock.getBeginIndex() != 0) {
-                binder.addTemplateBlock(new PlainTextTemplateBlock(tmpTemplateString.substring(0, nextBlock.getBeginIndex())));
-            }
+            binderBuilder.addPlainText(templateString, index, tokenizer.getBlockBeginIndex());
 
 
-            switch (nextBlock.getTemplateBlockType()) {
+            switch (tokenizer.getTemplateBlockType()) {
 
                 case DYNAMIC_TEXT: {
-                    ParserResult nextDynamicText = getNextDynamicText(tmpTemplateString);
-                    binder.addTemplateBlock(new VariableTextTemplateBlock(nextDynamicText.getContent()));
-                    tmpTemplateString = tmpTemplateString.substring(nextDynamicText.getEndIndex());
+
+                    // expressions that don't depend on the model are rendered at compile time
+                    binderBuilder.addVariableTextTemplateBlock(new VariableTextTemplateBlock(tokenizer.getContent()));
                     break;
                 }
                 case FOR: {
 
+                    ForTemplateBlock forTemplateBlock = new ForTemplateBlock(tokenizer.getAttributes(), templateString, tokenizer.getContentBeginIndex(), tokenizer.getContentEndIndex());
+                    binderBuilder.addTemplateBlock(forTemplateBlock);
 
-                    ForTemplateBlock forTemplateBlock = new ForTemplateBlock(nextBlock.getAttributes(), nextBlock.getContent());
-                    binder.addTemplateBlock(forTemplateBlock);
-
-                    forTemplateBlock.setBinder(parseString(forTemplateBlock.getTemplateString()));
-                    tmpTemplateString = nextBlock.getRemainingStringToBeProcessed();
+                    forTemplateBlock.setBinder(parseContent(templateString, tokenizer.getContentBeginIndex(), tokenizer.getContentEndIndex()));
 
                     break;
                 }
                 case IF: {
 
-                    IfTemplateBlock ifTemplateBlock = new IfTemplateBlock(nextBlock.getAttributes(), nextBlock.getContent());
-                    binder.addTemplateBlock(ifTemplateBlock);
+                    IfTemplateBlock ifTemplateBlock = new IfTemplateBlock(tokenizer.getAttributes(), templateString, tokenizer.getContentBeginIndex(), tokenizer.getContentEndIndex());
+                    ifTemplateBlock.setBinder(parseContent(templateString, tokenizer.getContentBeginIndex(), tokenizer.getContentEndIndex()));
 
-                    ifTemplateBlock.setBinder(parseString(ifTemplateBlock.getTemplateString()));
-                    tmpTemplateString = nextBlock.getRemainingStringToBeProcessed();
+                    // dead branch elimination for conditions that don't depend on the model
+                    binderBuilder.addIfTemplateBlock(ifTemplateBlock);
 
                     break;
                 }
                 case INCLUDE: {
-                    IncludeTemplateBlock includeTemplateBlock = new IncludeTemplateBlock(nextBlock.getAttributes(), nextBlock.getContent());
-                    binder.addTemplateBlock(includeTemplateBlock);
-
-                    tmpTemplateString = nextBlock.getRemainingStringToBeProcessed();
+                    IncludeTemplateBlock includeTemplateBlock = new IncludeTemplateBlock(tokenizer.getAttributes(), tokenizer.getContent());
+                    binderBuilder.addTemplateBlock(includeTemplateBlock);
 
                     break;
                 }
                 case STATIC: {
 
-
-                    StaticTemplateBlock staticTemplateBlock = new StaticTemplateBlock(nextBlock.getContent());
-                    binder.addTemplateBlock(staticTemplateBlock);
-
-                    tmpTemplateString = nextBlock.getRemainingStringToBeProcessed();
-
+                    StaticTemplateBlock staticTemplateBlock = new StaticTemplateBlock(templateString, tokenizer.getContentBeginIndex(), tokenizer.getContentEndIndex());
+                    binderBuilder.addTemplateBlock(staticTemplateBlock);
 
                     break;
                 }
@@ -135,14 +134,72 @@ public class ParseUtilities {
 
             }
 
-            // get next block type
-            nextBlock = TemplateBlockType.getNextBlock(tmpTemplateString);
+            // continue right after the processed block
+            index = tokenizer.getBlockEndIndex();
         }
 
         // add last plain text block
-        binder.addTemplateBlock(new PlainTextTemplateBlock(tmpTemplateString));
+        binderBuilder.addPlainText(templateString, index, endIndex);
+
+    }
+
+    /**
+     * Parses the content of a FOR or IF block.
+     * The content is trimmed like {@link #trimContentString(String)} does, but by adjusting the indexes instead of creating a trimmed string.
+     *
+     * @param templateString the template string
+     * @param beginIndex     the begin index of the content
+     * @param endIndex       the end index of the content
+     * @return the binder containing the parsed template blocks of the content
+     */
+    private static TemplateBlockBinder parseContent(String templateString, int beginIndex, int endIndex) {
+
+        // leading spaces followed by a newline are removed
+        int index = beginIndex;
+        while (index < endIndex && templateString.charAt(index) == ' ') {
+            index++;
+        }
+        if (index < endIndex && templateString.charAt(index) == '\n') {
+            beginIndex = index + 1;
+        }
+
+        // trailing spaces are removed - either at the end or in front of a final line terminator
+        int lineTerminatorBeginIndex = getFinalLineTerminatorBeginIndex(templateString, beginIndex, endIndex);
+        int spacesBeginIndex = lineTerminatorBeginIndex;
+        while (spacesBeginIndex > beginIndex && templateString.charAt(spacesBeginIndex - 1) == ' ') {
+            spacesBeginIndex--;
+        }
+
+        // blocks end with a closing brace, so the removed spaces and the line terminator are always plain text
+        TemplateBlockBinderBuilder binderBuilder = new TemplateBlockBinderBuilder(null);
+        parseString(templateString, beginIndex, spacesBeginIndex, binderBuilder);
+        binderBuilder.addPlainText(templateString, lineTerminatorBeginIndex, endIndex);
+        return binderBuilder.build();
+
+    }
+
+    /**
+     * Gets the begin index of a line terminator at the end of a range - this is where '$' matches in regular expressions besides the end.
+     *
+     * @param templateString the template string
+     * @param beginIndex     the begin index of the range
+     * @param endIndex       the end index of the range
+     * @return the begin index of the final line terminator or endIndex if range doesn't end with a line terminator
+     */
+    private static int getFinalLineTerminatorBeginIndex(String templateString, int beginIndex, int endIndex) {
+
+        if (endIndex <= beginIndex) {
+            return endIndex;
+        }
+
+        char lastCharacter = templateString.charAt(endIndex - 1);
+        if (lastCharacter == '\n' && endIndex - 1 > beginIndex && templateString.charAt(endIndex - 2) == '\r') {
+            return endIndex - 2;
+        } else if (TemplateBlockTokenizer.isLineTerminator(lastCharacter)) {
+            return endIndex - 1;
+        }
+        return endIndex;
 
-        return binder;
     }
 
 
@@ -244,15 +301,11 @@ public class ParseUtilities {
     public static Map<String, String> parseNamedAttributes(String attributeString) {
 
         Map<String, String> attributeMap = new HashMap<>();
-        final String attributePatternString = "\\s*(\\w+)\\s*:\\s*'(.*?)'\\s*";
-
-        Pattern attributePattern = Pattern.compile("(" + attributePatternString + ")(?:,(\" + attributePatternString+ \"))*");
 
-        Matcher matcher = attributePattern.matcher(attributeString);
+        Matcher matcher = NAMED_ATTRIBUTES_PATTERN.matcher(attributeString);
         if (matcher.matches()) {
 
-            Pattern findPattern = Pattern.compile(attributePatternString);
-            Matcher findMatcher = findPattern.matcher(attributeString);
+            Matcher findMatcher = NAMED_ATTRIBUTE_PATTERN.matcher(attributeString);
 
             while (findMatcher.find()) {
                 String attributeName = findMatcher.group(1);
@@ -282,68 +335,16 @@ public class ParseUtilities {
             throw new IllegalArgumentException("passed modelString must not be null");
         }
 
-        Map<String, Object> result = new HashMap<>();
-
-        String[] modelStringLines = modelString.split("\\r{0,1}\\n");
-
-        for (String line : modelStringLines) {
-            Pattern keyValueExtractionPattern = Pattern.compile("^\\s*(\\w+(?:[.]\\w+)*)\\s*[:]\\s*(.+)\\s*$");
-
-            // skip empty line or comments starting with //
-            if (line.trim().isEmpty() || line.trim().startsWith("//")) {
-                continue;
-            }
-
-            Matcher matcher = keyValueExtractionPattern.matcher(line);
-
-            if (matcher.matches()) {
-
-                try {
-                    String key = matcher.group(1);
-                    String value = matcher.group(2);
-
-                    ParseUtilities.addKeyValuePair(outerModel, result, key, value);
-                } catch (Exception e) {
-                    throw new InvalidIncludeModelExpression("couldn't add get key/value pair for expression : " + line, e);
-                }
-
-            } else {
-                throw new InvalidIncludeModelExpression("key/value pair expression for generating a model isn't syntactically correct ( '<TARGET MODEL ACCESS PATH SEPARATED BY .>:<VALUE EXPRESSION>'): " + line);
-            }
-
-        }
-
-
-        return result;
+        return ModelDefinition.compile(modelString).createModel(outerModel);
 
     }
 
     static void addKeyValuePair(Map<String, Object> outerModel, Map<String, Object> modelToBuild, String key, String valueExpression) {
 
-        String[] keyAccessPath = key.split("[.]");
-        String valueKey = keyAccessPath[keyAccessPath.length - 1];
-
-        // First get target Map to put the value in
-        Map<String, Object> targetMap = modelToBuild;
-
-        for (int i = 0; i < keyAccessPath.length - 1; i++) {
-
-            Object accessChainObject = targetMap.get(keyAccessPath[i]);
-            if (accessChainObject == null) {
-                Map<String, Object> nextMap = new HashMap<>();
-                targetMap.put(keyAccessPath[i], nextMap);
-                targetMap = nextMap;
-            } else if (Map.class.isAssignableFrom(accessChainObject.getClass())) {
-                targetMap = (Map<String, Object>) accessChainObject;
-            } else {
-                throw new IllegalArgumentException("key path must not include Objects others than of type Map");
-            }
-
-        }
-
-        // Now resolve expression
-        targetMap.put(valueKey, ExpressionParser.parseExpression(valueExpression, outerModel).evaluateExpression().value());
+        // First resolve expression
+        Object value = ExpressionParser.parseExpression(valueExpression).evaluateExpression(outerModel).value();
 
+        ModelDefinition.putValue(modelToBuild, key.split("[.]"), value);
 
     }
 
@@ -0,0 +1,241 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.CommonSubexpressionEliminator;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.FragmentCache;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.MemoizingTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateCompactor;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateSpecializer;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TracingTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.VariableScope;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compiled template.
+ * <p/>
+ * The template string is parsed just once into a tree of template blocks, which can be rendered multiple times with different models.
+ * The static text of all blocks is stored in a shared buffer, the template string itself isn't kept.
+ * Expressions that occur multiple times are evaluated once per rendering and loop iteration.
+ */
+public class Template {
+
+    private final TemplateBlockBinder binder;
+    private final Map<String, Object> staticModel;
+
+    Template(TemplateBlockBinder binder) {
+        this(binder, null);
+    }
+
+    private Template(TemplateBlockBinder binder, Map<String, Object> staticModel) {
+        this.binder = binder;
+        this.staticModel = staticModel;
+    }
+
+    /**
+     * Compiles a template string.
+     *
+     * @param templateString the template string to compile
+     * @return the compiled template
+     * @throws IllegalArgumentException if passed templateString is null
+     */
+    public static Template compile(String templateString) {
+
+        if (templateString == null) {
+            throw new IllegalArgumentException("passed templateString must not be null");
+        }
+
+        return new Template(TemplateCompactor.compact(CommonSubexpressionEliminator.eliminate(ParseUtilities.parseString(templateString))));
+
+    }
+
+    /**
+     * Reads and compiles a template resource file.
+     *
+     * @param templateFileName the resource name of the template file
+     * @return the compiled template
+     * @throws IllegalArgumentException if template file can't be read
+     */
+    public static Template compileResource(String templateFileName) {
+
+        String templateString = null;
+        try {
+            templateString = ParseUtilities.readResourceToString(templateFileName);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Cannot open template file '" + templateFileName + "'", e);
+        }
+
+        return compile(templateString);
+
+    }
+
+    /**
+     * Partially evaluates the template against the static part of a model.
+     * <p/>
+     * The residual template has all model paths starting with a key of the static model substituted by their values.
+     * Variable text and IF conditions that just depend on the static model are resolved.
+     * The residual template is rendered with the remaining part of the model. Static values are still visible while rendering,
+     * but the remaining model must not contain keys of the static model - otherwise blocks would mix static and passed values.
+     * Traced blocks are specialized and stay traced.
+     * Memoizing templates can be specialized too - the specialized blocks are memoized again in the same fragment cache.
+     * Specializing before memoizing is preferable though, since specialized blocks read fewer model paths.
+     *
+     * @param staticModel the static part of the model
+     * @return the residual template
+     * @throws IllegalArgumentException if passed staticModel is null or contains keys of the static model the template is already specialized with
+     */
+    public Template specialize(Map<String, Object> staticModel) {
+
+        if (staticModel == null) {
+            throw new IllegalArgumentException("passed staticModel must not be null");
+        }
+        checkNoStaticKeysOverridden(staticModel);
+
+        Map<String, Object> combinedStaticModel = new HashMap<String, Object>();
+        if (this.staticModel != null) {
+            combinedStaticModel.putAll(this.staticModel);
+        }
+        combinedStaticModel.putAll(staticModel);
+
+        return new Template(TemplateCompactor.compact(CommonSubexpressionEliminator.eliminate(TemplateSpecializer.specialize(binder, combinedStaticModel))), combinedStaticModel);
+
+    }
+
+    /**
+     * Creates a template that memoizes the output of its FOR, IF and INCLUDE blocks.
+     * <p/>
+     * Each memoized block records the model paths it reads. When rendering, blocks whose input values are equal to the values of a
+     * previous rendering reuse the output stored in passed fragment cache, just blocks with changed inputs are rendered again.
+     * Keeping the memoizing template and the fragment cache across processing rounds allows incremental re-rendering.
+     * For FOR blocks and includes with model attribute, the values read from each loop value or from the model are compared, so changed collections are detected.
+     * All other read values are compared via equals and must either be immutable or must not be changed between renderings.
+     * The fragment cache keeps strong references to these values until the fragment is evicted.
+     * Traced blocks are memoized and stay traced, but reused fragments aren't reported to the listener.
+     * Templates should be specialized before they are memoized, so memoized blocks don't compare static values.
+     * Memoizing templates still can be specialized, see {@link #specialize(Map)}.
+     *
+     * @param fragmentCache the cache to store rendered fragments in
+     * @return the memoizing template
+     */
+    public Template memoize(FragmentCache fragmentCache) {
+
+        if (fragmentCache == null) {
+            throw new IllegalArgumentException("passed fragmentCache must not be null");
+        }
+
+        return new Template(MemoizingTemplateBlock.memoize(binder, fragmentCache), staticModel);
+
+    }
+
+    /**
+     * Creates a template that reports rendering of its FOR, IF, INCLUDE and DYNAMIC_TEXT blocks to passed listener.
+     *
+     * @param listener     the listener to report to
+     * @param templateName the name of the template used in reports
+     * @return the traced template
+     */
+    public Template trace(TemplateRenderingListener listener, String templateName) {
+
+        if (listener == null || templateName == null) {
+            throw new IllegalArgumentException("passed listener and templateName must not be null");
+        }
+
+        return new Template(TracingTemplateBlock.trace(binder, listener, templateName), staticModel);
+
+    }
+
+    /**
+     * Checks that passed values don't override values of the static model.
+     * Specialized paths have already been resolved with the static values, so overriding them would mix static and passed values.
+     *
+     * @param values the values to check
+     * @throws IllegalArgumentException if passed values contain a key of the static model
+     */
+    private void checkNoStaticKeysOverridden(Map<String, Object> values) {
+
+        if (staticModel == null || values == null) {
+            return;
+        }
+
+        for (String key : values.keySet()) {
+            if (staticModel.containsKey(key)) {
+                throw new IllegalArgumentException("passed values must not contain key '" + key + "' of the static model the template is specialized with");
+            }
+        }
+
+    }
+
+    /**
+     * Creates the root scope frame for rendering, which contains the passed values and the static model of a specialized template.
+     * Results of shared expressions that don't depend on loop variables are cached in the root scope frame.
+     *
+     * @param values the values passed for rendering
+     * @return the values to use for rendering
+     * @throws IllegalArgumentException if passed values contain a key of the static model
+     */
+    private Map<String, Object> getRenderModel(Map<String, Object> values) {
+
+        if (staticModel == null) {
+            return values != null ? new VariableScope(values) : null;
+        }
+
+        checkNoStaticKeysOverridden(values);
+
+        VariableScope renderModel = new VariableScope(staticModel);
+        if (values != null) {
+            renderModel.putAll(values);
+        }
+        return renderModel;
+
+    }
+
+    /**
+     * Renders the template with the passed values.
+     *
+     * @param values the model to use
+     * @return the rendered template
+     * @throws IllegalArgumentException if the template is specialized and passed values contain a key of its static model
+     */
+    public String render(Map<String, Object> values) {
+        return binder.getContent(getRenderModel(values));
+    }
+
+    /**
+     * Renders the template with the passed values directly into the passed Appendable.
+     * No intermediate Strings are created for the rendered content.
+     *
+     * @param values the model to use
+     * @param out    the Appendable to render to, for example a Writer
+     * @throws IOException              if passed Appendable can't be written
+     * @throws IllegalArgumentException if the template is specialized and passed values contain a key of its static model
+     */
+    public void render(Map<String, Object> values, Appendable out) throws IOException {
+        binder.render(getRenderModel(values), out);
+    }
+
+    /**
+     * Renders the template with the passed values UTF-8 encoded into the passed OutputStream.
+     * Static text of the template is encoded once at compile time, just dynamic values are encoded while rendering.
+     * The OutputStream is flushed but not closed.
+     *
+     * @param values       the model to use
+     * @param outputStream the OutputStream to render to
+     * @throws IOException              if passed OutputStream can't be written
+     * @throws IllegalArgumentException if the template is specialized and passed values contain a key of its static model
+     */
+    public void render(Map<String, Object> values, OutputStream outputStream) throws IOException {
+
+        Utf8RenderTarget renderTarget = new Utf8RenderTarget(outputStream);
+        binder.render(getRenderModel(values), renderTarget);
+        renderTarget.flush();
+
+    }
+
+    public TemplateBlockBinder getBinder() {
+        return binder;
+    }
+
+}
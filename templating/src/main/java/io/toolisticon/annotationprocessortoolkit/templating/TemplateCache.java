@@ -0,0 +1,222 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+/**
+ * Bounded cache for compiled templates.
+ * <p/>
+ * Templates are either keyed by their resource name or by a hash of their content.
+ * Template strings aren't referenced by the cache, so large templates are just kept once - by the caller.
+ * The least recently used template will be evicted if maximum size of cache is exceeded.
+ * <p/>
+ * If a rendering listener is set, parse times of templates are reported and compiled templates are traced.
+ * Templates from template strings are reported with the name 'template#' followed by the hex hash code of the template string.
+ */
+public class TemplateCache {
+
+    /**
+     * The default number of cached templates.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    /**
+     * Key for templates read from resource files.
+     * Separates resource names from template contents used as key.
+     */
+    private static class ResourceKey {
+
+        private final String resourceName;
+
+        private ResourceKey(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ResourceKey && resourceName.equals(((ResourceKey) o).resourceName);
+        }
+
+        @Override
+        public int hashCode() {
+            return resourceName.hashCode();
+        }
+
+    }
+
+    /**
+     * Key for templates from template strings.
+     * Combines the length, the hash code and a 64 bit FNV-1a hash of the template string, so the template string itself needn't be kept.
+     * Accidental collisions of all three values are unlikely enough to not compare the contents.
+     */
+    static class ContentKey {
+
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final int length;
+        private final int hashCode;
+        private final long contentHash;
+
+        ContentKey(String templateString) {
+
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = 0; i < templateString.length(); i++) {
+                char character = templateString.charAt(i);
+                hash = (hash ^ (character & 0xff)) * FNV_PRIME;
+                hash = (hash ^ (character >>> 8)) * FNV_PRIME;
+            }
+
+            this.length = templateString.length();
+            this.hashCode = templateString.hashCode();
+            this.contentHash = hash;
+
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (!(o instanceof ContentKey)) {
+                return false;
+            }
+
+            ContentKey that = (ContentKey) o;
+            return length == that.length && hashCode == that.hashCode && contentHash == that.contentHash;
+
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    private final LruCache<Object, Template> cache;
+
+    private volatile TemplateRenderingListener renderingListener;
+
+
+    public TemplateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public TemplateCache(int maximumSize) {
+        this.cache = new LruCache<Object, Template>(maximumSize);
+    }
+
+    /**
+     * Gets the compiled template for a template string.
+     * Template string will be compiled if it isn't cached yet.
+     *
+     * @param templateString the template string
+     * @return the compiled template
+     */
+    public Template getTemplateForString(String templateString) {
+
+        if (templateString == null) {
+            throw new IllegalArgumentException("passed templateString must not be null");
+        }
+
+        ContentKey key = new ContentKey(templateString);
+
+        Template template = cache.get(key);
+        if (template == null) {
+
+            TemplateRenderingListener listener = renderingListener;
+            if (listener != null) {
+                String templateName = "template#" + Integer.toHexString(templateString.hashCode());
+                long startTime = System.nanoTime();
+                template = Template.compile(templateString);
+                listener.templateParsed(templateName, System.nanoTime() - startTime);
+                template = template.trace(listener, templateName);
+            } else {
+                template = Template.compile(templateString);
+            }
+
+            cache.put(key, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Gets the compiled template for a template resource file.
+     * Resource file will be read and compiled if it isn't cached yet.
+     *
+     * @param templateFileName the resource name of the template file
+     * @return the compiled template
+     */
+    public Template getTemplateForResource(String templateFileName) {
+
+        if (templateFileName == null) {
+            throw new IllegalArgumentException("passed templateFileName must not be null");
+        }
+
+        ResourceKey key = new ResourceKey(templateFileName);
+
+        Template template = cache.get(key);
+        if (template == null) {
+
+            TemplateRenderingListener listener = renderingListener;
+            if (listener != null) {
+                long startTime = System.nanoTime();
+                template = Template.compileResource(templateFileName);
+                listener.templateParsed(templateFileName, System.nanoTime() - startTime);
+                template = template.trace(listener, templateFileName);
+            } else {
+                template = Template.compileResource(templateFileName);
+            }
+
+            cache.put(key, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Sets the maximum number of cached templates.
+     * Least recently used templates will be evicted immediately if the cache contains more templates than allowed.
+     *
+     * @param maximumSize the maximum number of cached templates, 0 disables caching
+     */
+    public void setMaximumSize(int maximumSize) {
+        cache.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Sets the listener to report parsing and rendering of templates to.
+     * Cached templates are removed, so all templates are compiled again with or without tracing.
+     *
+     * @param renderingListener the listener or null to disable tracing
+     */
+    public synchronized void setRenderingListener(TemplateRenderingListener renderingListener) {
+        this.renderingListener = renderingListener;
+        clear();
+    }
+
+    public TemplateRenderingListener getRenderingListener() {
+        return renderingListener;
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Removes all cached templates and resets hit and miss counters.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,204 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rendering listener that aggregates parse times, render times, output sizes and expression evaluation counts per template.
+ * <p/>
+ * The aggregated numbers can be exported as JSON summary via {@link #toJson()}.
+ * <p/>
+ * This implementation is threadsafe.
+ */
+public class TemplateMetrics implements TemplateRenderingListener {
+
+    /**
+     * Aggregated numbers of a block type.
+     */
+    private static class BlockStatistics {
+
+        private long renderCount = 0L;
+        private long renderTimeNanos = 0L;
+        private long outputLength = 0L;
+
+    }
+
+    /**
+     * Aggregated numbers of a template.
+     */
+    private static class TemplateStatistics {
+
+        private long parseCount = 0L;
+        private long parseTimeNanos = 0L;
+        private long expressionEvaluationCount = 0L;
+        private final Map<TemplateBlockType, BlockStatistics> blockStatistics = new EnumMap<TemplateBlockType, BlockStatistics>(TemplateBlockType.class);
+
+    }
+
+    private final Map<String, TemplateStatistics> templateStatistics = new TreeMap<String, TemplateStatistics>();
+
+    private TemplateStatistics getTemplateStatistics(String templateName) {
+
+        TemplateStatistics result = templateStatistics.get(templateName);
+        if (result == null) {
+            result = new TemplateStatistics();
+            templateStatistics.put(templateName, result);
+        }
+        return result;
+
+    }
+
+    @Override
+    public synchronized void templateParsed(String templateName, long parseTimeNanos) {
+
+        TemplateStatistics statistics = getTemplateStatistics(templateName);
+        statistics.parseCount++;
+        statistics.parseTimeNanos += parseTimeNanos;
+
+    }
+
+    @Override
+    public synchronized void blockRendered(String templateName, TemplateBlockType blockType, long renderTimeNanos, long outputLength) {
+
+        TemplateStatistics statistics = getTemplateStatistics(templateName);
+
+        BlockStatistics blockStatistics = statistics.blockStatistics.get(blockType);
+        if (blockStatistics == null) {
+            blockStatistics = new BlockStatistics();
+            statistics.blockStatistics.put(blockType, blockStatistics);
+        }
+
+        blockStatistics.renderCount++;
+        blockStatistics.renderTimeNanos += renderTimeNanos;
+        blockStatistics.outputLength += outputLength;
+
+    }
+
+    @Override
+    public synchronized void expressionEvaluated(String templateName, String expression) {
+        getTemplateStatistics(templateName).expressionEvaluationCount++;
+    }
+
+    public synchronized long getParseTimeNanos(String templateName) {
+        TemplateStatistics statistics = templateStatistics.get(templateName);
+        return statistics != null ? statistics.parseTimeNanos : 0L;
+    }
+
+    public synchronized long getRenderCount(String templateName, TemplateBlockType blockType) {
+        BlockStatistics statistics = getBlockStatistics(templateName, blockType);
+        return statistics != null ? statistics.renderCount : 0L;
+    }
+
+    public synchronized long getRenderTimeNanos(String templateName, TemplateBlockType blockType) {
+        BlockStatistics statistics = getBlockStatistics(templateName, blockType);
+        return statistics != null ? statistics.renderTimeNanos : 0L;
+    }
+
+    public synchronized long getOutputLength(String templateName, TemplateBlockType blockType) {
+        BlockStatistics statistics = getBlockStatistics(templateName, blockType);
+        return statistics != null ? statistics.outputLength : 0L;
+    }
+
+    public synchronized long getExpressionEvaluationCount(String templateName) {
+        TemplateStatistics statistics = templateStatistics.get(templateName);
+        return statistics != null ? statistics.expressionEvaluationCount : 0L;
+    }
+
+    private BlockStatistics getBlockStatistics(String templateName, TemplateBlockType blockType) {
+        TemplateStatistics statistics = templateStatistics.get(templateName);
+        return statistics != null ? statistics.blockStatistics.get(blockType) : null;
+    }
+
+    /**
+     * Removes all aggregated numbers.
+     */
+    public synchronized void clear() {
+        templateStatistics.clear();
+    }
+
+    /**
+     * Exports the aggregated numbers as JSON summary.
+     * Templates are ordered by their names.
+     *
+     * @return the JSON summary
+     */
+    public synchronized String toJson() {
+
+        StringBuilder json = new StringBuilder("{\n  \"templates\" : [");
+
+        boolean firstTemplate = true;
+        for (Map.Entry<String, TemplateStatistics> entry : templateStatistics.entrySet()) {
+
+            TemplateStatistics statistics = entry.getValue();
+
+            json.append(firstTemplate ? "\n" : ",\n");
+            firstTemplate = false;
+
+            json.append("    {\n")
+                    .append("      \"name\" : ").append(toJsonString(entry.getKey())).append(",\n")
+                    .append("      \"parseCount\" : ").append(statistics.parseCount).append(",\n")
+                    .append("      \"parseTimeNanos\" : ").append(statistics.parseTimeNanos).append(",\n")
+                    .append("      \"expressionEvaluationCount\" : ").append(statistics.expressionEvaluationCount).append(",\n")
+                    .append("      \"blocks\" : {");
+
+            boolean firstBlock = true;
+            for (Map.Entry<TemplateBlockType, BlockStatistics> blockEntry : statistics.blockStatistics.entrySet()) {
+
+                json.append(firstBlock ? "\n" : ",\n");
+                firstBlock = false;
+
+                json.append("        \"").append(blockEntry.getKey().name()).append("\" : { ")
+                        .append("\"renderCount\" : ").append(blockEntry.getValue().renderCount).append(", ")
+                        .append("\"renderTimeNanos\" : ").append(blockEntry.getValue().renderTimeNanos).append(", ")
+                        .append("\"outputLength\" : ").append(blockEntry.getValue().outputLength).append(" }");
+
+            }
+
+            json.append(firstBlock ? "}\n" : "\n      }\n").append("    }");
+
+        }
+
+        json.append(firstTemplate ? "]\n}" : "\n  ]\n}");
+        return json.toString();
+
+    }
+
+    private static String toJsonString(String value) {
+
+        StringBuilder result = new StringBuilder("\"");
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+
+        return result.append('"').toString();
+
+    }
+
+}
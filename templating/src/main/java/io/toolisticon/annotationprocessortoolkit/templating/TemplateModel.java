@@ -0,0 +1,19 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose instances are used in template models.
+ * <p/>
+ * The {@link TemplateModelProcessor} generates a {@link ModelAccessor} for each annotated class, so model paths are resolved by calling the getters
+ * of the class directly instead of using reflection. The generated accessors are registered via the ServiceLoader mechanism.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface TemplateModel {
+}
@@ -0,0 +1,339 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that generates a {@link ModelAccessor} for each class annotated with {@link TemplateModel}.
+ * <p/>
+ * The generated accessor maps path tokens to direct getter calls by switching over the token. Path tokens are mapped like reflection based resolution does:
+ * names of public methods without parameters take precedence over property names derived from getters prefixed by get, is or has.
+ * Static methods, void methods and methods declared by java.lang.Object are left to reflection.
+ * All generated accessors are listed in META-INF/services/io.toolisticon.annotationprocessortoolkit.templating.ModelAccessor.
+ * <p/>
+ * The processor isn't registered automatically, it must be configured as annotation processor of the compilation that contains the model classes.
+ */
+public class TemplateModelProcessor extends AbstractProcessor {
+
+    static final String MODEL_ACCESSOR_SUFFIX = "ModelAccessor";
+
+    static final String SERVICE_FILE_NAME = "META-INF/services/" + ModelAccessor.class.getName();
+
+    private static final String[] GETTER_PREFIXES = {"get", "is", "has"};
+
+    private final Set<String> generatedModelAccessors = new TreeSet<String>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(TemplateModel.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(TemplateModel.class)) {
+
+            if (!(element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.ENUM)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@TemplateModel can only be applied to classes", element);
+                continue;
+            }
+
+            TypeElement typeElement = (TypeElement) element;
+            if (!isAccessibleFromPackage(typeElement)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Classes annotated with @TemplateModel must not be private", element);
+                continue;
+            }
+
+            generateModelAccessor(typeElement);
+
+        }
+
+        return true;
+
+    }
+
+    private static boolean isAccessibleFromPackage(TypeElement typeElement) {
+
+        Element element = typeElement;
+        while (element != null && (element.getKind().isClass() || element.getKind().isInterface())) {
+
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Gets the name of the accessor class generated for a model class - the nested class names are joined by underscores.
+     *
+     * @param typeElement the model class
+     * @return the simple name of the accessor class
+     */
+    static String getModelAccessorSimpleName(TypeElement typeElement) {
+
+        String packageName = getPackageName(typeElement);
+        String qualifiedName = typeElement.getQualifiedName().toString();
+        String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+
+        return nestedName.replace('.', '_') + MODEL_ACCESSOR_SUFFIX;
+
+    }
+
+    private static String getPackageName(TypeElement typeElement) {
+
+        Element element = typeElement;
+        while (element.getKind() != ElementKind.PACKAGE) {
+            element = element.getEnclosingElement();
+        }
+        return ((PackageElement) element).getQualifiedName().toString();
+
+    }
+
+    /**
+     * Maps path tokens to the getters used to resolve them.
+     * Mirrors the lookup order of the reflection based resolution, so both resolve the same getters.
+     *
+     * @param typeElement the model class
+     * @return the getters by path token in order of their declaration
+     */
+    Map<String, ExecutableElement> getGettersByPathToken(TypeElement typeElement) {
+
+        List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().isEmpty()) {
+                methods.add(method);
+            }
+        }
+
+        Map<String, ExecutableElement> gettersByPathToken = new LinkedHashMap<String, ExecutableElement>();
+
+        // names of methods take precedence
+        for (ExecutableElement method : methods) {
+            if (!gettersByPathToken.containsKey(method.getSimpleName().toString())) {
+                gettersByPathToken.put(method.getSimpleName().toString(), method);
+            }
+        }
+
+        // path tokens are mapped to getters by capitalizing their first character and adding the getter prefix
+        for (String getterPrefix : GETTER_PREFIXES) {
+            for (ExecutableElement method : methods) {
+
+                String methodName = method.getSimpleName().toString();
+                if (methodName.length() <= getterPrefix.length() || !methodName.startsWith(getterPrefix)) {
+                    continue;
+                }
+
+                char firstCharacter = methodName.charAt(getterPrefix.length());
+                String rest = methodName.substring(getterPrefix.length() + 1);
+
+                for (char pathTokenFirstCharacter : new char[]{Character.toLowerCase(firstCharacter), firstCharacter}) {
+
+                    String pathToken = pathTokenFirstCharacter + rest;
+                    if (Character.toString(pathTokenFirstCharacter).toUpperCase().equals(Character.toString(firstCharacter)) && !gettersByPathToken.containsKey(pathToken)) {
+                        gettersByPathToken.put(pathToken, method);
+                    }
+
+                }
+
+            }
+        }
+
+        // remove tokens resolved by methods that can't be called directly
+        for (Map.Entry<String, ExecutableElement> entry : new ArrayList<Map.Entry<String, ExecutableElement>>(gettersByPathToken.entrySet())) {
+
+            ExecutableElement method = entry.getValue();
+            if (method.getModifiers().contains(Modifier.STATIC)
+                    || method.getReturnType().getKind() == TypeKind.VOID
+                    || ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName())) {
+                gettersByPathToken.remove(entry.getKey());
+            }
+
+        }
+
+        return gettersByPathToken;
+
+    }
+
+    /**
+     * Generates the java source of the model accessor for a model class.
+     *
+     * @param typeElement the model class
+     * @return the java source
+     */
+    String generateSource(TypeElement typeElement) {
+
+        String packageName = getPackageName(typeElement);
+        String modelType = processingEnv.getTypeUtils().erasure(typeElement.asType()).toString();
+
+        Map<String, ExecutableElement> gettersByPathToken = getGettersByPathToken(typeElement);
+
+        StringBuilder propertyTypeCases = new StringBuilder();
+        StringBuilder propertyValueCases = new StringBuilder();
+        for (Map.Entry<String, ExecutableElement> entry : gettersByPathToken.entrySet()) {
+
+            propertyTypeCases.append("            case \"").append(entry.getKey()).append("\":\n")
+                    .append("                return ").append(processingEnv.getTypeUtils().erasure(entry.getValue().getReturnType())).append(".class;\n");
+            propertyValueCases.append("            case \"").append(entry.getKey()).append("\":\n")
+                    .append("                return typedModel.").append(entry.getValue().getSimpleName()).append("();\n");
+
+        }
+
+        StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("import io.toolisticon.annotationprocessortoolkit.templating.ModelAccessor;\n\n")
+                .append("/**\n")
+                .append(" * Model accessor generated for {@link ").append(modelType).append("}.\n")
+                .append(" */\n")
+                .append("public final class ").append(getModelAccessorSimpleName(typeElement)).append(" implements ModelAccessor {\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getModelType() {\n")
+                .append("        return ").append(modelType).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getPropertyType(String propertyName) {\n")
+                .append("        switch (propertyName) {\n")
+                .append(propertyTypeCases)
+                .append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object getPropertyValue(Object model, String propertyName) throws Exception {\n")
+                .append("        ").append(modelType).append(" typedModel = (").append(modelType).append(") model;\n")
+                .append("        switch (propertyName) {\n")
+                .append(propertyValueCases)
+                .append("            default:\n")
+                .append("                throw new IllegalArgumentException(\"Unknown property '\" + propertyName + \"' of ").append(modelType).append("\");\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        return source.toString();
+
+    }
+
+    private void generateModelAccessor(TypeElement typeElement) {
+
+        String packageName = getPackageName(typeElement);
+        String modelAccessorName = (packageName.isEmpty() ? "" : packageName + ".") + getModelAccessorSimpleName(typeElement);
+
+        try {
+
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(modelAccessorName, typeElement);
+            Writer writer = sourceFile.openWriter();
+            try {
+                writer.write(generateSource(typeElement));
+            } finally {
+                writer.close();
+            }
+
+            generatedModelAccessors.add(modelAccessorName);
+
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write model accessor " + modelAccessorName + " : " + e.getMessage(), typeElement);
+        }
+
+    }
+
+    /**
+     * Writes the service file listing all model accessors. Accessors listed by an existing service file of a previous compilation are kept.
+     */
+    private void writeServiceFile() {
+
+        if (generatedModelAccessors.isEmpty()) {
+            return;
+        }
+
+        Set<String> modelAccessors = new TreeSet<String>(generatedModelAccessors);
+
+        try {
+
+            FileObject existingServiceFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE_NAME);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(existingServiceFile.openInputStream(), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        modelAccessors.add(line.trim());
+                    }
+                }
+            } finally {
+                closeQuietly(reader);
+            }
+
+        } catch (Exception e) {
+            // there is no service file of a previous compilation
+        }
+
+        try {
+
+            FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE_NAME);
+            Writer writer = new OutputStreamWriter(serviceFile.openOutputStream(), "UTF-8");
+            try {
+                for (String modelAccessor : modelAccessors) {
+                    writer.append(modelAccessor).append('\n');
+                }
+            } finally {
+                writer.close();
+            }
+
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write service file " + SERVICE_FILE_NAME + " : " + e.getMessage());
+        }
+
+    }
+
+    private static void closeQuietly(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+}
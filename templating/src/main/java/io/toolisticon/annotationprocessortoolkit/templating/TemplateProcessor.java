@@ -1,7 +1,7 @@
 package io.toolisticon.annotationprocessortoolkit.templating;
 
-import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
-
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 
 /**
@@ -9,24 +9,95 @@ import java.util.Map;
  */
 public class TemplateProcessor {
 
+    private static final TemplateCache TEMPLATE_CACHE = new TemplateCache();
+
 
     public static String processTemplate(String templateString, Map<String, Object> values) {
 
-        TemplateBlockBinder binder = ParseUtilities.parseString(templateString);
-        return binder.getContent(values);
+        return TEMPLATE_CACHE.getTemplateForString(templateString).render(values);
 
     }
 
     public static String processTemplateResourceFile(String templateFileName, Map<String, Object> values) {
 
-        String templateString = null;
-        try {
-            templateString = ParseUtilities.readResourceToString(templateFileName);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Cannot open template file '" + templateFileName + "'", e);
-        }
+        return TEMPLATE_CACHE.getTemplateForResource(templateFileName).render(values);
+
+    }
+
+    /**
+     * Processes a template string and writes the result directly into the passed Appendable.
+     *
+     * @param templateString the template string
+     * @param values         the values to use
+     * @param out            the Appendable to render to
+     * @throws IOException if passed Appendable can't be written
+     */
+    public static void processTemplate(String templateString, Map<String, Object> values, Appendable out) throws IOException {
+
+        TEMPLATE_CACHE.getTemplateForString(templateString).render(values, out);
+
+    }
+
+    /**
+     * Processes a template resource file and writes the result directly into the passed Appendable.
+     *
+     * @param templateFileName the resource name of the template file
+     * @param values           the values to use
+     * @param out              the Appendable to render to
+     * @throws IOException if passed Appendable can't be written
+     */
+    public static void processTemplateResourceFile(String templateFileName, Map<String, Object> values, Appendable out) throws IOException {
+
+        TEMPLATE_CACHE.getTemplateForResource(templateFileName).render(values, out);
+
+    }
+
+    /**
+     * Processes a template string and writes the UTF-8 encoded result directly into the passed OutputStream.
+     *
+     * @param templateString the template string
+     * @param values         the values to use
+     * @param outputStream   the OutputStream to render to
+     * @throws IOException if passed OutputStream can't be written
+     */
+    public static void processTemplate(String templateString, Map<String, Object> values, OutputStream outputStream) throws IOException {
+
+        TEMPLATE_CACHE.getTemplateForString(templateString).render(values, outputStream);
+
+    }
+
+    /**
+     * Processes a template resource file and writes the UTF-8 encoded result directly into the passed OutputStream.
+     *
+     * @param templateFileName the resource name of the template file
+     * @param values           the values to use
+     * @param outputStream     the OutputStream to render to
+     * @throws IOException if passed OutputStream can't be written
+     */
+    public static void processTemplateResourceFile(String templateFileName, Map<String, Object> values, OutputStream outputStream) throws IOException {
+
+        TEMPLATE_CACHE.getTemplateForResource(templateFileName).render(values, outputStream);
+
+    }
+
+    /**
+     * Sets the listener to report parsing and rendering of templates to.
+     * Tracing is opt-in, it is disabled by default.
+     *
+     * @param renderingListener the listener, for example {@link TemplateMetrics}, or null to disable tracing
+     */
+    public static void setRenderingListener(TemplateRenderingListener renderingListener) {
+        TEMPLATE_CACHE.setRenderingListener(renderingListener);
+    }
 
-        return processTemplate(templateString, values);
+    /**
+     * Gets the cache used for compiled templates.
+     * Can be used to configure the cache size or to read cache statistics.
+     *
+     * @return the template cache
+     */
+    public static TemplateCache getTemplateCache() {
+        return TEMPLATE_CACHE;
     }
 
 
@@ -0,0 +1,23 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Renderer for a single template.
+ * <p/>
+ * Implementations are generated ahead of time by the {@link TemplateRendererGenerator}.
+ * They produce the same output as the corresponding compiled {@link Template} without parsing or interpreting the template at runtime.
+ */
+public interface TemplateRenderer {
+
+    /**
+     * Renders the template with the passed values directly into the passed Appendable.
+     *
+     * @param values the model to use
+     * @param out    the Appendable to render to, for example a Writer
+     * @throws IOException if passed Appendable can't be written
+     */
+    void render(Map<String, Object> values, Appendable out) throws IOException;
+
+}
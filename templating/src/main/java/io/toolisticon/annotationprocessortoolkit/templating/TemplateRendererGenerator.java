@@ -0,0 +1,438 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.DynamicOperand;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.ForTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.IfTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.IncludeTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.MemoizingTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TracingTemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.VariableTextTemplateBlock;
+
+import javax.lang.model.SourceVersion;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ahead of time compiler for templates.
+ * <p/>
+ * Generates the java source of a {@link TemplateRenderer} implementation for a template.
+ * Plain text is written by straight-line appends, FOR, IF and INCLUDE blocks are translated into java loops, conditions and method calls.
+ * Plain model access paths are resolved directly via precompiled {@link ModelPath}s, all other expressions are parsed once when the generated class is loaded.
+ * <p/>
+ * Generated renderers produce the same output as the interpreted template, but don't support runtime features of compiled templates:
+ * <ul>
+ *     <li>FOR blocks with attribute parallel are rendered sequentially - the generated loop is marked with a comment</li>
+ *     <li>Traced templates - used if a rendering listener is set - are generated without tracing, so generated renderers don't report to the listener</li>
+ *     <li>Memoized blocks are generated without memoization</li>
+ * </ul>
+ * <p/>
+ * The generator can be called from the command line at build time:
+ * <pre>
+ *     java io.toolisticon.annotationprocessortoolkit.templating.TemplateRendererGenerator &lt;template resource&gt; &lt;fully qualified class name&gt; &lt;output directory&gt;
+ * </pre>
+ */
+public class TemplateRendererGenerator {
+
+    /**
+     * Maximal number of statements per generated method - keeps generated methods below the bytecode size limit.
+     */
+    static final int MAX_STATEMENTS_PER_METHOD = 200;
+
+    /**
+     * Maximal length of generated string literals - keeps string literals below the constant pool size limit.
+     */
+    static final int MAX_STRING_LITERAL_LENGTH = 8192;
+
+    private final String packageName;
+    private final String simpleClassName;
+
+    private final StringBuilder fields = new StringBuilder();
+    private final StringBuilder methods = new StringBuilder();
+
+    private final Map<String, String> includeRenderMethods = new HashMap<String, String>();
+
+    private int fieldCounter = 0;
+    private int methodCounter = 0;
+
+
+    private TemplateRendererGenerator(String fullyQualifiedClassName) {
+
+        if (fullyQualifiedClassName == null || !SourceVersion.isName(fullyQualifiedClassName)) {
+            throw new IllegalArgumentException("passed fullyQualifiedClassName '" + fullyQualifiedClassName + "' must be a valid java class name");
+        }
+
+        int lastDotIndex = fullyQualifiedClassName.lastIndexOf('.');
+        this.packageName = lastDotIndex >= 0 ? fullyQualifiedClassName.substring(0, lastDotIndex) : null;
+        this.simpleClassName = fullyQualifiedClassName.substring(lastDotIndex + 1);
+
+    }
+
+    /**
+     * Generates the java source of a renderer for a template resource file.
+     *
+     * @param templateFileName        the resource name of the template file
+     * @param fullyQualifiedClassName the fully qualified name of the class to generate
+     * @return the java source of the generated class
+     * @throws IllegalArgumentException if template file can't be read or the class name is invalid
+     */
+    public static String generateSourceForResource(String templateFileName, String fullyQualifiedClassName) {
+        return new TemplateRendererGenerator(fullyQualifiedClassName).generate(TemplateProcessor.getTemplateCache().getTemplateForResource(templateFileName), "template resource '" + templateFileName + "'");
+    }
+
+    /**
+     * Generates the java source of a renderer for a template string.
+     *
+     * @param templateString          the template string
+     * @param fullyQualifiedClassName the fully qualified name of the class to generate
+     * @return the java source of the generated class
+     * @throws IllegalArgumentException if the class name is invalid
+     */
+    public static String generateSourceForString(String templateString, String fullyQualifiedClassName) {
+        return new TemplateRendererGenerator(fullyQualifiedClassName).generate(TemplateProcessor.getTemplateCache().getTemplateForString(templateString), "template string");
+    }
+
+    /**
+     * Generates the java source of a renderer for a template resource file and writes it to the output directory.
+     * The source file is placed in the directory structure matching the package of the class.
+     *
+     * @param templateFileName        the resource name of the template file
+     * @param fullyQualifiedClassName the fully qualified name of the class to generate
+     * @param outputDirectory         the source root directory to write to
+     * @return the written source file
+     * @throws IOException if source file can't be written
+     */
+    public static File writeSourceForResource(String templateFileName, String fullyQualifiedClassName, File outputDirectory) throws IOException {
+
+        if (outputDirectory == null) {
+            throw new IllegalArgumentException("passed outputDirectory must not be null");
+        }
+
+        String source = generateSourceForResource(templateFileName, fullyQualifiedClassName);
+
+        File sourceFile = new File(outputDirectory, fullyQualifiedClassName.replace('.', File.separatorChar) + ".java");
+        File packageDirectory = sourceFile.getParentFile();
+        if (!packageDirectory.isDirectory() && !packageDirectory.mkdirs()) {
+            throw new IOException("Cannot create directory '" + packageDirectory + "'");
+        }
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(sourceFile), "UTF-8");
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+
+        return sourceFile;
+
+    }
+
+    /**
+     * Command line entry point.
+     *
+     * @param args the template resource, the fully qualified class name and the output directory
+     * @throws IOException if source file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: TemplateRendererGenerator <template resource> <fully qualified class name> <output directory>");
+        }
+
+        writeSourceForResource(args[0], args[1], new File(args[2]));
+
+    }
+
+
+    private String generate(Template template, String templateDescription) {
+
+        String rootRenderMethod = generateRenderMethod(template.getBinder());
+
+        StringBuilder source = new StringBuilder();
+
+        if (packageName != null) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("import io.toolisticon.annotationprocessortoolkit.templating.ModelDefinition;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.ModelPath;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.TemplateRenderer;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.RenderUtilities;\n")
+                .append("import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.VariableScope;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.util.Collections;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * Renderer generated from ").append(templateDescription.replace("*/", "*&#47;")).append(".\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleClassName).append(" implements TemplateRenderer {\n\n")
+                .append(fields)
+                .append("\n")
+                .append("    @Override\n")
+                .append("    public void render(Map<String, Object> values, Appendable out) throws IOException {\n")
+                .append("        ").append(rootRenderMethod).append("(values, out);\n")
+                .append("    }\n")
+                .append(methods)
+                .append("\n}\n");
+
+        return source.toString();
+
+    }
+
+    /**
+     * Generates a render method for the template blocks of a binder.
+     *
+     * @param binder the binder
+     * @return the name of the generated method
+     */
+    private String generateRenderMethod(TemplateBlockBinder binder) {
+
+        String methodName = nextMethodName();
+
+        List<String> statements = new ArrayList<String>();
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+            addStatements(statements, templateBlock);
+        }
+
+        if (statements.size() <= MAX_STATEMENTS_PER_METHOD) {
+            appendMethod(methodName, statements);
+        } else {
+
+            // split statements into multiple methods
+            List<String> partCalls = new ArrayList<String>();
+            for (int i = 0; i < statements.size(); i += MAX_STATEMENTS_PER_METHOD) {
+                String partMethodName = nextMethodName();
+                appendMethod(partMethodName, statements.subList(i, Math.min(i + MAX_STATEMENTS_PER_METHOD, statements.size())));
+                partCalls.add(partMethodName + "(variables, out);");
+            }
+            appendMethod(methodName, partCalls);
+
+        }
+
+        return methodName;
+
+    }
+
+    private void addStatements(List<String> statements, TemplateBlock templateBlock) {
+
+        switch (templateBlock.getTemplateBlockType()) {
+
+            case PLAIN_TEXT:
+            case STATIC: {
+
+                // content of text blocks doesn't depend on variables
+                String content = templateBlock.getContent(null);
+                for (int i = 0; i < content.length(); i += MAX_STRING_LITERAL_LENGTH) {
+                    statements.add("out.append(" + toStringLiteral(content.substring(i, Math.min(i + MAX_STRING_LITERAL_LENGTH, content.length()))) + ");");
+                }
+                break;
+
+            }
+            case DYNAMIC_TEXT: {
+
+                String accessPath = ((VariableTextTemplateBlock) templateBlock).getAccessPath();
+                Operand operandTree = ExpressionParser.parseExpression(accessPath).getOperandTree();
+
+                if (operandTree instanceof DynamicOperand) {
+                    // plain model access path
+                    String modelPathField = addModelPathField(((DynamicOperand) operandTree).getExpressionString());
+                    statements.add("out.append(String.valueOf(" + modelPathField + ".resolve(variables).getValue()));");
+                } else {
+                    String expressionField = addExpressionField(accessPath);
+                    statements.add("out.append(String.valueOf(" + expressionField + ".evaluateExpression(variables).value()));");
+                }
+                break;
+
+            }
+            case FOR: {
+
+                ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+                String modelPathField = addModelPathField(forTemplateBlock.getAccessPath());
+                String loopRenderMethod = generateRenderMethod(forTemplateBlock.getBinder());
+
+                // generated renderers don't support parallel rendering
+                statements.add((forTemplateBlock.isParallel() ? "// parallel loop is rendered sequentially\n        " : "")
+                        + "{\n"
+                        + "            VariableScope loopVariables = new VariableScope(variables);\n"
+                        + "            for (Object loopValue : RenderUtilities.getLoopValues(" + modelPathField + ".resolve(variables).getValue(), " + toStringLiteral(forTemplateBlock.getAccessPath()) + ")) {\n"
+                        + "                loopVariables.put(" + toStringLiteral(forTemplateBlock.getLoopVariableName()) + ", loopValue);\n"
+                        + "                " + loopRenderMethod + "(loopVariables, out);\n"
+                        + "            }\n"
+                        + "        }");
+                break;
+
+            }
+            case IF: {
+
+                IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                String expressionField = addExpressionField(ifTemplateBlock.getAccessPath());
+                String conditionalRenderMethod = generateRenderMethod(ifTemplateBlock.getBinder());
+
+                statements.add("if (RenderUtilities.isConditionFulfilled(" + expressionField + ".evaluateExpression(variables), " + toStringLiteral(ifTemplateBlock.getAccessPath()) + ")) {\n"
+                        + "            " + conditionalRenderMethod + "(variables, out);\n"
+                        + "        }");
+                break;
+
+            }
+            case INCLUDE: {
+
+                IncludeTemplateBlock includeTemplateBlock = (IncludeTemplateBlock) templateBlock;
+
+                String model;
+                if (includeTemplateBlock.getModelAccessPath() != null) {
+                    model = "Collections.<String, Object>singletonMap(\"model\", " + addModelPathField(includeTemplateBlock.getModelAccessPath()) + ".resolve(variables).getValue())";
+                } else if (!includeTemplateBlock.getModelDefinitionString().isEmpty()) {
+                    model = addModelDefinitionField(includeTemplateBlock.getModelDefinitionString()) + ".createModel(variables)";
+                } else {
+                    model = "variables";
+                }
+
+                statements.add(getIncludeRenderMethod(includeTemplateBlock) + "(" + model + ", out);");
+                break;
+
+            }
+            case MEMOIZED: {
+
+                // generated renderers don't memoize - output is the same
+                addStatements(statements, ((MemoizingTemplateBlock) templateBlock).getTemplateBlock());
+                break;
+
+            }
+            case TRACED: {
+
+                // generated renderers aren't traced - output is the same, but rendering isn't reported to the listener
+                addStatements(statements, ((TracingTemplateBlock) templateBlock).getTemplateBlock());
+                break;
+
+            }
+            default: {
+                throw new IllegalArgumentException("Unsupported template block type " + templateBlock.getTemplateBlockType());
+            }
+
+        }
+
+    }
+
+    /**
+     * Gets the render method for an included template resource.
+     * Each resource is generated just once, so recursive includes are translated into recursive method calls.
+     *
+     * @param includeTemplateBlock the include template block
+     * @return the name of the render method
+     */
+    private String getIncludeRenderMethod(IncludeTemplateBlock includeTemplateBlock) {
+
+        String methodName = includeRenderMethods.get(includeTemplateBlock.getTemplateResource());
+        if (methodName == null) {
+
+            // method name must be reserved before generation of template to support recursive includes
+            methodName = "renderResource" + (methodCounter++);
+            includeRenderMethods.put(includeTemplateBlock.getTemplateResource(), methodName);
+
+            String templateRenderMethod = generateRenderMethod(includeTemplateBlock.getTemplate().getBinder());
+
+            List<String> statements = new ArrayList<String>();
+            statements.add(templateRenderMethod + "(variables, out);");
+            appendMethod(methodName, statements);
+
+        }
+        return methodName;
+
+    }
+
+    private String nextMethodName() {
+        return "renderBlock" + (methodCounter++);
+    }
+
+    private void appendMethod(String methodName, List<String> statements) {
+
+        methods.append("\n")
+                .append("    private static void ").append(methodName).append("(Map<String, Object> variables, Appendable out) throws IOException {\n");
+
+        for (String statement : statements) {
+            methods.append("        ").append(statement).append("\n");
+        }
+
+        methods.append("    }\n");
+
+    }
+
+    private String addModelPathField(String accessPath) {
+        return addField("ModelPath", "MODEL_PATH_", "new ModelPath(" + toStringLiteral(accessPath) + ")");
+    }
+
+    private String addExpressionField(String expressionString) {
+        return addField("Expression", "EXPRESSION_", "ExpressionParser.parseExpression(" + toStringLiteral(expressionString) + ")");
+    }
+
+    private String addModelDefinitionField(String modelDefinitionString) {
+        return addField("ModelDefinition", "MODEL_DEFINITION_", "ModelDefinition.compile(" + toStringLiteral(modelDefinitionString) + ")");
+    }
+
+    private String addField(String type, String namePrefix, String initializer) {
+
+        String fieldName = namePrefix + (fieldCounter++);
+        fields.append("    private static final ").append(type).append(" ").append(fieldName).append(" = ").append(initializer).append(";\n");
+        return fieldName;
+
+    }
+
+    /**
+     * Creates a java string literal for the passed String.
+     * Line terminators, quotes and backslashes are escaped, all other control and non ASCII characters are written as unicode escapes.
+     *
+     * @param value the String
+     * @return the java string literal
+     */
+    static String toStringLiteral(String value) {
+
+        StringBuilder literal = new StringBuilder(value.length() + 2);
+        literal.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+
+        }
+
+        literal.append('"');
+        return literal.toString();
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+
+/**
+ * Listener that is notified about parsing and rendering of templates.
+ * <p/>
+ * Listeners are opt-in, they can be registered via {@link TemplateProcessor#setRenderingListener(TemplateRenderingListener)} or
+ * for a single template via {@link Template#trace(TemplateRenderingListener, String)}.
+ * Render times of blocks include the render times of their nested blocks.
+ * <p/>
+ * Implementations must be threadsafe, since templates may be rendered concurrently.
+ *
+ * @see TemplateMetrics
+ */
+public interface TemplateRenderingListener {
+
+    /**
+     * Called after a template has been parsed.
+     *
+     * @param templateName   the name of the template - the resource name for template resources
+     * @param parseTimeNanos the time needed to read and parse the template in nanoseconds
+     */
+    void templateParsed(String templateName, long parseTimeNanos);
+
+    /**
+     * Called after a FOR, IF, INCLUDE or DYNAMIC_TEXT block has been rendered.
+     *
+     * @param templateName    the name of the template containing the block
+     * @param blockType       the type of the block
+     * @param renderTimeNanos the time needed to render the block in nanoseconds
+     * @param outputLength    the number of rendered chars - or the number of UTF-8 encoded bytes if rendered to an OutputStream
+     */
+    void blockRendered(String templateName, TemplateBlockType blockType, long renderTimeNanos, long outputLength);
+
+    /**
+     * Called when an expression of an IF or DYNAMIC_TEXT block has been evaluated.
+     * Reading the cached result of an expression shared by multiple blocks isn't reported.
+     *
+     * @param templateName the name of the template containing the expression
+     * @param expression   the evaluated expression
+     */
+    void expressionEvaluated(String templateName, String expression);
+
+}
@@ -0,0 +1,207 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Render target that writes UTF-8 encoded output to an OutputStream.
+ * <p/>
+ * Dynamic content is encoded while it is appended. Static template content can be encoded once when the template is compiled
+ * and is written as is via {@link #writeEncoded(byte[])}.
+ * Unpaired surrogates are replaced by '?' like {@link String#getBytes(java.nio.charset.Charset)} does.
+ * <p/>
+ * This implementation is not threadsafe.
+ */
+public class Utf8RenderTarget implements Appendable, Flushable {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final byte REPLACEMENT_BYTE = (byte) '?';
+
+    private final OutputStream outputStream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = 0;
+
+    /**
+     * Number of bytes written to the OutputStream.
+     */
+    private long writtenLength = 0L;
+
+    /**
+     * High surrogate appended last, which waits for its low surrogate.
+     */
+    private char pendingHighSurrogate = 0;
+
+    public Utf8RenderTarget(OutputStream outputStream) {
+
+        if (outputStream == null) {
+            throw new IllegalArgumentException("passed outputStream must not be null");
+        }
+
+        this.outputStream = outputStream;
+
+    }
+
+    /**
+     * Encodes a String to UTF-8.
+     *
+     * @param content the content to encode
+     * @return the UTF-8 encoded content
+     */
+    public static byte[] encode(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Utf8RenderTarget append(CharSequence csq) throws IOException {
+
+        CharSequence charSequence = csq != null ? csq : "null";
+        return append(charSequence, 0, charSequence.length());
+
+    }
+
+    @Override
+    public Utf8RenderTarget append(CharSequence csq, int start, int end) throws IOException {
+
+        CharSequence charSequence = csq != null ? csq : "null";
+        for (int i = start; i < end; i++) {
+            append(charSequence.charAt(i));
+        }
+        return this;
+
+    }
+
+    @Override
+    public Utf8RenderTarget append(char c) throws IOException {
+
+        if (position + 4 > buffer.length) {
+            flushBuffer();
+        }
+
+        if (pendingHighSurrogate != 0) {
+
+            char highSurrogate = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(highSurrogate, c);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return this;
+            }
+
+            buffer[position++] = REPLACEMENT_BYTE;
+            if (position + 3 > buffer.length) {
+                flushBuffer();
+            }
+
+        }
+
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[position++] = REPLACEMENT_BYTE;
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+
+        return this;
+
+    }
+
+    /**
+     * Writes already UTF-8 encoded content.
+     *
+     * @param encodedContent the encoded content
+     * @throws IOException if OutputStream can't be written
+     */
+    public void writeEncoded(byte[] encodedContent) throws IOException {
+        writeEncoded(encodedContent, 0, encodedContent.length);
+    }
+
+    /**
+     * Writes a slice of already UTF-8 encoded content.
+     *
+     * @param encodedContent the buffer containing the encoded content
+     * @param offset         the offset of the content in the buffer
+     * @param length         the length of the encoded content
+     * @throws IOException if OutputStream can't be written
+     */
+    public void writeEncoded(byte[] encodedContent, int offset, int length) throws IOException {
+
+        resolvePendingHighSurrogate();
+
+        if (length > buffer.length - position) {
+            flushBuffer();
+        }
+
+        if (length >= buffer.length) {
+            // large content is written directly
+            outputStream.write(encodedContent, offset, length);
+            writtenLength += length;
+        } else {
+            System.arraycopy(encodedContent, offset, buffer, position, length);
+            position += length;
+        }
+
+    }
+
+    /**
+     * Gets the number of UTF-8 encoded bytes rendered so far - including buffered bytes.
+     * A high surrogate appended last isn't counted until it is resolved.
+     *
+     * @return the number of encoded bytes
+     */
+    public long getLength() {
+        return writtenLength + position;
+    }
+
+    /**
+     * Writes buffered output to the OutputStream and flushes it.
+     * A high surrogate appended last is replaced by '?', so output must not be flushed within a surrogate pair.
+     *
+     * @throws IOException if OutputStream can't be written
+     */
+    @Override
+    public void flush() throws IOException {
+
+        resolvePendingHighSurrogate();
+        flushBuffer();
+        outputStream.flush();
+
+    }
+
+    private void resolvePendingHighSurrogate() throws IOException {
+
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = REPLACEMENT_BYTE;
+        }
+
+    }
+
+    private void flushBuffer() throws IOException {
+
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            writtenLength += position;
+            position = 0;
+        }
+
+    }
+
+}
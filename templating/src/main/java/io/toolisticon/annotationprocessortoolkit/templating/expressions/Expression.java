@@ -1,103 +1,192 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions;
 
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.ExpressionOperand;
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.BinaryOperationOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeMode;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * This implementation is not threadsafe.
+ * A parsed expression.
+ * <p/>
+ * The operands and binary operations are compiled into an immutable operand tree that respects the execution order of the operations.
+ * Operations with the same execution order are evaluated from left to right.
+ * Sub trees that don't depend on a model are folded into their results while building the operand tree.
+ * Evaluation doesn't modify the expression, so a parsed expression can be evaluated multiple times against different models and by multiple threads.
  */
 public class Expression {
 
-    private Operand[] operands;
-    private OperationType[] operationTypes;
+    /**
+     * Compiles the flat operand and operation arrays into an operand tree by using precedence climbing.
+     */
+    private static class OperandTreeBuilder {
 
-    public Expression(Operand[] operands, OperationType[] operationTypes) {
-        this.operands = operands;
-        this.operationTypes = operationTypes;
-    }
+        private final Operand[] operands;
+        private final OperationType[] operationTypes;
 
-    public Operand[] getOperands() {
-        return operands;
-    }
+        private int operationIndex = 0;
 
-    public OperationType[] getOperationTypes() {
-        return operationTypes;
-    }
-
-    public Operand evaluateExpression() {
+        private OperandTreeBuilder(Operand[] operands, OperationType[] operationTypes) {
+            this.operands = operands;
+            this.operationTypes = operationTypes;
+        }
 
-        // in case of one operand return it
-        if (operands.length == 1 && operationTypes.length == 0) {
-            return operands[0];
+        private Operand build() {
+            return buildOperation(operands[0].fold(), Integer.MAX_VALUE);
         }
 
-        // first resolve sub expressions
-        for (int i = 0; i < operands.length; i++) {
+        /**
+         * Consumes all following operations with an execution order lower or equal than passed maximal execution order.
+         *
+         * @param leftOperand           the left operand
+         * @param maximalOperationOrder the maximal execution order of operations to consume
+         * @return the operand tree
+         */
+        private Operand buildOperation(Operand leftOperand, int maximalOperationOrder) {
+
+            while (operationIndex < operationTypes.length && operationTypes[operationIndex].getOperationExecutionOrder() <= maximalOperationOrder) {
+
+                OperationType operationType = operationTypes[operationIndex];
+                Operand rightOperand = operands[operationIndex + 1].fold();
+                operationIndex++;
+
+                // operations with lower execution order bind stronger
+                while (operationIndex < operationTypes.length && operationTypes[operationIndex].getOperationExecutionOrder() < operationType.getOperationExecutionOrder()) {
+                    rightOperand = buildOperation(rightOperand, operationTypes[operationIndex].getOperationExecutionOrder());
+                }
+
+                leftOperand = new BinaryOperationOperand(operationType, leftOperand, rightOperand).fold();
 
-            // evaluate sub expressions and replace operand by result
-            if (operands[i].getOperandType().equals(OperandType.EXPRESSION)) {
-                operands[i] = ((ExpressionOperand) operands[i]).getExpression().evaluateExpression();
             }
 
+            return leftOperand;
         }
 
-        // goto binary expressions by execution order (execution order is from left to right)
-        for (OperationType binaryOperationType : OperationType.getOperationsByOperationTypeMode(OperationTypeMode.BINARY)) {
+    }
+
+    private static Operand evaluateConstantOperand(Operand operand) {
 
-            boolean foundOperation = true;
-            while (foundOperation) {
+        if (!operand.isConstant()) {
+            return null;
+        }
 
-                foundOperation = false;
+        try {
+            return operand.evaluate(null);
+        } catch (RuntimeException e) {
+            return null;
+        }
 
-                for (int operationIndex = 0; operationIndex < operationTypes.length; operationIndex++) {
+    }
 
-                    if (binaryOperationType.equals(operationTypes[operationIndex])) {
-                        // apply operation
-                        applyOperation(operationIndex);
-                        foundOperation = true;
-                        break;
-                    }
+    private final Operand[] operands;
+    private final OperationType[] operationTypes;
 
-                }
-            }
+    private final Operand operandTree;
+
+    public Expression(Operand[] operands, OperationType[] operationTypes) {
+
+        if (operands == null || operands.length == 0 || operationTypes == null || operands.length != operationTypes.length + 1) {
+            throw new IllegalArgumentException("Expression needs exactly one operand more than operations");
         }
 
+        this.operands = operands;
+        this.operationTypes = operationTypes;
+        this.operandTree = new OperandTreeBuilder(operands, operationTypes).build();
+
+    }
+
+    /**
+     * Creates a copy of an expression - used by expressions that change the way the operand tree is evaluated.
+     *
+     * @param expression the expression to copy
+     */
+    protected Expression(Expression expression) {
+        this(expression, expression.operandTree);
+    }
 
-        return operands[0];
+    private Expression(Expression expression, Operand operandTree) {
+        this.operands = expression.operands;
+        this.operationTypes = expression.operationTypes;
+        this.operandTree = operandTree;
     }
 
-    private void applyOperation(int operationIndex) {
+    /**
+     * Partially evaluates the expression against a static model.
+     * Dynamic operands whose first path token is a key of the static model are replaced by their values, constant sub trees are folded afterwards.
+     * The operands and operation types of the specialized expression are those of the original expression, just the operand tree differs.
+     *
+     * @param staticModel the static part of the model
+     * @return the specialized expression or this expression if nothing could be specialized
+     */
+    public Expression specialize(Map<String, Object> staticModel) {
+
+        Operand specializedOperandTree = operandTree.specialize(staticModel);
+        return specializedOperandTree != operandTree ? new Expression(this, specializedOperandTree) : this;
+
+    }
 
-        if (operationIndex >= 0 && operationIndex < operationTypes.length) {
+    public Operand[] getOperands() {
+        return operands;
+    }
 
-            // resolve one operand
-            List<Operand> newOperands = new ArrayList<>(Arrays.asList(operands));
-            List<OperationType> newOperationTypes = new ArrayList<>(Arrays.asList(operationTypes));
+    public OperationType[] getOperationTypes() {
+        return operationTypes;
+    }
 
-            // getOperands and operationType
-            Operand operand1 = newOperands.get(operationIndex);
-            Operand operand2 = newOperands.get(operationIndex + 1);
+    /**
+     * Gets the compiled operand tree of the expression.
+     *
+     * @return the root of the operand tree
+     */
+    public Operand getOperandTree() {
+        return operandTree;
+    }
 
-            OperationType operationtype = newOperationTypes.get(operationIndex);
+    /**
+     * Gets the access paths of all model values read when the expression is evaluated.
+     * Operands removed by constant folding or specialization aren't included.
+     *
+     * @return the access paths in order of their occurrence
+     */
+    public Set<String> getModelPaths() {
 
+        Set<String> modelPaths = new LinkedHashSet<String>();
+        operandTree.collectModelPaths(modelPaths);
+        return modelPaths;
 
-            // do operation and update expressions
-            newOperands.remove(operationIndex + 1);
-            newOperands.set(operationIndex, operationtype.doOperation(operand1, operand2));
-            newOperationTypes.remove(operationIndex);
+    }
 
-            operands = newOperands.toArray(new Operand[newOperands.size()]);
-            operationTypes = newOperationTypes.toArray(new OperationType[newOperationTypes.size()]);
+    /**
+     * Evaluates an expression that doesn't depend on a model.
+     *
+     * @return the result operand or null if the expression depends on a model or can't be evaluated
+     */
+    public Operand evaluateConstantExpression() {
+        return evaluateConstantOperand(operandTree);
+    }
 
-        }
+    /**
+     * Evaluates the expression against the passed model.
+     * The model is passed explicitly through the operand tree, no thread bound state is used or modified.
+     *
+     * @param model the model to use for resolving of dynamic operands
+     * @return the result operand
+     */
+    public Operand evaluateExpression(Map<String, Object> model) {
+        return operandTree.evaluate(model);
+    }
 
+    /**
+     * Evaluates the expression against the model bound to the current thread via {@link ModelPathResolver#modelMapThreadLocal}.
+     *
+     * @return the result operand
+     * @see #evaluateExpression(Map)
+     */
+    public Operand evaluateExpression() {
+        return operandTree.evaluate();
     }
 
 }
@@ -6,39 +6,56 @@ import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandTypeSearchResult;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeMode;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeSearchResult;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Parser to paarse an expressions String.
+ * Parser to parse an expressions String.
+ * <p/>
+ * The expression string is scanned in a single pass by the {@link ExpressionTokenizer}, sub expressions in braces are parsed recursively
+ * without copying the remaining expression string.
  */
 public class ExpressionParser {
 
+    private static final OperationType[] NO_OPERATION_TYPES = new OperationType[0];
+
     private static class ExpressionParseResult {
 
-        Expression expression;
-        String restString;
+        private final Expression expression;
+        private final String expressionString;
+        private final int endIndex;
 
-        public ExpressionParseResult(Expression expression, String restString) {
+        public ExpressionParseResult(Expression expression, String expressionString, int endIndex) {
             this.expression = expression;
-            this.restString = restString;
+            this.expressionString = expressionString;
+            this.endIndex = endIndex;
         }
 
         public Expression getExpression() {
             return expression;
         }
 
+        public int getEndIndex() {
+            return endIndex;
+        }
+
         public String getRestString() {
-            return restString;
+            return expressionString.substring(endIndex);
         }
     }
 
+    /**
+     * Parses an expression string and binds the passed model to the current thread.
+     *
+     * @param expressionString the expression string
+     * @param model            the model to bind to the current thread
+     * @return the parsed expression
+     * @deprecated binds the model to the current thread as a side effect, use {@link #parseExpression(String)} and {@link Expression#evaluateExpression(Map)} instead
+     */
+    @Deprecated
     public static Expression parseExpression(String expressionString, Map<String, Object> model) {
 
         ModelPathResolver.modelMapThreadLocal.set(model);
@@ -46,22 +63,38 @@ public class ExpressionParser {
 
     }
 
-    protected static Expression parseExpression(String expressionString) {
+    /**
+     * Parses an expression string.
+     * The resulting expression can be evaluated multiple times against different models.
+     *
+     * @param expressionString the expression string to parse
+     * @return the parsed expression
+     */
+    public static Expression parseExpression(String expressionString) {
 
-        return parseExpressionRecursively(expressionString, false).getExpression();
+        return parseExpressionRecursively(expressionString, 0, false).getExpression();
 
     }
 
     public static ExpressionParseResult parseExpressionRecursively(String expressionString, boolean usedBrackets) {
 
-        final Pattern openingBracePattern = Pattern.compile("[ ]*[(][ ]*");
-        final Pattern closingBracePattern = Pattern.compile("[ ]*[)][ ]*");
+        return parseExpressionRecursively(expressionString, 0, usedBrackets);
+
+    }
+
+    /**
+     * Parses the expression starting at passed index.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @param usedBrackets     true if the expression is a sub expression that ends with a closing brace
+     * @return the parse result holding the expression and the index after the parsed expression
+     */
+    private static ExpressionParseResult parseExpressionRecursively(String expressionString, int index, boolean usedBrackets) {
 
-        List<Object> operands = new ArrayList<Object>();
+        List<Operand> operands = new ArrayList<Operand>();
         List<OperationType> operations = new ArrayList<OperationType>();
 
-        int index = 0;
-        boolean closingBraceDetected = false;
         boolean firstOperand = true;
 
         while (index < expressionString.length()) {
@@ -75,51 +108,34 @@ public class ExpressionParser {
             }
 
 
-            boolean negated = false;
-
-
             // determine unary operations to be applied on operand
-            List<OperationType> unaryOperationTypesToBeApplied = new ArrayList<OperationType>();
-
-            boolean found = true;
-            while (found) {
-                // next iteration
-                found = false;
-
-                for (OperationType operationType : OperationType.getOperationsByOperationTypeMode(OperationTypeMode.UNARY)) {
-
-                    Matcher unaryOperationMatcher = operationType.getOperationPattern().matcher(expressionString);
-                    if (unaryOperationMatcher.find(index) && unaryOperationMatcher.start() == index) {
+            List<OperationType> unaryOperationTypesToBeApplied = null;
 
-                        index = unaryOperationMatcher.end();
-
-                        unaryOperationTypesToBeApplied.add(operationType);
-                        found = true;
-                        break;
-
-                    }
+            OperationTypeSearchResult unaryOperationTypeSearchResult;
+            while ((unaryOperationTypeSearchResult = ExpressionTokenizer.scanUnaryOperationType(expressionString, index)) != null) {
 
+                if (unaryOperationTypesToBeApplied == null) {
+                    unaryOperationTypesToBeApplied = new ArrayList<OperationType>(2);
                 }
+                unaryOperationTypesToBeApplied.add(unaryOperationTypeSearchResult.getValue());
+                index = unaryOperationTypeSearchResult.getEndIndex();
+
             }
+            OperationType[] unaryOperationTypes = unaryOperationTypesToBeApplied != null ? unaryOperationTypesToBeApplied.toArray(new OperationType[unaryOperationTypesToBeApplied.size()]) : NO_OPERATION_TYPES;
 
 
             // check if brace is opened => do subexpression
-            Matcher openingBraceMatcher = openingBracePattern.matcher(expressionString);
-            if (openingBraceMatcher.find(index) && openingBraceMatcher.start() == index) {
-
-                index = openingBraceMatcher.end();
+            int subExpressionIndex = ExpressionTokenizer.scanCharacter(expressionString, index, '(');
+            if (subExpressionIndex >= 0) {
 
                 // parse subexpression
-                ExpressionParseResult subExpressionResult = parseExpressionRecursively(expressionString.substring(index), true);
+                ExpressionParseResult subExpressionResult = parseExpressionRecursively(expressionString, subExpressionIndex, true);
 
                 operands.add(
-                        OperandFactory.createOperand(OperandType.EXPRESSION, expressionString.substring(index, expressionString.length() - subExpressionResult.getRestString().length()), unaryOperationTypesToBeApplied.toArray(new OperationType[unaryOperationTypesToBeApplied.size()]), subExpressionResult.getExpression())
+                        OperandFactory.createOperand(OperandType.EXPRESSION, expressionString.substring(subExpressionIndex, subExpressionResult.getEndIndex()), unaryOperationTypes, subExpressionResult.getExpression())
                 );
 
-
-                // use rest String
-                expressionString = subExpressionResult.getRestString();
-                index = 0;
+                index = subExpressionResult.getEndIndex();
 
             } else {
 
@@ -127,10 +143,9 @@ public class ExpressionParser {
                 OperandTypeSearchResult operandTypeSearchResult = getOperandType(expressionString, index);
 
                 operands.add(
-                        OperandFactory.createOperand(operandTypeSearchResult.getValue(), expressionString.substring(index, operandTypeSearchResult.getEndIndex()), unaryOperationTypesToBeApplied.toArray(new OperationType[unaryOperationTypesToBeApplied.size()]), null)
+                        OperandFactory.createOperand(operandTypeSearchResult.getValue(), expressionString.substring(index, operandTypeSearchResult.getEndIndex()), unaryOperationTypes, null)
                 );
 
-
                 index = operandTypeSearchResult.getEndIndex();
 
             }
@@ -138,11 +153,9 @@ public class ExpressionParser {
             // get Closing brace
             if (usedBrackets) {
 
-                Matcher closingBracketMatcher = closingBracePattern.matcher(expressionString);
-                if (closingBracketMatcher.find(index) && closingBracketMatcher.start() == index) {
-
-                    return new ExpressionParseResult(new Expression(operands.toArray(new Operand[operands.size()]), (OperationType[]) operations.toArray(new OperationType[operations.size()])), expressionString.substring(closingBracketMatcher.end()));
-
+                int closingBraceEndIndex = ExpressionTokenizer.scanCharacter(expressionString, index, ')');
+                if (closingBraceEndIndex >= 0) {
+                    return new ExpressionParseResult(new Expression(operands.toArray(new Operand[operands.size()]), operations.toArray(new OperationType[operations.size()])), expressionString, closingBraceEndIndex);
                 }
 
             }
@@ -153,8 +166,7 @@ public class ExpressionParser {
         if (usedBrackets) {
             throw new IllegalArgumentException("Can't find closing bracket");
         }
-        OperationType[] operationsArray = operations.toArray(new OperationType[operations.size()]);
-        return new ExpressionParseResult(new Expression(operands.toArray(new Operand[operands.size()]), operationsArray), expressionString.substring(index));
+        return new ExpressionParseResult(new Expression(operands.toArray(new Operand[operands.size()]), operations.toArray(new OperationType[operations.size()])), expressionString, index);
 
     }
 
@@ -164,34 +176,35 @@ public class ExpressionParser {
      *
      * @param expressionString the expressions string
      * @param index            the current processing index
-     * @return
+     * @return the search result
+     * @throws IllegalArgumentException if no binary operation is found at passed index
      */
     public static OperationTypeSearchResult getOperationType(String expressionString, int index) {
 
-        for (OperationType operationType : OperationType.getOperationsByOperationTypeMode(OperationTypeMode.BINARY)) {
-
-            Matcher matcher = operationType.getOperationPattern().matcher(expressionString);
-            if (matcher.find(index) && matcher.start() == index) {
-                return new OperationTypeSearchResult(operationType, matcher.start(), matcher.end());
-            }
-
+        OperationTypeSearchResult result = ExpressionTokenizer.scanBinaryOperationType(expressionString, index);
+        if (result == null) {
+            throw new IllegalArgumentException("Can't determine operation type for string : " + expressionString.substring(index));
         }
+        return result;
 
-        throw new IllegalArgumentException("Can't determine operation type for string : " + expressionString.substring(index));
     }
 
+    /**
+     * Gets the next operand type.
+     *
+     * @param expressionString the expressions string
+     * @param index            the current processing index
+     * @return the search result
+     * @throws IllegalArgumentException if no operand is found at passed index
+     */
     public static OperandTypeSearchResult getOperandType(String expressionString, int index) {
 
-        for (OperandType operandType : OperandType.getPatternBasedOperandTypes()) {
-
-            Matcher matcher = operandType.getOperandPattern().matcher(expressionString);
-            if (matcher.find(index) && matcher.start() == index) {
-                return new OperandTypeSearchResult(operandType, matcher.start(), matcher.end());
-            }
-
+        OperandTypeSearchResult result = ExpressionTokenizer.scanOperandType(expressionString, index);
+        if (result == null) {
+            throw new IllegalArgumentException("Can't determine operands type for string : " + expressionString.substring(index));
         }
+        return result;
 
-        throw new IllegalArgumentException("Can't determine operands type for string : " + expressionString.substring(index));
     }
 
 }
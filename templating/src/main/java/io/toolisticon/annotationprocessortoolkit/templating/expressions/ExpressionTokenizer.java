@@ -0,0 +1,288 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandTypeSearchResult;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeSearchResult;
+
+/**
+ * Hand-written scanner for the tokens of expression strings.
+ * <p/>
+ * Each method scans a single token starting at the passed index by looking at the characters just once - no regular expressions are used.
+ * Spaces before and after a token belong to the token, so the end index of a token is the start index of the next token.
+ */
+final class ExpressionTokenizer {
+
+    private static final char LINE_SEPARATOR = (char) 0x2028;
+    private static final char PARAGRAPH_SEPARATOR = (char) 0x2029;
+
+    /**
+     * Hidden constructor.
+     */
+    private ExpressionTokenizer() {
+
+    }
+
+    /**
+     * Skips spaces.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @return the index of the first character that is no space
+     */
+    static int skipSpaces(String expressionString, int index) {
+
+        while (index < expressionString.length() && expressionString.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+
+    }
+
+    /**
+     * Scans a single character token like an opening or closing brace.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @param character        the character to scan
+     * @return the end index of the token or -1 if the token isn't found at passed index
+     */
+    static int scanCharacter(String expressionString, int index, char character) {
+
+        index = skipSpaces(expressionString, index);
+        if (index >= expressionString.length() || expressionString.charAt(index) != character) {
+            return -1;
+        }
+        return skipSpaces(expressionString, index + 1);
+
+    }
+
+    /**
+     * Scans an unary operation.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @return the search result or null if no unary operation is found at passed index
+     */
+    static OperationTypeSearchResult scanUnaryOperationType(String expressionString, int index) {
+
+        int endIndex = scanCharacter(expressionString, index, '!');
+        return endIndex >= 0 ? new OperationTypeSearchResult(OperationType.NEGATE, index, endIndex) : null;
+
+    }
+
+    /**
+     * Scans a binary operation.
+     * Operations consisting of two characters take precedence over operations consisting of their first character.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @return the search result or null if no binary operation is found at passed index
+     */
+    static OperationTypeSearchResult scanBinaryOperationType(String expressionString, int index) {
+
+        int tokenIndex = skipSpaces(expressionString, index);
+        if (tokenIndex >= expressionString.length()) {
+            return null;
+        }
+
+        char nextCharacter = tokenIndex + 1 < expressionString.length() ? expressionString.charAt(tokenIndex + 1) : 0;
+
+        OperationType operationType;
+        int length = 1;
+
+        switch (expressionString.charAt(tokenIndex)) {
+            case '&': {
+                operationType = nextCharacter == '&' ? OperationType.AND : null;
+                length = 2;
+                break;
+            }
+            case '|': {
+                operationType = nextCharacter == '|' ? OperationType.OR : null;
+                length = 2;
+                break;
+            }
+            case '=': {
+                operationType = nextCharacter == '=' ? OperationType.EQUAL : null;
+                length = 2;
+                break;
+            }
+            case '!': {
+                operationType = nextCharacter == '=' ? OperationType.NOT_EQUAL : null;
+                length = 2;
+                break;
+            }
+            case '<': {
+                if (nextCharacter == '=') {
+                    operationType = OperationType.LESS_OR_EQUAL_THAN;
+                    length = 2;
+                } else {
+                    operationType = OperationType.LESS_THAN;
+                }
+                break;
+            }
+            case '>': {
+                if (nextCharacter == '=') {
+                    operationType = OperationType.GREATER_OR_EQUAL_THAN;
+                    length = 2;
+                } else {
+                    operationType = OperationType.GREATER_THAN;
+                }
+                break;
+            }
+            case '+': {
+                operationType = OperationType.ADDITION;
+                break;
+            }
+            case '-': {
+                operationType = OperationType.SUBTRACTION;
+                break;
+            }
+            case '*': {
+                operationType = OperationType.MULTIPLICATION;
+                break;
+            }
+            case '/': {
+                operationType = OperationType.DIVISION;
+                break;
+            }
+            default: {
+                operationType = null;
+            }
+        }
+
+        return operationType != null ? new OperationTypeSearchResult(operationType, index, skipSpaces(expressionString, tokenIndex + length)) : null;
+
+    }
+
+    /**
+     * Scans an operand - a number, a string literal, a boolean, null or a model path.
+     * Keywords are just detected if they aren't a prefix of a model path.
+     *
+     * @param expressionString the expression string
+     * @param index            the index to start at
+     * @return the search result or null if no operand is found at passed index
+     */
+    static OperandTypeSearchResult scanOperandType(String expressionString, int index) {
+
+        int tokenIndex = skipSpaces(expressionString, index);
+        if (tokenIndex >= expressionString.length()) {
+            return null;
+        }
+
+        char character = expressionString.charAt(tokenIndex);
+
+        OperandType operandType;
+        int tokenEndIndex;
+
+        if (isDigit(character) || (character == '-' && tokenIndex + 1 < expressionString.length() && isDigit(expressionString.charAt(tokenIndex + 1)))) {
+
+            tokenEndIndex = scanDigits(expressionString, tokenIndex + 1);
+            operandType = OperandType.LONG;
+
+            if (tokenEndIndex + 1 < expressionString.length() && expressionString.charAt(tokenEndIndex) == '.' && isDigit(expressionString.charAt(tokenEndIndex + 1))) {
+                tokenEndIndex = scanDigits(expressionString, tokenEndIndex + 1);
+                operandType = OperandType.DOUBLE;
+            }
+
+        } else if (character == '\'') {
+
+            tokenEndIndex = scanStringLiteral(expressionString, tokenIndex + 1);
+            operandType = OperandType.STRING;
+
+        } else if (isWordCharacter(character)) {
+
+            tokenEndIndex = scanModelPath(expressionString, tokenIndex);
+            operandType = getKeywordOperandType(expressionString, tokenIndex, tokenEndIndex);
+
+        } else {
+            return null;
+        }
+
+        return tokenEndIndex >= 0 ? new OperandTypeSearchResult(operandType, index, skipSpaces(expressionString, tokenEndIndex)) : null;
+
+    }
+
+    private static int scanDigits(String expressionString, int index) {
+
+        while (index < expressionString.length() && isDigit(expressionString.charAt(index))) {
+            index++;
+        }
+        return index;
+
+    }
+
+    /**
+     * Scans the rest of a string literal. Escaped characters (including escaped quotes) are skipped, line breaks aren't allowed.
+     *
+     * @param expressionString the expression string
+     * @param index            the index after the opening quote
+     * @return the index after the closing quote or -1 if the string literal isn't closed
+     */
+    private static int scanStringLiteral(String expressionString, int index) {
+
+        while (index < expressionString.length()) {
+
+            char character = expressionString.charAt(index);
+            if (isLineTerminator(character)) {
+                return -1;
+            } else if (character == '\'') {
+                return index + 1;
+            } else if (character == '\\') {
+                index++;
+                if (index < expressionString.length() && isLineTerminator(expressionString.charAt(index))) {
+                    return -1;
+                }
+            }
+            index++;
+
+        }
+
+        return -1;
+
+    }
+
+    private static int scanModelPath(String expressionString, int index) {
+
+        while (true) {
+
+            while (index < expressionString.length() && isWordCharacter(expressionString.charAt(index))) {
+                index++;
+            }
+
+            // path tokens are separated by a dot
+            if (index + 1 < expressionString.length() && expressionString.charAt(index) == '.' && isWordCharacter(expressionString.charAt(index + 1))) {
+                index++;
+            } else {
+                return index;
+            }
+
+        }
+
+    }
+
+    private static OperandType getKeywordOperandType(String expressionString, int startIndex, int endIndex) {
+
+        int length = endIndex - startIndex;
+        if ((length == 4 && expressionString.startsWith("true", startIndex)) || (length == 5 && expressionString.startsWith("false", startIndex))) {
+            return OperandType.BOOLEAN;
+        } else if (length == 4 && expressionString.startsWith("null", startIndex)) {
+            return OperandType.NULL_VALUE;
+        }
+        return OperandType.DYNAMIC_VALUE;
+
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static boolean isWordCharacter(char character) {
+        return isDigit(character) || (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || character == '_';
+    }
+
+    private static boolean isLineTerminator(char character) {
+        return character == '\n' || character == '\r' || character == '\u0085' || character == LINE_SEPARATOR || character == PARAGRAPH_SEPARATOR;
+    }
+
+}
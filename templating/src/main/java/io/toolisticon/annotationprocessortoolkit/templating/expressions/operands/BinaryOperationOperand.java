@@ -0,0 +1,119 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeMode;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Node of the expression tree that applies a binary operation on two operands.
+ * <p/>
+ * Instances are immutable, so they can be evaluated multiple times and by multiple threads.
+ * The right operand is evaluated lazily: it isn't evaluated at all if the evaluated left operand already determines the result (see {@link OperationType#getShortCircuitResult(Operand)}).
+ */
+public class BinaryOperationOperand extends Operand<Object> {
+
+    private final OperationType binaryOperationType;
+    private final Operand leftOperand;
+    private final Operand rightOperand;
+
+    public BinaryOperationOperand(OperationType binaryOperationType, Operand leftOperand, Operand rightOperand) {
+        super();
+
+        if (binaryOperationType == null) {
+            throw new IllegalArgumentException("binaryOperationType must not be null");
+        }
+        if (binaryOperationType.getOperationTypeMode() != OperationTypeMode.BINARY) {
+            throw new IllegalArgumentException("binaryOperationType must be a binary operation type");
+        }
+        if (leftOperand == null || rightOperand == null) {
+            throw new IllegalArgumentException("operands must not be null");
+        }
+
+        this.binaryOperationType = binaryOperationType;
+        this.leftOperand = leftOperand;
+        this.rightOperand = rightOperand;
+
+    }
+
+    @Override
+    public Class<Object> getOperandsJavaType() {
+        return evaluate().getOperandsJavaType();
+    }
+
+    @Override
+    public Object value() {
+        return evaluate().value();
+    }
+
+    @Override
+    public OperandType getOperandType() {
+        return OperandType.OPERATION_RESULT;
+    }
+
+    @Override
+    public boolean isConstant() {
+
+        if (!leftOperand.isConstant()) {
+            return false;
+        }
+        if (rightOperand.isConstant()) {
+            return true;
+        }
+
+        // short-circuiting operations don't depend on the right operand if the left operand determines the result
+        try {
+            return binaryOperationType.getShortCircuitResult(leftOperand.evaluate(null)) != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+    }
+
+    @Override
+    public Operand specialize(Map<String, Object> staticModel) {
+
+        Operand specializedLeftOperand = leftOperand.specialize(staticModel);
+        Operand specializedRightOperand = rightOperand.specialize(staticModel);
+
+        if (specializedLeftOperand == leftOperand && specializedRightOperand == rightOperand) {
+            return this;
+        }
+        return new BinaryOperationOperand(binaryOperationType, specializedLeftOperand, specializedRightOperand).fold();
+
+    }
+
+    @Override
+    public void collectModelPaths(Collection<String> modelPaths) {
+        leftOperand.collectModelPaths(modelPaths);
+        rightOperand.collectModelPaths(modelPaths);
+    }
+
+    @Override
+    public Operand evaluate(Map<String, Object> model) {
+
+        Operand evaluatedLeftOperand = leftOperand.evaluate(model);
+
+        Operand shortCircuitResult = binaryOperationType.getShortCircuitResult(evaluatedLeftOperand);
+        if (shortCircuitResult != null) {
+            return shortCircuitResult;
+        }
+
+        return binaryOperationType.doOperation(evaluatedLeftOperand, rightOperand.evaluate(model));
+
+    }
+
+    public OperationType getBinaryOperationType() {
+        return binaryOperationType;
+    }
+
+    public Operand getLeftOperand() {
+        return leftOperand;
+    }
+
+    public Operand getRightOperand() {
+        return rightOperand;
+    }
+
+}
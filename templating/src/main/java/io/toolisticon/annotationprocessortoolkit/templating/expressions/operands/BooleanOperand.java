@@ -6,8 +6,12 @@ package io.toolisticon.annotationprocessortoolkit.templating.expressions.operand
  */
 public class BooleanOperand extends ParsedOperand<Boolean> {
 
+    private final Boolean value;
+
     public BooleanOperand(String expressionString) {
         super(expressionString);
+
+        this.value = Boolean.valueOf(getExpressionString());
     }
 
 
@@ -18,7 +22,12 @@ public class BooleanOperand extends ParsedOperand<Boolean> {
 
     @Override
     public Boolean value() {
-        return Boolean.valueOf(getExpressionString());
+        return value;
+    }
+
+    @Override
+    public boolean isConstant() {
+        return true;
     }
 
     @Override
@@ -4,13 +4,17 @@ package io.toolisticon.annotationprocessortoolkit.templating.expressions.operand
 /**
  * Floating point based operand.
  *
- * Uses Double.valueOf to get value from expression.
+ * Uses Double.valueOf to get value from expression. Value is parsed just once.
  */
 public class DoubleOperand extends ParsedOperand<Double> {
 
+    private final Double value;
+
     public DoubleOperand( String expressionString) {
         super( expressionString);
 
+        this.value = Double.valueOf(getExpressionString());
+
     }
 
     @Override
@@ -20,7 +24,12 @@ public class DoubleOperand extends ParsedOperand<Double> {
 
     @Override
     public Double value() {
-        return Double.valueOf(getExpressionString());
+        return value;
+    }
+
+    @Override
+    public boolean isConstant() {
+        return true;
     }
 
     @Override
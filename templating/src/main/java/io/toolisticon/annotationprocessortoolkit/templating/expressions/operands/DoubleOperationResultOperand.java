@@ -0,0 +1,37 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
+
+/**
+ * Used to hold a floating point operation result as primitive double value.
+ */
+public class DoubleOperationResultOperand extends NumericOperationResultOperand<Double> {
+
+    private final double value;
+
+    public DoubleOperationResultOperand(double value) {
+        super();
+
+        this.value = value;
+
+    }
+
+    @Override
+    public Class<Double> getOperandsJavaType() {
+        return Double.class;
+    }
+
+    @Override
+    public Double value() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return (long) value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+}
@@ -1,24 +1,30 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
 
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPath;
 import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
 
+import java.util.Collection;
+import java.util.Map;
+
 
 /**
  * Dynamic operand queried from models.
  */
 public class DynamicOperand extends ParsedOperand<Object> {
 
-    private Object value;
+    private final ModelPath modelPath;
 
     public DynamicOperand(String expressionString) {
         super(expressionString);
 
+        this.modelPath = new ModelPath(getExpressionString());
+
     }
 
     @Override
     public Class<Object> getOperandsJavaType() {
 
-        ModelPathResolver.ResolvedModelPathResult result = ModelPathResolver.resolveModelPath(ModelPathResolver.modelMapThreadLocal.get(), getExpressionString());
+        ModelPathResolver.ResolvedModelPathResult result = modelPath.resolve(ModelPathResolver.modelMapThreadLocal.get());
 
         // result cannot be null
         return result.getType();
@@ -28,13 +34,50 @@ public class DynamicOperand extends ParsedOperand<Object> {
     @Override
     public Object value() {
 
-        ModelPathResolver.ResolvedModelPathResult result = ModelPathResolver.resolveModelPath(ModelPathResolver.modelMapThreadLocal.get(), getExpressionString());
+        ModelPathResolver.ResolvedModelPathResult result = modelPath.resolve(ModelPathResolver.modelMapThreadLocal.get());
 
         // result cannot be null
         return result.getValue();
 
     }
 
+    /**
+     * Resolves the model path against the passed model.
+     *
+     * @param model the model
+     * @return an operand that holds the resolved value and type
+     */
+    @Override
+    public Operand evaluate(Map<String, Object> model) {
+
+        ModelPathResolver.ResolvedModelPathResult result = modelPath.resolve(model);
+
+        // result cannot be null
+        return OperandFactory.createOperationResult(result.getType(), result.getValue());
+
+    }
+
+    @Override
+    public Operand specialize(Map<String, Object> staticModel) {
+
+        if (!staticModel.containsKey(modelPath.getPathTokens()[0])) {
+            return this;
+        }
+
+        try {
+            return evaluate(staticModel);
+        } catch (RuntimeException e) {
+            // keep operand, so error is reported when rendering
+            return this;
+        }
+
+    }
+
+    @Override
+    public void collectModelPaths(Collection<String> modelPaths) {
+        modelPaths.add(modelPath.getPath());
+    }
+
     @Override
     public OperandType getOperandType() {
         return OperandType.DYNAMIC_VALUE;
@@ -2,6 +2,9 @@ package io.toolisticon.annotationprocessortoolkit.templating.expressions.operand
 
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Expression Based Operand.
  */
@@ -9,8 +12,6 @@ public class ExpressionOperand extends ParsedOperand<Object> {
 
     private final Expression expression;
 
-    private Operand calculatedExpressionOperand;
-
     public ExpressionOperand( String expressionString, Expression expression) {
         super( expressionString);
 
@@ -36,11 +37,35 @@ public class ExpressionOperand extends ParsedOperand<Object> {
         return OperandType.EXPRESSION;
     }
 
-    private Operand calculateExpression() {
-        if (this.calculatedExpressionOperand == null) {
-            this.calculatedExpressionOperand = expression.evaluateExpression();
+    @Override
+    public boolean isConstant() {
+        return expression.getOperandTree().isConstant();
+    }
+
+    @Override
+    public Operand specialize(Map<String, Object> staticModel) {
+
+        Expression specializedExpression = expression.specialize(staticModel);
+
+        if (specializedExpression == expression) {
+            return this;
         }
-        return calculatedExpressionOperand;
+        return new ExpressionOperand(getExpressionString(), specializedExpression).fold();
+
+    }
+
+    @Override
+    public void collectModelPaths(Collection<String> modelPaths) {
+        expression.getOperandTree().collectModelPaths(modelPaths);
+    }
+
+    @Override
+    public Operand evaluate(Map<String, Object> model) {
+        return expression.evaluateExpression(model);
+    }
+
+    private Operand calculateExpression() {
+        return expression.evaluateExpression();
     }
 
 }
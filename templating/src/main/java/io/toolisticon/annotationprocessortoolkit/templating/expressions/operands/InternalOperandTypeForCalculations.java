@@ -18,9 +18,11 @@ public enum InternalOperandTypeForCalculations {
     OBJECT;
 
     private final Class[] supportedTypes;
+    private final Set<Class> supportedTypeSet;
 
     InternalOperandTypeForCalculations(Class... supportedTypes) {
         this.supportedTypes = supportedTypes;
+        this.supportedTypeSet = new HashSet<Class>(Arrays.asList(supportedTypes));
     }
 
     public Class[] getSupportedTypes() {
@@ -33,7 +35,7 @@ public enum InternalOperandTypeForCalculations {
             return false;
         }
 
-        return getSupportedOperandModeClasses(this).contains(type);
+        return supportedTypeSet.contains(type);
     }
 
     public static Set<Class> getSupportedOperandModeClasses(InternalOperandTypeForCalculations... internalOperandTypeForCalculationses) {
@@ -57,8 +59,23 @@ public enum InternalOperandTypeForCalculations {
     public static InternalOperandTypeForCalculations getOperationModeForOperand(Operand operand) {
 
         if (operand != null) {
+            return getOperationModeForType(operand.getOperandsJavaType());
+        }
+
+        return OBJECT;
+    }
+
+    /**
+     * Gets the operand mode for a java type.
+     *
+     * @param type the java type
+     * @return the operand mode, OBJECT for unsupported types
+     */
+    public static InternalOperandTypeForCalculations getOperationModeForType(Class type) {
+
+        if (type != null) {
             for (InternalOperandTypeForCalculations internalOperandTypeForCalculations : InternalOperandTypeForCalculations.values()) {
-                if (internalOperandTypeForCalculations.isSupportedType(operand.getOperandsJavaType())) {
+                if (internalOperandTypeForCalculations.isSupportedType(type)) {
                     return internalOperandTypeForCalculations;
                 }
             }
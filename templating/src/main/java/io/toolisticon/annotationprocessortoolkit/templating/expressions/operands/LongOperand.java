@@ -1,13 +1,18 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
 
 /**
- * String based operand.
+ * Decimal based operand.
+ * Value is parsed just once via Long.valueOf.
  */
 public class LongOperand extends ParsedOperand<Long> {
 
+    private final Long value;
+
     public LongOperand(String expressionString) {
         super(expressionString);
 
+        this.value = Long.valueOf(getExpressionString());
+
     }
 
     @Override
@@ -17,7 +22,12 @@ public class LongOperand extends ParsedOperand<Long> {
 
     @Override
     public Long value() {
-        return Long.valueOf(getExpressionString());
+        return value;
+    }
+
+    @Override
+    public boolean isConstant() {
+        return true;
     }
 
     @Override
@@ -0,0 +1,37 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
+
+/**
+ * Used to hold a decimal operation result as primitive long value.
+ */
+public class LongOperationResultOperand extends NumericOperationResultOperand<Long> {
+
+    private final long value;
+
+    public LongOperationResultOperand(long value) {
+        super();
+
+        this.value = value;
+
+    }
+
+    @Override
+    public Class<Long> getOperandsJavaType() {
+        return Long.class;
+    }
+
+    @Override
+    public Long value() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+}
@@ -22,6 +22,11 @@ public class NullValueOperand extends ParsedOperand<Object> {
         return null;
     }
 
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
     @Override
     public OperandType getOperandType() {
         return OperandType.NULL_VALUE;
@@ -0,0 +1,34 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
+
+/**
+ * Base class for numeric operation results that hold their value as primitive.
+ * <p/>
+ * Allows operations to read the values of intermediate results without boxing them.
+ */
+public abstract class NumericOperationResultOperand<T extends Number> extends Operand<T> {
+
+    /**
+     * Gets the value as primitive long value.
+     *
+     * @return the value
+     */
+    public abstract long longValue();
+
+    /**
+     * Gets the value as primitive double value.
+     *
+     * @return the value
+     */
+    public abstract double doubleValue();
+
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    @Override
+    public OperandType getOperandType() {
+        return OperandType.OPERATION_RESULT;
+    }
+
+}
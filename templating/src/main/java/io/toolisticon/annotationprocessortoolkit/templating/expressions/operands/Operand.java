@@ -1,5 +1,9 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
 
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+
+import java.util.Collection;
+import java.util.Map;
 
 public abstract class Operand<T> {
 
@@ -31,6 +35,81 @@ public abstract class Operand<T> {
     public abstract T value();
 
 
+    /**
+     * Checks whether the operand doesn't depend on a model.
+     * Literal operands and operation results are constant, operations and sub expressions are constant if all of their operands are constant.
+     *
+     * @return true if the operand is constant, otherwise false
+     */
+    public boolean isConstant() {
+        return false;
+    }
+
+    /**
+     * Replaces a constant operand by its result.
+     * Operands whose evaluation fails are kept, so errors are still reported when rendering.
+     *
+     * @return the result of the operand if it is constant, otherwise this operand
+     */
+    public Operand fold() {
+
+        if (!isConstant()) {
+            return this;
+        }
+
+        try {
+            return evaluate(null);
+        } catch (RuntimeException e) {
+            return this;
+        }
+
+    }
+
+    /**
+     * Partially evaluates the operand against a static model.
+     * Operands that just depend on the static model are replaced by their results.
+     *
+     * @param staticModel the static part of the model
+     * @return the specialized operand or this operand if nothing could be specialized
+     */
+    public Operand specialize(Map<String, Object> staticModel) {
+        return this;
+    }
+
+    /**
+     * Collects the access paths of all dynamic operands that are read when the operand is evaluated.
+     *
+     * @param modelPaths the collection to add the access paths to
+     */
+    public void collectModelPaths(Collection<String> modelPaths) {
+
+    }
+
+    /**
+     * Evaluates the operand against the model bound to the current thread via {@link ModelPathResolver#modelMapThreadLocal}.
+     *
+     * @return the evaluated operand
+     * @see #evaluate(Map)
+     */
+    public Operand evaluate() {
+        return evaluate(ModelPathResolver.modelMapThreadLocal.get());
+    }
+
+    /**
+     * Evaluates the operand against the passed model.
+     * Operands that are composed of other operands (like sub expressions or operations) and dynamic operands return an operand that holds the calculated result.
+     * All other operands return themselves.
+     * <p/>
+     * Evaluation doesn't depend on any thread bound state, so operands can be evaluated by multiple threads concurrently.
+     *
+     * @param model the model to use for resolving of dynamic operands
+     * @return the evaluated operand
+     */
+    public Operand evaluate(Map<String, Object> model) {
+        return this;
+    }
+
+
     /**
      * Gets a String representation of all operand types of the passed Operands array.
      *
@@ -76,10 +76,44 @@ public class OperandFactory {
     }
 
 
+    private static final OperationResultOperand TRUE_OPERATION_RESULT = new OperationResultOperand((Class) Boolean.class, Boolean.TRUE);
+    private static final OperationResultOperand FALSE_OPERATION_RESULT = new OperationResultOperand((Class) Boolean.class, Boolean.FALSE);
+
     public static OperationResultOperand createOperationResult(Class type, Object value) {
         return new OperationResultOperand(type, value);
     }
 
+    /**
+     * Creates a boolean operation result.
+     * Returns shared instances, since operation results are immutable.
+     *
+     * @param value the result value
+     * @return the operation result operand
+     */
+    public static OperationResultOperand createOperationResult(boolean value) {
+        return value ? TRUE_OPERATION_RESULT : FALSE_OPERATION_RESULT;
+    }
+
+    /**
+     * Creates a decimal operation result that holds the value as primitive.
+     *
+     * @param value the result value
+     * @return the operation result operand
+     */
+    public static LongOperationResultOperand createOperationResult(long value) {
+        return new LongOperationResultOperand(value);
+    }
+
+    /**
+     * Creates a floating point operation result that holds the value as primitive.
+     *
+     * @param value the result value
+     * @return the operation result operand
+     */
+    public static DoubleOperationResultOperand createOperationResult(double value) {
+        return new DoubleOperationResultOperand(value);
+    }
+
     public static UnaryOperationWrapperOperand createUnaryOperand(Operand operand, OperationType operationType) {
         return new UnaryOperationWrapperOperand(operand, operationType);
     }
@@ -16,14 +16,33 @@ public enum OperandType {
     EXPRESSION(null);
 
 
-    private final String regExpr;
+    private static final OperandType[] PATTERN_BASED_OPERAND_TYPES;
+
+    static {
+        List<OperandType> resultList = new ArrayList<OperandType>();
+
+        for (OperandType operandType : values()) {
+            if (operandType.getOperandPattern() != null) {
+                resultList.add(operandType);
+            }
+        }
+
+        PATTERN_BASED_OPERAND_TYPES = resultList.toArray(new OperandType[resultList.size()]);
+    }
+
+    private final Pattern operandPattern;
 
     private OperandType(String regExpr) {
-        this.regExpr = regExpr != null ? "[ ]*" + regExpr + "[ ]*" : null;
+        this.operandPattern = regExpr != null ? Pattern.compile("[ ]*" + regExpr + "[ ]*") : null;
     }
 
+    /**
+     * Gets the pattern of the operand type. The pattern is compiled once.
+     *
+     * @return the pattern or null for operand types that aren't parsed
+     */
     public Pattern getOperandPattern() {
-        return regExpr != null ? Pattern.compile(regExpr) : null;
+        return operandPattern;
     }
 
     public static OperandType getOperandType(String operandString) {
@@ -44,15 +63,7 @@ public enum OperandType {
     }
 
     public static OperandType[] getPatternBasedOperandTypes() {
-        List<OperandType> resultList = new ArrayList<OperandType>();
-
-        for (OperandType operandType : values()) {
-            if (operandType.getOperandPattern() != null) {
-                resultList.add(operandType);
-            }
-        }
-
-        return resultList.toArray(new OperandType[resultList.size()]);
+        return PATTERN_BASED_OPERAND_TYPES.clone();
     }
 
 }
@@ -26,6 +26,11 @@ public class OperationResultOperand extends Operand<Object> {
         return value;
     }
 
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
     @Override
     public OperandType getOperandType() {
         return OperandType.OPERATION_RESULT;
@@ -44,6 +44,11 @@ public class StringOperand extends ParsedOperand<String> {
         return internalValue;
     }
 
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
     @Override
     public OperandType getOperandType() {
         return OperandType.STRING;
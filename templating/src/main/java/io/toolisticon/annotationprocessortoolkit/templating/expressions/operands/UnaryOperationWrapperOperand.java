@@ -3,6 +3,9 @@ package io.toolisticon.annotationprocessortoolkit.templating.expressions.operand
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeMode;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * A wrapper for unary operations.
  */
@@ -11,8 +14,6 @@ public class UnaryOperationWrapperOperand extends Operand<Object> {
     private final Operand operand;
     private final OperationType unaryOperationType;
 
-    private Operand resultOperand = null;
-
     public UnaryOperationWrapperOperand(Operand operand, OperationType unaryOperationType) {
         super();
 
@@ -31,22 +32,12 @@ public class UnaryOperationWrapperOperand extends Operand<Object> {
 
     @Override
     public Class<Object> getOperandsJavaType() {
-
-        if (resultOperand == null) {
-            calculateResultOperand();
-        }
-
-        return resultOperand.getOperandsJavaType();
+        return calculateResultOperand().getOperandsJavaType();
     }
 
     @Override
     public Object value() {
-
-        if (resultOperand == null) {
-            calculateResultOperand();
-        }
-
-        return resultOperand.value();
+        return calculateResultOperand().value();
     }
 
     @Override
@@ -54,10 +45,42 @@ public class UnaryOperationWrapperOperand extends Operand<Object> {
         return OperandType.OPERATION_RESULT;
     }
 
-    private void calculateResultOperand() {
+    @Override
+    public boolean isConstant() {
+        return operand != null && operand.isConstant();
+    }
+
+    @Override
+    public Operand specialize(Map<String, Object> staticModel) {
+
+        Operand specializedOperand = operand != null ? operand.specialize(staticModel) : null;
+
+        if (specializedOperand == operand) {
+            return this;
+        }
+        return new UnaryOperationWrapperOperand(specializedOperand, unaryOperationType).fold();
 
+    }
 
-        resultOperand = unaryOperationType.doOperation(operand);
+    @Override
+    public void collectModelPaths(Collection<String> modelPaths) {
+        if (operand != null) {
+            operand.collectModelPaths(modelPaths);
+        }
+    }
+
+    @Override
+    public Operand evaluate(Map<String, Object> model) {
+        return unaryOperationType.doOperation(operand != null ? operand.evaluate(model) : null);
+    }
 
+    /**
+     * Applies the unary operation on the wrapped operand.
+     * Result isn't cached, because wrapped operand may be based on a model value.
+     *
+     * @return the result of the unary operation
+     */
+    public Operand calculateResultOperand() {
+        return evaluate();
     }
 }
@@ -1,6 +1,7 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operations;
 
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.InternalOperandTypeForCalculations;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.NumericOperationResultOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandFactory;
 
@@ -27,7 +28,7 @@ public enum OperationType {
             // must be done after the base check !
             Operand operand = operands[0];
 
-            return OperandFactory.createOperationResult(Boolean.class, !((Boolean) operand.value()));
+            return OperandFactory.createOperationResult(!((Boolean) operand.value()));
 
         }
     },
@@ -42,9 +43,14 @@ public enum OperationType {
             Operand operand1 = operands[0];
             Operand operand2 = operands[1];
 
-            return OperandFactory.createOperationResult(Boolean.class, (Boolean) operand1.value() && (Boolean) operand2.value());
+            return OperandFactory.createOperationResult((Boolean) operand1.value() && (Boolean) operand2.value());
 
         }
+
+        @Override
+        public Operand getShortCircuitResult(Operand leftOperand) {
+            return Boolean.FALSE.equals(leftOperand.value()) ? OperandFactory.createOperationResult(false) : null;
+        }
     },
     OR("[|]{2}", 85, OperationTypeMode.BINARY, InternalOperandTypeForCalculations.BOOLEAN) {
         @Override
@@ -57,10 +63,15 @@ public enum OperationType {
             Operand operand1 = operands[0];
             Operand operand2 = operands[1];
 
-            return OperandFactory.createOperationResult(Boolean.class, (Boolean) operand1.value() || (Boolean) operand2.value());
+            return OperandFactory.createOperationResult((Boolean) operand1.value() || (Boolean) operand2.value());
 
         }
 
+        @Override
+        public Operand getShortCircuitResult(Operand leftOperand) {
+            return Boolean.TRUE.equals(leftOperand.value()) ? OperandFactory.createOperationResult(true) : null;
+        }
+
     },
     EQUAL("[=]{2}", 70, OperationTypeMode.BINARY) {
         @Override
@@ -89,10 +100,10 @@ public enum OperationType {
                     )
                     ) {
 
-                operand1 = OperandFactory.createOperationResult(Double.class, convertToDouble(operand1));
-                operand2 = OperandFactory.createOperationResult(Double.class, convertToDouble(operand2));
-                internalOperandTypeForCalculations1 = InternalOperandTypeForCalculations.getOperationModeForOperand(operand1);
-                internalOperandTypeForCalculations2 = InternalOperandTypeForCalculations.getOperationModeForOperand(operand2);
+                operand1 = OperandFactory.createOperationResult(toDoubleValue(operand1));
+                operand2 = OperandFactory.createOperationResult(toDoubleValue(operand2));
+                internalOperandTypeForCalculations1 = InternalOperandTypeForCalculations.FLOAT;
+                internalOperandTypeForCalculations2 = InternalOperandTypeForCalculations.FLOAT;
 
             }
 
@@ -104,26 +115,30 @@ public enum OperationType {
             }
 
 
-            if (operand1.value() == null && operand2.value() == null) {
+            boolean operand1IsNull = isNullValued(operand1);
+            boolean operand2IsNull = isNullValued(operand2);
+
+            if (operand1IsNull && operand2IsNull) {
                 result = true;
-            } else if ((operand1.value() == null && operand2.value() != null) || (operand1.value() != null && operand2.value() == null)) {
+            } else if (operand1IsNull || operand2IsNull) {
                 result = false;
             } else {
 
                 if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) && InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
-                    Double operand1Value = convertToDouble(operand1);
-                    Double operand2Value = convertToDouble(operand2);
+                    // same semantics like Double.equals
+                    double operand1Value = toDoubleValue(operand1);
+                    double operand2Value = toDoubleValue(operand2);
 
-                    result = operand1Value.equals(operand2Value);
+                    result = Double.doubleToLongBits(operand1Value) == Double.doubleToLongBits(operand2Value);
 
                 } else if (InternalOperandTypeForCalculations.DECIMAL.equals(internalOperandTypeForCalculations1) && InternalOperandTypeForCalculations.DECIMAL.equals(internalOperandTypeForCalculations2)) {
 
                     // do decimal based operation
-                    Long operand1Value = convertToLong(operand1);
-                    Long operand2Value = convertToLong(operand2);
+                    long operand1Value = toLongValue(operand1);
+                    long operand2Value = toLongValue(operand2);
 
-                    result = operand1Value.equals(operand2Value);
+                    result = operand1Value == operand2Value;
 
                 } else {
                     result = operand1.value().equals(operand2.value());
@@ -132,7 +147,7 @@ public enum OperationType {
             }
 
 
-            return OperandFactory.createOperationResult(Boolean.class, result);
+            return OperandFactory.createOperationResult(result);
 
         }
     },
@@ -163,18 +178,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value <= operand2Value);
+                return OperandFactory.createOperationResult(operand1Value <= operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value <= operand2Value);
+                return OperandFactory.createOperationResult(operand1Value <= operand2Value);
 
             }
 
@@ -198,18 +213,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value >= operand2Value);
+                return OperandFactory.createOperationResult(operand1Value >= operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value >= operand2Value);
+                return OperandFactory.createOperationResult(operand1Value >= operand2Value);
 
             }
 
@@ -234,18 +249,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value < operand2Value);
+                return OperandFactory.createOperationResult(operand1Value < operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value < operand2Value);
+                return OperandFactory.createOperationResult(operand1Value < operand2Value);
 
             }
 
@@ -269,18 +284,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value > operand2Value);
+                return OperandFactory.createOperationResult(operand1Value > operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Boolean.class, operand1Value > operand2Value);
+                return OperandFactory.createOperationResult(operand1Value > operand2Value);
 
             }
 
@@ -312,18 +327,18 @@ public enum OperationType {
             } else if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Double.class, operand1Value + operand2Value);
+                return OperandFactory.createOperationResult(operand1Value + operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Long.class, operand1Value + operand2Value);
+                return OperandFactory.createOperationResult(operand1Value + operand2Value);
 
             }
 
@@ -347,18 +362,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Double.class, operand1Value - operand2Value);
+                return OperandFactory.createOperationResult(operand1Value - operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Long.class, operand1Value - operand2Value);
+                return OperandFactory.createOperationResult(operand1Value - operand2Value);
 
             }
 
@@ -382,18 +397,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Double.class, operand1Value * operand2Value);
+                return OperandFactory.createOperationResult(operand1Value * operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Long.class, operand1Value * operand2Value);
+                return OperandFactory.createOperationResult(operand1Value * operand2Value);
 
             }
 
@@ -417,18 +432,18 @@ public enum OperationType {
             if (InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations1) || InternalOperandTypeForCalculations.FLOAT.equals(internalOperandTypeForCalculations2)) {
 
                 // do floating point based operation
-                Double operand1Value = convertToDouble(operand1);
-                Double operand2Value = convertToDouble(operand2);
+                double operand1Value = toDoubleValue(operand1);
+                double operand2Value = toDoubleValue(operand2);
 
-                return OperandFactory.createOperationResult(Double.class, operand1Value / operand2Value);
+                return OperandFactory.createOperationResult(operand1Value / operand2Value);
 
             } else {
 
                 // do decimal based operation
-                Long operand1Value = convertToLong(operand1);
-                Long operand2Value = convertToLong(operand2);
+                long operand1Value = toLongValue(operand1);
+                long operand2Value = toLongValue(operand2);
 
-                return OperandFactory.createOperationResult(Long.class, operand1Value / operand2Value);
+                return OperandFactory.createOperationResult(operand1Value / operand2Value);
 
             }
 
@@ -542,6 +557,18 @@ public enum OperationType {
      */
     public abstract Operand doOperation(Operand... operands);
 
+    /**
+     * Gets the result of a binary operation that is already determined by its evaluated left operand.
+     * The right operand mustn't be evaluated if a result is returned.
+     * Just AND and OR short-circuit, like they do in Java.
+     *
+     * @param leftOperand the evaluated left operand
+     * @return the result of the operation or null if the right operand must be evaluated
+     */
+    public Operand getShortCircuitResult(Operand leftOperand) {
+        return null;
+    }
+
     /**
      * This method is used to do some base checks that must be done before most operations.
      * <p/>
@@ -575,7 +602,7 @@ public enum OperationType {
         // check operand values
         if (doNullCheck) {
             for (int i = 0; i < operationType.getOperationTypeMode().getNumberOfOperands(); i++) {
-                if (operands[i].value() == null) {
+                if (isNullValued(operands[i])) {
                     throw new IllegalArgumentException("passed operand values must not be null");
                 }
             }
@@ -594,6 +621,47 @@ public enum OperationType {
     }
 
 
+    /**
+     * Checks if the value of an operand is null.
+     * Avoids boxing of primitive operation results.
+     *
+     * @param operand the operand to check
+     * @return true if the operands value is null, otherwise false
+     */
+    protected static boolean isNullValued(Operand operand) {
+        return !(operand instanceof NumericOperationResultOperand) && operand.value() == null;
+    }
+
+    /**
+     * Used to get the primitive long value of a decimal operand without boxing.
+     *
+     * @param operand the operand - must be of a supported decimal type
+     * @return the long value
+     */
+    protected static long toLongValue(Operand operand) {
+
+        if (operand instanceof NumericOperationResultOperand) {
+            return ((NumericOperationResultOperand) operand).longValue();
+        }
+
+        return ((Number) operand.value()).longValue();
+    }
+
+    /**
+     * Used to get the primitive double value of a decimal or floating point operand without boxing.
+     *
+     * @param operand the operand - must be of a supported decimal or floating point type
+     * @return the double value
+     */
+    protected static double toDoubleValue(Operand operand) {
+
+        if (operand instanceof NumericOperationResultOperand) {
+            return ((NumericOperationResultOperand) operand).doubleValue();
+        }
+
+        return ((Number) operand.value()).doubleValue();
+    }
+
     /**
      * Converts an operand to a String value by using it's toString method.
      *
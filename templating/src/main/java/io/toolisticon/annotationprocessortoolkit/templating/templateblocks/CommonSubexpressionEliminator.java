@@ -0,0 +1,145 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects expressions of variable text and IF blocks that occur multiple times in a template.
+ * <p/>
+ * All occurrences of such an expression are replaced by a single {@link SharedExpression}, which is evaluated once per scope frame while rendering.
+ * Expressions are considered identical if their expression strings and the model paths they read are equal.
+ */
+public final class CommonSubexpressionEliminator {
+
+    /**
+     * Hidden constructor.
+     */
+    private CommonSubexpressionEliminator() {
+
+    }
+
+    /**
+     * Replaces expressions that occur multiple times in a binder and its nested FOR and IF blocks by shared expressions.
+     *
+     * @param binder the binder to process
+     * @return the processed binder or the passed binder if it contains no common subexpressions
+     */
+    public static TemplateBlockBinder eliminate(TemplateBlockBinder binder) {
+
+        if (binder == null) {
+            throw new IllegalArgumentException("passed binder must not be null");
+        }
+
+        Map<String, Integer> occurrences = new HashMap<String, Integer>();
+        countOccurrences(binder, occurrences);
+
+        Map<String, SharedExpression> sharedExpressions = new HashMap<String, SharedExpression>();
+        for (Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+            if (entry.getValue() > 1) {
+                sharedExpressions.put(entry.getKey(), null);
+            }
+        }
+
+        return !sharedExpressions.isEmpty() ? replace(binder, sharedExpressions) : binder;
+
+    }
+
+    private static String getKey(String expressionString, Expression expression) {
+        return expressionString.trim() + "|" + expression.getModelPaths();
+    }
+
+    private static void countOccurrences(TemplateBlockBinder binder, Map<String, Integer> occurrences) {
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case DYNAMIC_TEXT: {
+                    VariableTextTemplateBlock variableTextTemplateBlock = (VariableTextTemplateBlock) templateBlock;
+                    countOccurrence(getKey(variableTextTemplateBlock.getAccessPath(), variableTextTemplateBlock.getExpression()), occurrences);
+                    break;
+                }
+                case IF: {
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    countOccurrence(getKey(ifTemplateBlock.getAccessPath(), ifTemplateBlock.getExpression()), occurrences);
+                    countOccurrences(ifTemplateBlock.getBinder(), occurrences);
+                    break;
+                }
+                case FOR: {
+                    countOccurrences(((ForTemplateBlock) templateBlock).getBinder(), occurrences);
+                    break;
+                }
+                default: {
+                    // other blocks don't contain expressions
+                }
+
+            }
+
+        }
+
+    }
+
+    private static void countOccurrence(String key, Map<String, Integer> occurrences) {
+        Integer count = occurrences.get(key);
+        occurrences.put(key, count != null ? count + 1 : 1);
+    }
+
+    private static Expression getSharedExpression(String expressionString, Expression expression, Map<String, SharedExpression> sharedExpressions) {
+
+        String key = getKey(expressionString, expression);
+        if (!sharedExpressions.containsKey(key)) {
+            return expression;
+        }
+
+        SharedExpression sharedExpression = sharedExpressions.get(key);
+        if (sharedExpression == null) {
+            sharedExpression = new SharedExpression(expression);
+            sharedExpressions.put(key, sharedExpression);
+        }
+        return sharedExpression;
+
+    }
+
+    private static TemplateBlockBinder replace(TemplateBlockBinder binder, Map<String, SharedExpression> sharedExpressions) {
+
+        TemplateBlockBinder result = new TemplateBlockBinder(null);
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case DYNAMIC_TEXT: {
+                    VariableTextTemplateBlock variableTextTemplateBlock = (VariableTextTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new VariableTextTemplateBlock(
+                            variableTextTemplateBlock.getAccessPath(),
+                            getSharedExpression(variableTextTemplateBlock.getAccessPath(), variableTextTemplateBlock.getExpression(), sharedExpressions)));
+                    break;
+                }
+                case IF: {
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new IfTemplateBlock(
+                            ifTemplateBlock,
+                            getSharedExpression(ifTemplateBlock.getAccessPath(), ifTemplateBlock.getExpression(), sharedExpressions),
+                            replace(ifTemplateBlock.getBinder(), sharedExpressions)));
+                    break;
+                }
+                case FOR: {
+                    ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new ForTemplateBlock(forTemplateBlock, replace(forTemplateBlock.getBinder(), sharedExpressions)));
+                    break;
+                }
+                default: {
+                    result.addTemplateBlock(templateBlock);
+                }
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+}
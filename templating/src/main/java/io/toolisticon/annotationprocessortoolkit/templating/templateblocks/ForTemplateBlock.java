@@ -1,32 +1,101 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
-import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPath;
 import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
 
-import java.util.Collection;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Used to handle for loops in templates.
+ * <p/>
+ * Loops iterate over arrays (including primitive arrays), Iterables, Iterators, Streams and Spliterators.
+ * Values are consumed lazily one by one, they are just materialized when a loop that isn't based on a List is rendered in parallel.
+ * <p/>
+ * Loops can be rendered in parallel by setting the optional named attribute parallel (for example '!{for value : model.values, parallel:'true'}').
+ * The values are split into chunks which are rendered concurrently, chunk outputs are written in their original order afterwards.
  */
 public class ForTemplateBlock implements TemplateBlock {
 
-    private final static Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\s*(\\w+?)\\s*[:]\\s*((?:\\w|[.])+?)\\s*");
+    private final static Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\s*(\\w+?)\\s*[:]\\s*((?:\\w|[.])+?)\\s*(?:,(.*))?");
+
+    final static String ATTRIBUTE_NAME_PARALLEL = "parallel";
+
+    /**
+     * Number of chunks per available thread used for parallel rendering - allows balancing of unevenly expensive chunks.
+     */
+    final static int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Lazily initialized pool used for parallel rendering.
+     */
+    private static class RenderPoolHolder {
+        private static final ForkJoinPool RENDER_POOL = new ForkJoinPool();
+    }
+
+    /**
+     * Renders a chunk of the loop values into a String.
+     */
+    private class RenderChunkTask extends RecursiveTask<String> {
+
+        private final Map<String, Object> outerVariables;
+        private final List<?> values;
+
+        private RenderChunkTask(Map<String, Object> outerVariables, List<?> values) {
+            this.outerVariables = outerVariables;
+            this.values = values;
+        }
+
+        @Override
+        protected String compute() {
+
+            StringBuilder chunkOutput = new StringBuilder();
+            try {
+                renderValues(outerVariables, values, chunkOutput);
+            } catch (IOException e) {
+                // StringBuilder never throws an IOException
+                throw new IllegalStateException("Cannot render chunk of FOR block", e);
+            }
+            return chunkOutput.toString();
+
+        }
+
+    }
 
 
     private final String loopVariableName;
     private final String accessPath;
-    private final String templateString;
+    private final ModelPath modelPath;
+    private final String sourceString;
+    private final int contentBeginIndex;
+    private final int contentEndIndex;
+    private final boolean parallel;
 
     private TemplateBlockBinder binder;
 
 
     public ForTemplateBlock(String attributeString, String templateString) {
+        this(attributeString, templateString, 0, templateString.length());
+    }
+
+    /**
+     * Creates a block whose body is a range of a template string.
+     * The body template string is just created on demand by {@link #getTemplateString()}.
+     *
+     * @param attributeString   the attribute string
+     * @param sourceString      the template string containing the body
+     * @param contentBeginIndex the begin index of the body
+     * @param contentEndIndex   the end index of the body
+     */
+    public ForTemplateBlock(String attributeString, String sourceString, int contentBeginIndex, int contentEndIndex) {
 
         if (attributeString == null || attributeString.trim().isEmpty()) {
             throw new IllegalArgumentException("for command has no attribute string.");
@@ -39,12 +108,34 @@ public class ForTemplateBlock implements TemplateBlock {
 
         this.loopVariableName = matcher.group(1);
         this.accessPath = matcher.group(2);
+        this.modelPath = new ModelPath(this.accessPath);
+        this.parallel = parseParallelAttribute(matcher.group(3));
+
+        this.sourceString = sourceString;
+        this.contentBeginIndex = contentBeginIndex;
+        this.contentEndIndex = contentEndIndex;
 
-        this.templateString = ParseUtilities.trimContentString(templateString);
 
+        binder = new TemplateBlockBinder(null);
 
-        binder = new TemplateBlockBinder(templateString);
+    }
 
+    /**
+     * Creates a copy of a FOR block with another binder.
+     * The body template string isn't kept, since the body is already parsed.
+     *
+     * @param forTemplateBlock the FOR block to copy
+     * @param binder           the binder of the copy
+     */
+    ForTemplateBlock(ForTemplateBlock forTemplateBlock, TemplateBlockBinder binder) {
+        this.loopVariableName = forTemplateBlock.loopVariableName;
+        this.accessPath = forTemplateBlock.accessPath;
+        this.modelPath = forTemplateBlock.modelPath;
+        this.sourceString = null;
+        this.contentBeginIndex = 0;
+        this.contentEndIndex = 0;
+        this.parallel = forTemplateBlock.parallel;
+        this.binder = binder;
     }
 
 
@@ -55,48 +146,100 @@ public class ForTemplateBlock implements TemplateBlock {
 
     @Override
     public String getContent(Map<String, Object> outerVariables) {
+        return RenderUtilities.renderToString(this, outerVariables);
+    }
 
-        Map<String, Object> variables = new HashMap<>();
-        variables.putAll(outerVariables);
+    @Override
+    public void render(Map<String, Object> outerVariables, Appendable out) throws IOException {
 
-        // get array or List
-        Object values = ModelPathResolver.resolveModelPath(outerVariables, accessPath).getValue();
+        Object values = modelPath.resolve(outerVariables).getValue();
+        Iterable<?> loopValues = RenderUtilities.getLoopValues(values, accessPath);
 
-        StringBuilder stringBuilder = new StringBuilder();
-        if (values != null) {
+        if (!parallel) {
+            renderValues(outerVariables, loopValues, out);
+            return;
+        }
 
+        // chunking needs indexed access
+        List<?> valueList = loopValues instanceof List ? (List<?>) loopValues : toList(loopValues);
+        if (valueList.size() > 1) {
+            renderInParallel(outerVariables, valueList, out);
+        } else {
+            renderValues(outerVariables, valueList, out);
+        }
 
-            if (values.getClass().isArray()) {
+    }
 
+    private static List<Object> toList(Iterable<?> values) {
 
-                for (Object value : (Object[]) values) {
+        List<Object> result = new ArrayList<Object>();
+        for (Object value : values) {
+            result.add(value);
+        }
+        return result;
 
-                    // now update variables
-                    variables.put(loopVariableName, value);
-                    stringBuilder.append(binder.getContent(variables));
+    }
 
-                }
+    private void renderValues(Map<String, Object> outerVariables, Iterable<?> loopValues, Appendable out) throws IOException {
 
-            } else if (values instanceof Collection) {
+        // loop variable shadows outer variables without copying them
+        VariableScope variables = new VariableScope(outerVariables);
 
-                for (Object value : (Collection) values) {
+        for (Object value : loopValues) {
 
-                    // now update variables
-                    variables.put(loopVariableName, value);
-                    stringBuilder.append(binder.getContent(variables));
+            // now update variables
+            variables.put(loopVariableName, value);
+            binder.render(variables, out);
 
-                }
+        }
 
-            } else {
-                throw new InvalidPathException("Unable to iterate over Type '" + values.getClass().getCanonicalName() + "' in FOR block. Just Arrays and Collections are supported !");
-            }
+    }
+
+    private void renderInParallel(Map<String, Object> outerVariables, List<?> valueList, Appendable out) throws IOException {
+
+        ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : RenderPoolHolder.RENDER_POOL;
+        int numberOfChunks = Math.min(valueList.size(), pool.getParallelism() * CHUNKS_PER_THREAD);
+        int chunkSize = (valueList.size() + numberOfChunks - 1) / numberOfChunks;
 
+        final List<RenderChunkTask> chunkTasks = new ArrayList<RenderChunkTask>();
+        for (int i = 0; i < valueList.size(); i += chunkSize) {
+            chunkTasks.add(new RenderChunkTask(outerVariables, valueList.subList(i, Math.min(i + chunkSize, valueList.size()))));
+        }
+
+        RecursiveAction renderAllChunks = new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(chunkTasks);
+            }
+        };
 
+        // nested parallel loops are rendered in the pool of the outer loop
+        if (ForkJoinTask.inForkJoinPool()) {
+            renderAllChunks.invoke();
         } else {
-            throw new InvalidExpressionResult("For template accessPath '" + accessPath + "' must not evaluate to null value!");
+            pool.invoke(renderAllChunks);
         }
 
-        return stringBuilder.toString();
+        // write chunk outputs in original order
+        for (RenderChunkTask chunkTask : chunkTasks) {
+            out.append(chunkTask.getRawResult());
+        }
+
+    }
+
+    private static boolean parseParallelAttribute(String namedAttributesString) {
+
+        if (namedAttributesString == null) {
+            return false;
+        }
+
+        Map<String, String> namedAttributes = ParseUtilities.parseNamedAttributes(namedAttributesString);
+        String parallelAttribute = namedAttributes.get(ATTRIBUTE_NAME_PARALLEL);
+        if (namedAttributes.size() != 1 || parallelAttribute == null) {
+            throw new IllegalArgumentException("for command has an invalid attribute string - just " + ATTRIBUTE_NAME_PARALLEL + " is supported as named attribute.");
+        }
+
+        return Boolean.parseBoolean(parallelAttribute.trim());
 
     }
 
@@ -117,8 +260,17 @@ public class ForTemplateBlock implements TemplateBlock {
         return accessPath;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Gets the template string of the loop body.
+     *
+     * @return the template string or null for blocks of compiled templates
+     */
     public String getTemplateString() {
-        return templateString;
+        return sourceString != null ? ParseUtilities.trimContentString(sourceString.substring(contentBeginIndex, contentEndIndex)) : null;
     }
 
 }
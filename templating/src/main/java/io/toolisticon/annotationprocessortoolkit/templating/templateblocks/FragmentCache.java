@@ -0,0 +1,112 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.LruCache;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache for rendered output of memoized template blocks.
+ * <p/>
+ * Output is keyed by the template block and the values of all model paths read by the block.
+ * Keys reference these values, so they are kept until the fragment is evicted or the cache is cleared.
+ * The least recently used output will be evicted if maximum size of cache is exceeded.
+ * A cache can be shared by multiple templates and be kept across processing rounds.
+ * <p/>
+ * This implementation is threadsafe.
+ *
+ * @see MemoizingTemplateBlock
+ */
+public class FragmentCache {
+
+    /**
+     * The default number of cached fragments.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * Key of a rendered fragment.
+     */
+    static class FragmentKey {
+
+        private final TemplateBlock templateBlock;
+        private final Object[] fingerprint;
+        private final int hashCode;
+
+        FragmentKey(TemplateBlock templateBlock, Object[] fingerprint) {
+            this.templateBlock = templateBlock;
+            this.fingerprint = fingerprint;
+            this.hashCode = 31 * System.identityHashCode(templateBlock) + Arrays.deepHashCode(fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (!(o instanceof FragmentKey)) {
+                return false;
+            }
+
+            FragmentKey other = (FragmentKey) o;
+            return templateBlock == other.templateBlock && hashCode == other.hashCode && Arrays.deepEquals(fingerprint, other.fingerprint);
+
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    private final LruCache<FragmentKey, String> cache;
+
+
+    public FragmentCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public FragmentCache(int maximumSize) {
+        this.cache = new LruCache<FragmentKey, String>(maximumSize);
+    }
+
+    String lookup(FragmentKey key) {
+        return cache.get(key);
+    }
+
+    void store(FragmentKey key, String content) {
+        cache.put(key, content);
+    }
+
+    /**
+     * Sets the maximum number of cached fragments.
+     * Least recently used fragments will be evicted immediately if the cache contains more fragments than allowed.
+     *
+     * @param maximumSize the maximum number of cached fragments, 0 disables caching
+     */
+    public void setMaximumSize(int maximumSize) {
+        cache.setMaximumSize(maximumSize);
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Removes all cached fragments and resets hit and miss counters.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+}
@@ -1,14 +1,12 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
 import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 
+import java.io.IOException;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * If template block.
@@ -18,25 +16,61 @@ public class IfTemplateBlock implements TemplateBlock {
 
 
     private final String accessPath;
-    private final String templateString;
+    private final Expression expression;
+    private final String sourceString;
+    private final int contentBeginIndex;
+    private final int contentEndIndex;
 
     private TemplateBlockBinder binder;
 
 
     public IfTemplateBlock(String attributeString, String templateString) {
+        this(attributeString, templateString, 0, templateString.length());
+    }
+
+    /**
+     * Creates a block whose body is a range of a template string.
+     * The body template string is just created on demand by {@link #getTemplateString()}.
+     *
+     * @param attributeString   the attribute string
+     * @param sourceString      the template string containing the body
+     * @param contentBeginIndex the begin index of the body
+     * @param contentEndIndex   the end index of the body
+     */
+    public IfTemplateBlock(String attributeString, String sourceString, int contentBeginIndex, int contentEndIndex) {
 
         if (attributeString == null || attributeString.trim().isEmpty()) {
             throw new IllegalArgumentException("if command has no attribute string.");
         }
 
         this.accessPath = attributeString.trim();
-        this.templateString = ParseUtilities.trimContentString(templateString);
+        this.expression = ExpressionParser.parseExpression(this.accessPath);
+        this.sourceString = sourceString;
+        this.contentBeginIndex = contentBeginIndex;
+        this.contentEndIndex = contentEndIndex;
 
 
-        binder = new TemplateBlockBinder(templateString);
+        binder = new TemplateBlockBinder(null);
 
     }
 
+    /**
+     * Creates a copy of an IF block with another condition and binder.
+     * The body template string isn't kept, since the body is already parsed.
+     *
+     * @param ifTemplateBlock the IF block to copy
+     * @param expression      the condition of the copy
+     * @param binder          the binder of the copy
+     */
+    IfTemplateBlock(IfTemplateBlock ifTemplateBlock, Expression expression, TemplateBlockBinder binder) {
+        this.accessPath = ifTemplateBlock.accessPath;
+        this.expression = expression;
+        this.sourceString = null;
+        this.contentBeginIndex = 0;
+        this.contentEndIndex = 0;
+        this.binder = binder;
+    }
+
 
     @Override
     public TemplateBlockType getTemplateBlockType() {
@@ -45,22 +79,34 @@ public class IfTemplateBlock implements TemplateBlock {
 
     @Override
     public String getContent(Map<String, Object> outerVariables) {
+        return RenderUtilities.renderToString(this, outerVariables);
+    }
 
-        Expression expression = ExpressionParser.parseExpression(accessPath, outerVariables);
-        Operand result = expression.evaluateExpression();
+    @Override
+    public void render(Map<String, Object> outerVariables, Appendable out) throws IOException {
 
-        if (!Boolean.class.equals(result.getOperandsJavaType())) {
-            throw new InvalidExpressionResult("If statements expression '" + accessPath + "' must evaluate to Boolean" + (result.getOperandsJavaType() != null ? ", but is of type " + result.getOperandsJavaType().getCanonicalName() : ""));
+        if (RenderUtilities.isConditionFulfilled(expression.evaluateExpression(outerVariables), accessPath)) {
+            binder.render(outerVariables, out);
         }
 
-        if ((Boolean) result.value()) {
-            return binder.getContent(outerVariables).toString();
-        } else {
-            return "";
-        }
+    }
+
+
+    /**
+     * Gets the value of a condition that doesn't depend on the model.
+     *
+     * @return the value of the condition or null if condition depends on the model or doesn't evaluate to Boolean
+     */
+    public Boolean getConstantCondition() {
+
+        Operand result = expression.evaluateConstantExpression();
+        return result != null && Boolean.class.equals(result.getOperandsJavaType()) ? (Boolean) result.value() : null;
 
     }
 
+    Expression getExpression() {
+        return expression;
+    }
 
     public TemplateBlockBinder getBinder() {
         return binder;
@@ -75,8 +121,13 @@ public class IfTemplateBlock implements TemplateBlock {
         return accessPath;
     }
 
+    /**
+     * Gets the template string of the conditional body.
+     *
+     * @return the template string or null for blocks of compiled templates
+     */
     public String getTemplateString() {
-        return templateString;
+        return sourceString != null ? ParseUtilities.trimContentString(sourceString.substring(contentBeginIndex, contentEndIndex)) : null;
     }
 
 
@@ -1,30 +1,47 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
-import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+import io.toolisticon.annotationprocessortoolkit.templating.ModelDefinition;
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPath;
 import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import io.toolisticon.annotationprocessortoolkit.templating.Template;
 import io.toolisticon.annotationprocessortoolkit.templating.TemplateProcessor;
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
-import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+import java.util.Set;
+
+/**
+ * Template block for including template resource files.
+ * <p/>
+ * Included templates are compiled once via the shared template cache when the include block is created.
+ * Templates that include themselves (directly or indirectly) are resolved lazily on first rendering.
+ */
 public class IncludeTemplateBlock implements TemplateBlock {
 
     final static String ATTRIBUTE_NAME_RESOURCE = "resource";
     final static String ATTRIBUTE_NAME_MODEL = "model";
 
 
-    private final String modelDefinitionString;
+    /**
+     * Resources currently compiled by the current thread - used to detect recursive includes.
+     */
+    private static final ThreadLocal<Set<String>> RESOURCES_IN_COMPILATION = new ThreadLocal<Set<String>>() {
+        @Override
+        protected Set<String> initialValue() {
+            return new HashSet<String>();
+        }
+    };
 
+    private final String modelDefinitionString;
+    private final ModelDefinition modelDefinition;
 
     private final String modelAccessPath;
+    private final ModelPath modelPath;
 
     private final String templateResource;
-    private final String templateString;
+    private volatile Template template;
 
 
     public IncludeTemplateBlock(String attributeString, String modelDefinitionString) {
@@ -39,21 +56,43 @@ public class IncludeTemplateBlock implements TemplateBlock {
         if (templateResource == null) {
             throw new IllegalArgumentException("you must set resource at include control block");
         }
-        try {
-            templateString = ParseUtilities.readResourceToString(templateResource);
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Didn't found included template resource file : " + templateResource, e);
-        }
 
         modelAccessPath = attributeMap.get(ATTRIBUTE_NAME_MODEL);
+        modelPath = modelAccessPath != null ? new ModelPath(modelAccessPath) : null;
         this.modelDefinitionString = modelDefinitionString.trim();
 
         if(!this.modelDefinitionString.isEmpty() && modelAccessPath != null) {
             throw new IllegalArgumentException("INCLUDE: Please use either " + ATTRIBUTE_NAME_MODEL + " attribute or model configuration via INCLUDE command content block.");
         }
 
+        modelDefinition = !this.modelDefinitionString.isEmpty() ? ModelDefinition.compile(this.modelDefinitionString) : null;
 
+        // compile included template eagerly unless it is already in compilation (recursive include)
+        Set<String> resourcesInCompilation = RESOURCES_IN_COMPILATION.get();
+        if (resourcesInCompilation.add(templateResource)) {
+            try {
+                template = TemplateProcessor.getTemplateCache().getTemplateForResource(templateResource);
+            } finally {
+                resourcesInCompilation.remove(templateResource);
+            }
+        }
 
+    }
+
+    /**
+     * Gets the compiled included template.
+     * Template is looked up in shared template cache if it couldn't be compiled eagerly because of a recursive include.
+     *
+     * @return the compiled template
+     */
+    public Template getTemplate() {
+
+        Template result = template;
+        if (result == null) {
+            result = TemplateProcessor.getTemplateCache().getTemplateForResource(templateResource);
+            template = result;
+        }
+        return result;
 
     }
 
@@ -65,20 +104,28 @@ public class IncludeTemplateBlock implements TemplateBlock {
 
     @Override
     public String getContent(Map<String, Object> variables) {
+        return RenderUtilities.renderToString(this, variables);
+    }
+
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
 
         Map<String, Object> model;
         if (this.modelAccessPath != null) {
-            Object values = ModelPathResolver.resolveModelPath(variables, this.modelAccessPath).getValue();
+            Object values = modelPath.resolve(variables).getValue();
 
-            model = new HashMap<>();
-            model.put("model", values);
-        } else if (!this.modelDefinitionString.isEmpty()) {
-            model = ParseUtilities.extractModelFromString(variables, this.modelDefinitionString);
+            model = Collections.singletonMap("model", values);
+        } else if (modelDefinition != null) {
+            model = modelDefinition.createModel(variables);
         } else {
             model = variables;
         }
 
-        return TemplateProcessor.processTemplate(templateString, model);
+        getTemplate().render(model, out);
+    }
+
+    ModelDefinition getModelDefinition() {
+        return modelDefinition;
     }
 
     public String getModelDefinitionString() {
@@ -89,8 +136,19 @@ public class IncludeTemplateBlock implements TemplateBlock {
         return templateResource;
     }
 
+    /**
+     * Gets the template string of the included template.
+     * Compiled templates don't keep their template string, so the resource is read again.
+     *
+     * @return the template string
+     * @throws IllegalArgumentException if template resource can't be read
+     */
     public String getTemplateString() {
-        return templateString;
+        try {
+            return ParseUtilities.readResourceToString(templateResource);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot open template file '" + templateResource + "'", e);
+        }
     }
 
     public String getModelAccessPath() {
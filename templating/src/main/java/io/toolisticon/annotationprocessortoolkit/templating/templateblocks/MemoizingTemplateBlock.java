@@ -0,0 +1,309 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPath;
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template block that memoizes the output of another template block.
+ * <p/>
+ * The model paths read by the wrapped block are determined once. When rendering, their values are resolved into a fingerprint
+ * and the output cached in the fragment cache for this fingerprint is reused. The wrapped block is just rendered if its inputs changed.
+ * <p/>
+ * Loop values and include models aren't part of the fingerprint themselves. Instead, the values read from each loop value or from the include model are,
+ * so added, removed or changed elements of a mutable collection are detected.
+ * All other values - like values of dynamic text blocks, of IF expressions or the models of recursive includes - are compared via equals.
+ * They must either be immutable or must not be changed between renderings.
+ * Fingerprints are kept by the fragment cache, so these values are strongly referenced until the fragment is evicted.
+ * <p/>
+ * Blocks looping over Iterators, Streams or Spliterators are rendered without memoization, since their values can just be read once.
+ */
+public class MemoizingTemplateBlock implements TemplateBlock {
+
+    /**
+     * Fingerprint value used for model paths that can't be resolved.
+     */
+    private static final Object UNRESOLVABLE = new Object() {
+        @Override
+        public String toString() {
+            return "UNRESOLVABLE";
+        }
+    };
+
+    /**
+     * Fingerprint value used for loop values that can just be iterated once.
+     */
+    private static final Object NOT_MEMOIZABLE = new Object() {
+        @Override
+        public String toString() {
+            return "NOT_MEMOIZABLE";
+        }
+    };
+
+    /**
+     * Resolves the values read by a block.
+     */
+    private static class Fingerprinter {
+
+        private final ModelPath[] valuePaths;
+        private final ScopeFingerprinter[] scopeFingerprinters;
+
+        private Fingerprinter(TemplateBlockDependencies.ModelDependencies modelDependencies) {
+
+            this.valuePaths = new ModelPath[modelDependencies.getValuePaths().size()];
+            int i = 0;
+            for (String valuePath : modelDependencies.getValuePaths()) {
+                this.valuePaths[i++] = new ModelPath(valuePath);
+            }
+
+            this.scopeFingerprinters = new ScopeFingerprinter[modelDependencies.getScopeDependencies().size()];
+            i = 0;
+            for (TemplateBlockDependencies.ScopeDependencies scopeDependencies : modelDependencies.getScopeDependencies()) {
+                this.scopeFingerprinters[i++] = new ScopeFingerprinter(scopeDependencies);
+            }
+
+        }
+
+        /**
+         * Gets the fingerprint.
+         *
+         * @param variables the variables to resolve the values in
+         * @return the fingerprint or null if it can't be determined without consuming loop values
+         */
+        private Object[] getFingerprint(Map<String, Object> variables) {
+
+            Object[] fingerprint = new Object[valuePaths.length + scopeFingerprinters.length];
+
+            int i = 0;
+            for (ModelPath valuePath : valuePaths) {
+                fingerprint[i++] = resolve(valuePath, variables);
+            }
+            for (ScopeFingerprinter scopeFingerprinter : scopeFingerprinters) {
+                Object scopeFingerprint = scopeFingerprinter.getFingerprint(variables);
+                if (scopeFingerprint == NOT_MEMOIZABLE) {
+                    return null;
+                }
+                fingerprint[i++] = scopeFingerprint;
+            }
+
+            return fingerprint;
+
+        }
+
+    }
+
+    /**
+     * Resolves the values read from the loop values of a FOR block or from the model of an INCLUDE block.
+     */
+    private static class ScopeFingerprinter {
+
+        private final ModelPath accessPath;
+        private final String variableName;
+        private final boolean iterated;
+        private final Fingerprinter variableFingerprinter;
+
+        private ScopeFingerprinter(TemplateBlockDependencies.ScopeDependencies scopeDependencies) {
+            this.accessPath = new ModelPath(scopeDependencies.getAccessPath());
+            this.variableName = scopeDependencies.getVariableName();
+            this.iterated = scopeDependencies.isIterated();
+            this.variableFingerprinter = new Fingerprinter(scopeDependencies.getVariableDependencies());
+        }
+
+        private Object getFingerprint(Map<String, Object> variables) {
+
+            Object value = resolve(accessPath, variables);
+            if (value == UNRESOLVABLE || value == null) {
+                // rendering fails the same way or block isn't rendered at all
+                return UNRESOLVABLE;
+            }
+
+            if (!iterated) {
+                return getVariableFingerprint(value);
+            } else if (!(value instanceof Iterable) && !value.getClass().isArray()) {
+                return NOT_MEMOIZABLE;
+            }
+
+            List<Object> fingerprint = new ArrayList<Object>();
+            for (Object loopValue : RenderUtilities.getLoopValues(value, accessPath.getPath())) {
+                Object loopValueFingerprint = getVariableFingerprint(loopValue);
+                if (loopValueFingerprint == NOT_MEMOIZABLE) {
+                    return NOT_MEMOIZABLE;
+                }
+                fingerprint.add(loopValueFingerprint);
+            }
+            return fingerprint.toArray();
+
+        }
+
+        private Object getVariableFingerprint(Object value) {
+            Object[] fingerprint = variableFingerprinter.getFingerprint(Collections.singletonMap(variableName, value));
+            return fingerprint != null ? fingerprint : NOT_MEMOIZABLE;
+        }
+
+    }
+
+    private final TemplateBlock templateBlock;
+    private final Fingerprinter fingerprinter;
+    private final FragmentCache fragmentCache;
+
+    /**
+     * Creates a memoizing template block.
+     *
+     * @param templateBlock the template block to memoize
+     * @param fragmentCache the cache to store rendered output in
+     * @throws IllegalArgumentException if dependencies of passed template block can't be determined
+     */
+    public MemoizingTemplateBlock(TemplateBlock templateBlock, FragmentCache fragmentCache) {
+
+        if (templateBlock == null || fragmentCache == null) {
+            throw new IllegalArgumentException("passed templateBlock and fragmentCache must not be null");
+        }
+
+        TemplateBlockDependencies.ModelDependencies modelDependencies = TemplateBlockDependencies.getModelDependencies(templateBlock);
+        if (modelDependencies == null) {
+            throw new IllegalArgumentException("dependencies of passed templateBlock can't be determined");
+        }
+
+        this.templateBlock = templateBlock;
+        this.fragmentCache = fragmentCache;
+        this.fingerprinter = new Fingerprinter(modelDependencies);
+
+    }
+
+    /**
+     * Wraps all FOR, IF and INCLUDE blocks of a binder into memoizing template blocks.
+     * Bodies of FOR and IF blocks are memoized too, so loop iterations reuse output of enclosed blocks whose inputs didn't change.
+     * Traced blocks are memoized including their tracing block, so reused output isn't reported to the listener.
+     * Blocks with recursive includes are kept unmemoized.
+     *
+     * @param binder        the binder to memoize
+     * @param fragmentCache the cache to store rendered output in
+     * @return the binder with memoized blocks
+     */
+    public static TemplateBlockBinder memoize(TemplateBlockBinder binder, FragmentCache fragmentCache) {
+
+        if (fragmentCache == null) {
+            throw new IllegalArgumentException("passed fragmentCache must not be null");
+        }
+
+        TemplateBlockBinder result = new TemplateBlockBinder(null);
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            TemplateBlock blockToMemoize;
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case FOR: {
+                    ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+                    blockToMemoize = new ForTemplateBlock(forTemplateBlock, memoize(forTemplateBlock.getBinder(), fragmentCache));
+                    break;
+                }
+                case IF: {
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    blockToMemoize = new IfTemplateBlock(ifTemplateBlock, ifTemplateBlock.getExpression(), memoize(ifTemplateBlock.getBinder(), fragmentCache));
+                    break;
+                }
+                case INCLUDE: {
+                    blockToMemoize = templateBlock;
+                    break;
+                }
+                case TRACED: {
+
+                    TracingTemplateBlock tracingTemplateBlock = (TracingTemplateBlock) templateBlock;
+                    TemplateBlock memoizedBlock = memoize(wrap(tracingTemplateBlock.getTemplateBlock()), fragmentCache).getTemplateBlocks().get(0);
+
+                    if (memoizedBlock.getTemplateBlockType() != TemplateBlockType.MEMOIZED) {
+                        // text blocks and blocks with recursive includes aren't memoized, but their bodies may be
+                        result.addTemplateBlock(memoizedBlock != tracingTemplateBlock.getTemplateBlock()
+                                ? new TracingTemplateBlock(memoizedBlock, tracingTemplateBlock.getListener(), tracingTemplateBlock.getTemplateName())
+                                : templateBlock);
+                        continue;
+                    }
+
+                    // traced block is wrapped by the memoizing block, so just renders of changed inputs are reported
+                    blockToMemoize = new TracingTemplateBlock(((MemoizingTemplateBlock) memoizedBlock).getTemplateBlock(), tracingTemplateBlock.getListener(), tracingTemplateBlock.getTemplateName());
+                    break;
+
+                }
+                default: {
+                    // rendering of text blocks is cheaper than memoization
+                    result.addTemplateBlock(templateBlock);
+                    continue;
+                }
+
+            }
+
+            result.addTemplateBlock(TemplateBlockDependencies.getModelDependencies(blockToMemoize) != null
+                    ? new MemoizingTemplateBlock(blockToMemoize, fragmentCache)
+                    : blockToMemoize);
+
+        }
+
+        return result;
+
+    }
+
+    private static TemplateBlockBinder wrap(TemplateBlock templateBlock) {
+        TemplateBlockBinder binder = new TemplateBlockBinder(null);
+        binder.addTemplateBlock(templateBlock);
+        return binder;
+    }
+
+    @Override
+    public TemplateBlockType getTemplateBlockType() {
+        return TemplateBlockType.MEMOIZED;
+    }
+
+    @Override
+    public String getContent(Map<String, Object> variables) {
+        return RenderUtilities.renderToString(this, variables);
+    }
+
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
+
+        Object[] fingerprint = fingerprinter.getFingerprint(variables);
+        if (fingerprint == null) {
+            templateBlock.render(variables, out);
+            return;
+        }
+
+        FragmentCache.FragmentKey key = new FragmentCache.FragmentKey(this, fingerprint);
+
+        String content = fragmentCache.lookup(key);
+        if (content == null) {
+            content = RenderUtilities.renderToString(templateBlock, variables);
+            fragmentCache.store(key, content);
+        }
+
+        out.append(content);
+
+    }
+
+    private static Object resolve(ModelPath modelPath, Map<String, Object> variables) {
+
+        try {
+            ModelPathResolver.ResolvedModelPathResult result = modelPath.resolve(variables);
+            return result != null ? result.getValue() : null;
+        } catch (InvalidPathException e) {
+            // rendering fails the same way or path isn't read at all
+            return UNRESOLVABLE;
+        }
+
+    }
+
+    public TemplateBlock getTemplateBlock() {
+        return templateBlock;
+    }
+
+    public FragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
+}
@@ -1,15 +1,24 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Block for a plain text template block.
+ * <p/>
+ * Blocks of parsed templates just reference their content, they neither copy nor encode it.
+ * Blocks of compiled templates share the buffers of their content with all other static text of the template.
+ * The shared buffers are UTF-8 encoded once, so content can be written without encoding to {@link io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget}.
  */
 public class PlainTextTemplateBlock implements TemplateBlock {
 
-    private final String content;
+    private final TextSlice content;
 
     public PlainTextTemplateBlock(String content) {
+        this.content = TextSlice.of(content);
+    }
+
+    PlainTextTemplateBlock(TextSlice content) {
         this.content = content;
     }
 
@@ -19,6 +28,22 @@ public class PlainTextTemplateBlock implements TemplateBlock {
     }
 
     public String getContent(Map<String, Object> variables) {
+        return content != null ? content.toString() : null;
+    }
+
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
+
+        if (content != null) {
+            content.render(out);
+        } else {
+            out.append(null);
+        }
+
+    }
+
+    TextSlice getTextSlice() {
         return content;
     }
+
 }
@@ -0,0 +1,209 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Utility class for rendering of template blocks.
+ * Is also used by generated template renderers.
+ */
+public final class RenderUtilities {
+
+    /**
+     * Lazily initialized access to Streams and Spliterators, which are just available since Java 8.
+     */
+    private static class StreamSupportHolder {
+
+        private static final Class<?> BASE_STREAM_TYPE = loadClass("java.util.stream.BaseStream");
+        private static final Method BASE_STREAM_ITERATOR_METHOD = getMethod(BASE_STREAM_TYPE, "iterator");
+
+        private static final Class<?> SPLITERATOR_TYPE = loadClass("java.util.Spliterator");
+        private static final Method SPLITERATORS_ITERATOR_METHOD = getMethod(loadClass("java.util.Spliterators"), "iterator", SPLITERATOR_TYPE);
+
+        private static Class<?> loadClass(String className) {
+            try {
+                return Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        private static Method getMethod(Class<?> type, String methodName, Class<?>... parameterTypes) {
+
+            if (type == null) {
+                return null;
+            }
+
+            for (Class<?> parameterType : parameterTypes) {
+                if (parameterType == null) {
+                    return null;
+                }
+            }
+
+            try {
+                return type.getMethod(methodName, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+
+        }
+
+    }
+
+    /**
+     * Iterable that provides an Iterator just once.
+     */
+    private static class SingleUseIterable implements Iterable<Object> {
+
+        private Iterator<?> iterator;
+
+        private SingleUseIterable(Iterator<?> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<Object> iterator() {
+
+            if (iterator == null) {
+                throw new IllegalStateException("Iterator of FOR block can only be consumed once");
+            }
+
+            Iterator<Object> result = (Iterator<Object>) iterator;
+            iterator = null;
+            return result;
+
+        }
+
+    }
+
+    /**
+     * List view of a primitive array - elements are boxed on access.
+     */
+    private static class PrimitiveArrayList extends AbstractList<Object> {
+
+        private final Object array;
+        private final int size;
+
+        private PrimitiveArrayList(Object array) {
+            this.array = array;
+            this.size = Array.getLength(array);
+        }
+
+        @Override
+        public Object get(int index) {
+            return Array.get(array, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private RenderUtilities() {
+
+    }
+
+    /**
+     * Renders a template block into a String.
+     *
+     * @param templateBlock the template block to render
+     * @param variables     the variables to use
+     * @return the rendered content
+     */
+    static String renderToString(TemplateBlock templateBlock, Map<String, Object> variables) {
+
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            templateBlock.render(variables, stringBuilder);
+        } catch (IOException e) {
+            // StringBuilder never throws an IOException
+            throw new IllegalStateException("Cannot render template block", e);
+        }
+        return stringBuilder.toString();
+
+    }
+
+    /**
+     * Gets the values to iterate over in a FOR block.
+     * <p/>
+     * Values are not copied: arrays are wrapped into list views, Iterables are returned as they are.
+     * Iterators, Streams and Spliterators are wrapped into Iterables that consume them lazily and that can just be iterated once.
+     *
+     * @param values     the resolved values
+     * @param accessPath the access path used to resolve the values
+     * @return the values to iterate over
+     * @throws InvalidExpressionResult if passed values are null
+     * @throws InvalidPathException    if passed values are neither an array, an Iterable, an Iterator, a Stream nor a Spliterator
+     */
+    public static Iterable<?> getLoopValues(Object values, String accessPath) {
+
+        if (values == null) {
+            throw new InvalidExpressionResult("For template accessPath '" + accessPath + "' must not evaluate to null value!");
+        }
+
+        if (values instanceof Object[]) {
+            return Arrays.asList((Object[]) values);
+        } else if (values.getClass().isArray()) {
+            return new PrimitiveArrayList(values);
+        } else if (values instanceof Iterable) {
+            return (Iterable<?>) values;
+        } else if (values instanceof Iterator) {
+            return new SingleUseIterable((Iterator<?>) values);
+        } else if (StreamSupportHolder.BASE_STREAM_TYPE != null && StreamSupportHolder.BASE_STREAM_TYPE.isInstance(values)) {
+            return new SingleUseIterable((Iterator<?>) invokeStreamSupportMethod(StreamSupportHolder.BASE_STREAM_ITERATOR_METHOD, values));
+        } else if (StreamSupportHolder.SPLITERATOR_TYPE != null && StreamSupportHolder.SPLITERATOR_TYPE.isInstance(values)) {
+            return new SingleUseIterable((Iterator<?>) invokeStreamSupportMethod(StreamSupportHolder.SPLITERATORS_ITERATOR_METHOD, null, values));
+        } else {
+            throw new InvalidPathException("Unable to iterate over Type '" + values.getClass().getCanonicalName() + "' in FOR block. Just Arrays, Iterables, Iterators, Streams and Spliterators are supported !");
+        }
+
+    }
+
+    private static Object invokeStreamSupportMethod(Method method, Object target, Object... parameters) {
+
+        try {
+            return method.invoke(target, parameters);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access " + method, e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException("Cannot invoke " + method, cause);
+        }
+
+    }
+
+    /**
+     * Checks the result of an IF blocks expression.
+     *
+     * @param result           the evaluated expression
+     * @param expressionString the expression string
+     * @return the boolean value of the result
+     * @throws InvalidExpressionResult if passed result isn't of type Boolean
+     */
+    public static boolean isConditionFulfilled(Operand result, String expressionString) {
+
+        if (!Boolean.class.equals(result.getOperandsJavaType())) {
+            throw new InvalidExpressionResult("If statements expression '" + expressionString + "' must evaluate to Boolean" + (result.getOperandsJavaType() != null ? ", but is of type " + result.getOperandsJavaType().getCanonicalName() : ""));
+        }
+
+        return (Boolean) result.value();
+
+    }
+
+}
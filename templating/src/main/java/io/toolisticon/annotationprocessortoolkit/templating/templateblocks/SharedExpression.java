@@ -0,0 +1,62 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Expression that occurs multiple times in a template.
+ * <p/>
+ * The result is evaluated once per scope frame and is cached in the innermost {@link VariableScope} that defines one of the variables the expression reads.
+ * So results of expressions that depend on a loop variable are invalidated with each loop iteration, all other results are kept for the whole rendering.
+ * Expressions evaluated against models that aren't a VariableScope aren't cached.
+ */
+class SharedExpression extends Expression {
+
+    private final Set<String> variableNames;
+
+    SharedExpression(Expression expression) {
+        super(expression);
+
+        Set<String> rootVariableNames = new LinkedHashSet<String>();
+        for (String modelPath : expression.getModelPaths()) {
+            int dotIndex = modelPath.indexOf('.');
+            rootVariableNames.add(dotIndex >= 0 ? modelPath.substring(0, dotIndex) : modelPath);
+        }
+        this.variableNames = Collections.unmodifiableSet(rootVariableNames);
+
+    }
+
+    @Override
+    public Operand evaluateExpression(Map<String, Object> model) {
+
+        if (!(model instanceof VariableScope)) {
+            return super.evaluateExpression(model);
+        }
+
+        VariableScope scope = ((VariableScope) model).getDefiningScope(variableNames);
+
+        Operand result = scope.getCachedExpressionResult(this);
+        if (result == null) {
+            result = super.evaluateExpression(model);
+            scope.cacheExpressionResult(this, result);
+        }
+        return result;
+
+    }
+
+    /**
+     * Checks if the result is already cached, so evaluating the expression against passed model just reads the cached result.
+     *
+     * @param model the model
+     * @return true if the result is cached, otherwise false
+     */
+    boolean isResultCached(Map<String, Object> model) {
+        return model instanceof VariableScope && ((VariableScope) model).getDefiningScope(variableNames).getCachedExpressionResult(this) != null;
+    }
+
+}
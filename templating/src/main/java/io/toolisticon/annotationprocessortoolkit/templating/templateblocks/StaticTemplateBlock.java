@@ -1,15 +1,35 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Used to define static template blocks.
+ * <p/>
+ * Blocks of parsed templates just reference their content, they neither copy nor encode it.
+ * Blocks of compiled templates share the buffers of their content with all other static text of the template.
+ * The shared buffers are UTF-8 encoded once, so content can be written without encoding to {@link io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget}.
  */
 public class StaticTemplateBlock implements TemplateBlock {
 
-    private final String content;
+    private final TextSlice content;
 
     public StaticTemplateBlock(String content) {
+        this.content = TextSlice.of(content);
+    }
+
+    /**
+     * Creates a block whose content is a range of a template string.
+     *
+     * @param templateString the template string
+     * @param beginIndex     the begin index of the content
+     * @param endIndex       the end index of the content
+     */
+    public StaticTemplateBlock(String templateString, int beginIndex, int endIndex) {
+        this.content = TextSlice.of(templateString, beginIndex, endIndex);
+    }
+
+    StaticTemplateBlock(TextSlice content) {
         this.content = content;
     }
 
@@ -21,6 +41,22 @@ public class StaticTemplateBlock implements TemplateBlock {
 
     @Override
     public String getContent(Map<String, Object> variables) {
+        return content != null ? content.toString() : null;
+    }
+
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
+
+        if (content != null) {
+            content.render(out);
+        } else {
+            out.append(null);
+        }
+
+    }
+
+    TextSlice getTextSlice() {
         return content;
     }
+
 }
@@ -1,5 +1,6 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -22,4 +23,13 @@ public interface TemplateBlock {
      */
     String getContent(Map<String, Object> variables);
 
+    /**
+     * Renders this template block directly into the passed Appendable.
+     *
+     * @param variables the variables to use
+     * @param out       the Appendable to render to
+     * @throws IOException if passed Appendable can't be written
+     */
+    void render(Map<String, Object> variables, Appendable out) throws IOException;
+
 }
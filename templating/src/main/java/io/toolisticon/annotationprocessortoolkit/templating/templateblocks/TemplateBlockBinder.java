@@ -1,6 +1,8 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -22,19 +24,25 @@ public class TemplateBlockBinder implements TemplateBlock {
 
     @Override
     public String getContent(Map<String, Object> variables) {
+        return RenderUtilities.renderToString(this, variables);
+    }
 
-        StringBuilder stringBuilder = new StringBuilder();
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
 
         for (TemplateBlock templateBlock : templateBlocks) {
-            stringBuilder.append(templateBlock.getContent(variables));
+            templateBlock.render(variables, out);
         }
 
-        return stringBuilder.toString();
     }
 
     public void addTemplateBlock(TemplateBlock templateBlock) {
         templateBlocks.add(templateBlock);
     }
 
+    public List<TemplateBlock> getTemplateBlocks() {
+        return Collections.unmodifiableList(templateBlocks);
+    }
+
 
 }
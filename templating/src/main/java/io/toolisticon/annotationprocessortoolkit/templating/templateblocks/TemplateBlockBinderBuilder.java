@@ -0,0 +1,132 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+/**
+ * Builds a template block binder.
+ * <p/>
+ * Adjacent plain text is merged into a single plain text block. Plain text that is a single range of the template string is just referenced, not copied.
+ * Variable text blocks that don't depend on the model are added as plain text, IF blocks with a constant condition are either dropped or inlined.
+ */
+public class TemplateBlockBinderBuilder {
+
+    private final TemplateBlockBinder binder;
+    private final StringBuilder pendingPlainText = new StringBuilder();
+
+    // pending plain text that is a range of a template string - isn't copied into pendingPlainText unless other text is added
+    private String pendingTemplateString;
+    private int pendingBeginIndex;
+    private int pendingEndIndex;
+
+    public TemplateBlockBinderBuilder(String templateString) {
+        this.binder = new TemplateBlockBinder(templateString);
+    }
+
+    public void addPlainText(String plainText) {
+        copyPendingRange();
+        pendingPlainText.append(plainText);
+    }
+
+    /**
+     * Adds a range of a template string as plain text without creating a substring.
+     *
+     * @param templateString the template string
+     * @param beginIndex     the begin index of the plain text
+     * @param endIndex       the end index of the plain text
+     */
+    public void addPlainText(String templateString, int beginIndex, int endIndex) {
+
+        if (beginIndex == endIndex) {
+            return;
+        }
+
+        if (pendingTemplateString == null && pendingPlainText.length() == 0) {
+            pendingTemplateString = templateString;
+            pendingBeginIndex = beginIndex;
+            pendingEndIndex = endIndex;
+        } else if (pendingTemplateString == templateString && pendingEndIndex == beginIndex) {
+            pendingEndIndex = endIndex;
+        } else {
+            copyPendingRange();
+            pendingPlainText.append(templateString, beginIndex, endIndex);
+        }
+
+    }
+
+    private void copyPendingRange() {
+        if (pendingTemplateString != null) {
+            pendingPlainText.append(pendingTemplateString, pendingBeginIndex, pendingEndIndex);
+            pendingTemplateString = null;
+        }
+    }
+
+    public void addTemplateBlock(TemplateBlock templateBlock) {
+        flushPlainText();
+        binder.addTemplateBlock(templateBlock);
+    }
+
+    /**
+     * Adds a variable text block.
+     * Expressions that don't depend on the model are rendered immediately.
+     *
+     * @param variableTextTemplateBlock the variable text block
+     */
+    public void addVariableTextTemplateBlock(VariableTextTemplateBlock variableTextTemplateBlock) {
+
+        String constantContent = variableTextTemplateBlock.getConstantContent();
+        if (constantContent != null) {
+            addPlainText(constantContent);
+        } else {
+            addTemplateBlock(variableTextTemplateBlock);
+        }
+
+    }
+
+    /**
+     * Adds an IF block.
+     * IF blocks with conditions that don't depend on the model are dropped or inlined.
+     *
+     * @param ifTemplateBlock the IF block - its binder must already be set
+     */
+    public void addIfTemplateBlock(IfTemplateBlock ifTemplateBlock) {
+
+        Boolean constantCondition = ifTemplateBlock.getConstantCondition();
+        if (constantCondition == null) {
+            addTemplateBlock(ifTemplateBlock);
+        } else if (constantCondition) {
+            addTemplateBlocks(ifTemplateBlock.getBinder());
+        }
+
+    }
+
+    /**
+     * Adds all template blocks of the passed binder - used to inline content of control blocks.
+     *
+     * @param binderToInline the binder to inline
+     */
+    public void addTemplateBlocks(TemplateBlockBinder binderToInline) {
+
+        for (TemplateBlock templateBlock : binderToInline.getTemplateBlocks()) {
+            if (templateBlock.getTemplateBlockType() == TemplateBlockType.PLAIN_TEXT) {
+                addPlainText(templateBlock.getContent(null));
+            } else {
+                addTemplateBlock(templateBlock);
+            }
+        }
+
+    }
+
+    private void flushPlainText() {
+        if (pendingTemplateString != null) {
+            binder.addTemplateBlock(new PlainTextTemplateBlock(TextSlice.of(pendingTemplateString, pendingBeginIndex, pendingEndIndex)));
+            pendingTemplateString = null;
+        } else if (pendingPlainText.length() > 0) {
+            binder.addTemplateBlock(new PlainTextTemplateBlock(pendingPlainText.toString()));
+            pendingPlainText.setLength(0);
+        }
+    }
+
+    public TemplateBlockBinder build() {
+        flushPlainText();
+        return binder;
+    }
+
+}
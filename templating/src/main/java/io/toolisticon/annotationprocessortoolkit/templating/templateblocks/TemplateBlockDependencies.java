@@ -0,0 +1,288 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ModelDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Determines the model paths a template block reads while it is rendered.
+ * <p/>
+ * Paths are related to the variables passed to the block. Paths rooted in a loop variable of an enclosed FOR block are replaced by the access path of the loop values.
+ * Included templates contribute the model paths used to create their model or - if the include has no model configuration - the dependencies of the included template.
+ */
+public final class TemplateBlockDependencies {
+
+    /**
+     * Name of the variable the model of an include block with model attribute is bound to.
+     */
+    private static final String INCLUDE_MODEL_VARIABLE_NAME = "model";
+
+    /**
+     * Model paths read by a template block, structured by the scopes they are read in.
+     * <p/>
+     * Values of value paths are read as a whole - for example by dynamic text blocks or IF expressions.
+     * Values of FOR blocks and models of INCLUDE blocks are just read by the paths rooted in the loop variable or the include model.
+     * These paths are kept per scope, so the values actually read can be determined.
+     */
+    public static final class ModelDependencies {
+
+        private final Set<String> modelPaths = new LinkedHashSet<String>();
+        private final Set<String> valuePaths = new LinkedHashSet<String>();
+        private final List<ScopeDependencies> scopeDependencies = new ArrayList<ScopeDependencies>();
+
+        private ModelDependencies() {
+
+        }
+
+        private void addValuePaths(Collection<String> paths) {
+            modelPaths.addAll(paths);
+            valuePaths.addAll(paths);
+        }
+
+        private void addScope(String accessPath, String variableName, boolean iterated, ModelDependencies enclosedDependencies) {
+
+            modelPaths.add(accessPath);
+
+            // paths not rooted in the variable are read from the outer scope - but include models are rendered without outer variables
+            ModelDependencies variableDependencies = new ModelDependencies();
+            for (String modelPath : enclosedDependencies.modelPaths) {
+                if (isRootedIn(modelPath, variableName)) {
+                    variableDependencies.modelPaths.add(modelPath);
+                } else if (iterated) {
+                    modelPaths.add(modelPath);
+                }
+            }
+            for (String valuePath : enclosedDependencies.valuePaths) {
+                if (isRootedIn(valuePath, variableName)) {
+                    variableDependencies.valuePaths.add(valuePath);
+                } else if (iterated) {
+                    valuePaths.add(valuePath);
+                }
+            }
+            for (ScopeDependencies enclosedScopeDependencies : enclosedDependencies.scopeDependencies) {
+                if (isRootedIn(enclosedScopeDependencies.accessPath, variableName)) {
+                    variableDependencies.scopeDependencies.add(enclosedScopeDependencies);
+                } else if (iterated) {
+                    scopeDependencies.add(enclosedScopeDependencies);
+                }
+            }
+
+            scopeDependencies.add(new ScopeDependencies(accessPath, variableName, iterated, variableDependencies));
+
+        }
+
+        private static boolean isRootedIn(String modelPath, String variableName) {
+            return modelPath.equals(variableName) || modelPath.startsWith(variableName + ".");
+        }
+
+        /**
+         * Gets all model paths read, including the access paths of FOR and INCLUDE blocks.
+         *
+         * @return the model paths
+         */
+        public Set<String> getModelPaths() {
+            return Collections.unmodifiableSet(modelPaths);
+        }
+
+        /**
+         * Gets the model paths whose values are read as a whole.
+         *
+         * @return the value paths
+         */
+        public Set<String> getValuePaths() {
+            return Collections.unmodifiableSet(valuePaths);
+        }
+
+        /**
+         * Gets the dependencies of enclosed FOR and INCLUDE blocks on their loop values or model.
+         *
+         * @return the dependencies per scope
+         */
+        public List<ScopeDependencies> getScopeDependencies() {
+            return Collections.unmodifiableList(scopeDependencies);
+        }
+
+    }
+
+    /**
+     * Model paths read relative to the loop variable of a FOR block or to the model of an INCLUDE block.
+     */
+    public static final class ScopeDependencies {
+
+        private final String accessPath;
+        private final String variableName;
+        private final boolean iterated;
+        private final ModelDependencies variableDependencies;
+
+        private ScopeDependencies(String accessPath, String variableName, boolean iterated, ModelDependencies variableDependencies) {
+            this.accessPath = accessPath;
+            this.variableName = variableName;
+            this.iterated = iterated;
+            this.variableDependencies = variableDependencies;
+        }
+
+        public String getAccessPath() {
+            return accessPath;
+        }
+
+        public String getVariableName() {
+            return variableName;
+        }
+
+        /**
+         * Checks if the variable is bound to each of the loop values or just once to the value of the access path.
+         *
+         * @return true for FOR blocks, false for INCLUDE blocks
+         */
+        public boolean isIterated() {
+            return iterated;
+        }
+
+        /**
+         * Gets the dependencies rooted in the variable.
+         *
+         * @return the dependencies
+         */
+        public ModelDependencies getVariableDependencies() {
+            return variableDependencies;
+        }
+
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private TemplateBlockDependencies() {
+
+    }
+
+    /**
+     * Gets the model paths read by a template block.
+     *
+     * @param templateBlock the template block
+     * @return the model paths or null if dependencies can't be determined because of recursive includes
+     */
+    public static Set<String> getModelPaths(TemplateBlock templateBlock) {
+
+        ModelDependencies modelDependencies = getModelDependencies(templateBlock);
+        return modelDependencies != null ? modelDependencies.getModelPaths() : null;
+
+    }
+
+    /**
+     * Gets the model paths read by a template block structured by the scopes they are read in.
+     * Recursive includes with model attribute are treated as reading the whole model.
+     *
+     * @param templateBlock the template block
+     * @return the model dependencies or null if dependencies can't be determined because of recursive includes
+     */
+    public static ModelDependencies getModelDependencies(TemplateBlock templateBlock) {
+
+        if (templateBlock == null) {
+            throw new IllegalArgumentException("passed templateBlock must not be null");
+        }
+
+        ModelDependencies modelDependencies = new ModelDependencies();
+        return collectModelDependencies(templateBlock, modelDependencies, new HashSet<String>()) ? modelDependencies : null;
+
+    }
+
+    private static boolean collectModelDependencies(TemplateBlock templateBlock, ModelDependencies modelDependencies, Set<String> includedResources) {
+
+        switch (templateBlock.getTemplateBlockType()) {
+
+            case PLAIN_TEXT:
+            case STATIC: {
+                return true;
+            }
+            case DYNAMIC_TEXT: {
+                modelDependencies.addValuePaths(((VariableTextTemplateBlock) templateBlock).getExpression().getModelPaths());
+                return true;
+            }
+            case BINDER: {
+
+                for (TemplateBlock childTemplateBlock : ((TemplateBlockBinder) templateBlock).getTemplateBlocks()) {
+                    if (!collectModelDependencies(childTemplateBlock, modelDependencies, includedResources)) {
+                        return false;
+                    }
+                }
+                return true;
+
+            }
+            case MEMOIZED: {
+                return collectModelDependencies(((MemoizingTemplateBlock) templateBlock).getTemplateBlock(), modelDependencies, includedResources);
+            }
+            case TRACED: {
+                return collectModelDependencies(((TracingTemplateBlock) templateBlock).getTemplateBlock(), modelDependencies, includedResources);
+            }
+            case IF: {
+
+                IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                modelDependencies.addValuePaths(ifTemplateBlock.getExpression().getModelPaths());
+                return collectModelDependencies(ifTemplateBlock.getBinder(), modelDependencies, includedResources);
+
+            }
+            case FOR: {
+
+                ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+
+                ModelDependencies loopDependencies = new ModelDependencies();
+                if (!collectModelDependencies(forTemplateBlock.getBinder(), loopDependencies, includedResources)) {
+                    return false;
+                }
+
+                modelDependencies.addScope(forTemplateBlock.getAccessPath(), forTemplateBlock.getLoopVariableName(), true, loopDependencies);
+                return true;
+
+            }
+            case INCLUDE: {
+
+                IncludeTemplateBlock includeTemplateBlock = (IncludeTemplateBlock) templateBlock;
+                ModelDefinition modelDefinition = includeTemplateBlock.getModelDefinition();
+
+                if (includeTemplateBlock.getModelAccessPath() != null) {
+
+                    ModelDependencies includedDependencies = new ModelDependencies();
+                    if (collectIncludedTemplateDependencies(includeTemplateBlock, includedDependencies, includedResources)) {
+                        modelDependencies.addScope(includeTemplateBlock.getModelAccessPath(), INCLUDE_MODEL_VARIABLE_NAME, false, includedDependencies);
+                    } else {
+                        // recursive include reads the whole model
+                        modelDependencies.addValuePaths(Collections.singleton(includeTemplateBlock.getModelAccessPath()));
+                    }
+                    return true;
+
+                } else if (modelDefinition != null) {
+                    modelDependencies.addValuePaths(modelDefinition.getModelPaths());
+                    return true;
+                }
+
+                // included template is rendered with the same variables
+                return collectIncludedTemplateDependencies(includeTemplateBlock, modelDependencies, includedResources);
+
+            }
+            default: {
+                throw new IllegalArgumentException("Unsupported template block type " + templateBlock.getTemplateBlockType());
+            }
+
+        }
+
+    }
+
+    private static boolean collectIncludedTemplateDependencies(IncludeTemplateBlock includeTemplateBlock, ModelDependencies modelDependencies, Set<String> includedResources) {
+
+        if (!includedResources.add(includeTemplateBlock.getTemplateResource())) {
+            return false;
+        }
+        boolean result = collectModelDependencies(includeTemplateBlock.getTemplate().getBinder(), modelDependencies, includedResources);
+        includedResources.remove(includeTemplateBlock.getTemplateResource());
+        return result;
+
+    }
+
+}
@@ -0,0 +1,401 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.MissingClosingTagException;
+
+/**
+ * Index based tokenizer that detects template blocks in a single pass over the template string.
+ * <p/>
+ * The tokenizer detects dynamic text blocks (${...}) and control blocks (!{static}, !{for ...}, !{if ...}, !{include ...})
+ * and their matching closing tags. Control tags embedded in static blocks are ignored.
+ * <p/>
+ * No substrings are created during tokenization, all detected positions are provided as indexes into the template string.
+ * This implementation is not threadsafe.
+ */
+public class TemplateBlockTokenizer {
+
+    private static final TemplateBlockType[] CONTROL_BLOCK_TYPES = {
+            TemplateBlockType.STATIC,
+            TemplateBlockType.FOR,
+            TemplateBlockType.IF,
+            TemplateBlockType.INCLUDE
+    };
+
+    private final String templateString;
+    private final int endIndex;
+
+    private int position;
+
+    // data of currently detected block
+    private TemplateBlockType templateBlockType;
+    private int blockBeginIndex;
+    private int blockEndIndex;
+    private int startTagEndIndex;
+    private int attributesBeginIndex;
+    private int attributesEndIndex;
+    private int contentBeginIndex;
+    private int contentEndIndex;
+
+    // caches for index lookups - valid for all lookups starting in range [cachedFrom,cachedIndex]
+    private int closingBraceLookupFrom = -1;
+    private int closingBraceIndex = -1;
+    private int lineTerminatorLookupFrom = -1;
+    private int lineTerminatorIndex = -1;
+
+    // used as return value of tag matching methods
+    private int matchedAttributesBeginIndex;
+    private int matchedAttributesEndIndex;
+
+
+    public TemplateBlockTokenizer(String templateString) {
+        this(templateString, 0, templateString != null ? templateString.length() : 0);
+    }
+
+    public TemplateBlockTokenizer(String templateString, int beginIndex, int endIndex) {
+
+        if (templateString == null) {
+            throw new IllegalArgumentException("passed templateString must not be null");
+        }
+        if (beginIndex < 0 || endIndex > templateString.length() || beginIndex > endIndex) {
+            throw new IllegalArgumentException("passed indexes are out of bounds");
+        }
+
+        this.templateString = templateString;
+        this.position = beginIndex;
+        this.endIndex = endIndex;
+
+    }
+
+    /**
+     * Detects the next block.
+     * Processing continues right after the last detected block.
+     *
+     * @return true if a block has been detected, otherwise false
+     * @throws MissingClosingTagException if no closing tag can be found for a detected control block
+     */
+    public boolean nextBlock() {
+
+        templateBlockType = null;
+
+        for (int i = position; i < endIndex - 1; i++) {
+
+            char currentChar = templateString.charAt(i);
+            if (templateString.charAt(i + 1) != '{') {
+                continue;
+            }
+
+            if (currentChar == '$' && detectDynamicTextBlock(i)) {
+                return true;
+            } else if (currentChar == '!' && detectControlBlock(i)) {
+                return true;
+            }
+
+        }
+
+        position = endIndex;
+        return false;
+
+    }
+
+    private boolean detectDynamicTextBlock(int index) {
+
+        int contentBeginIndex = skipWhitespaces(index + 2);
+        int closingBraceIndex = indexOfClosingBrace(contentBeginIndex);
+        if (closingBraceIndex < 0) {
+            return false;
+        }
+
+        int contentEndIndex = trimTrailingWhitespaces(contentBeginIndex, closingBraceIndex);
+        if (containsLineTerminator(contentBeginIndex, contentEndIndex)) {
+            return false;
+        }
+
+        this.templateBlockType = TemplateBlockType.DYNAMIC_TEXT;
+        this.blockBeginIndex = index;
+        this.blockEndIndex = closingBraceIndex + 1;
+        this.startTagEndIndex = closingBraceIndex + 1;
+        this.attributesBeginIndex = -1;
+        this.attributesEndIndex = -1;
+        this.contentBeginIndex = contentBeginIndex;
+        this.contentEndIndex = contentEndIndex;
+        this.position = blockEndIndex;
+
+        return true;
+    }
+
+    private boolean detectControlBlock(int index) {
+
+        for (TemplateBlockType controlBlockType : CONTROL_BLOCK_TYPES) {
+
+            int tagEndIndex = matchStartTag(index, controlBlockType);
+            if (tagEndIndex < 0) {
+                continue;
+            }
+
+            this.templateBlockType = controlBlockType;
+            this.blockBeginIndex = index;
+            this.startTagEndIndex = tagEndIndex;
+            this.attributesBeginIndex = controlBlockType.hasAttributes() ? matchedAttributesBeginIndex : -1;
+            this.attributesEndIndex = controlBlockType.hasAttributes() ? matchedAttributesEndIndex : -1;
+            this.contentBeginIndex = tagEndIndex;
+
+            findClosingTag(controlBlockType, tagEndIndex);
+            this.position = blockEndIndex;
+
+            return true;
+
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the closing tag of a control block.
+     * Nested control blocks of the same type and tags embedded in static blocks are skipped.
+     *
+     * @param controlBlockType the control block type
+     * @param index            the index right after the start tag
+     */
+    private void findClosingTag(TemplateBlockType controlBlockType, int index) {
+
+        boolean staticBlock = TemplateBlockType.STATIC == controlBlockType;
+        boolean embeddedInStaticBlock = false;
+        int depth = 1;
+
+        int tagIndex = templateString.indexOf("!{", index);
+        while (tagIndex >= 0 && tagIndex < endIndex - 1) {
+
+            int tagEndIndex;
+
+            if (embeddedInStaticBlock || staticBlock) {
+
+                tagEndIndex = matchEndTag(tagIndex, TemplateBlockType.STATIC);
+                if (tagEndIndex >= 0) {
+
+                    if (staticBlock) {
+                        setClosingTag(tagIndex, tagEndIndex);
+                        return;
+                    }
+                    embeddedInStaticBlock = false;
+
+                }
+
+            } else if ((tagEndIndex = matchStartTag(tagIndex, TemplateBlockType.STATIC)) >= 0) {
+
+                embeddedInStaticBlock = true;
+
+            } else if ((tagEndIndex = matchStartTag(tagIndex, controlBlockType)) >= 0) {
+
+                depth++;
+
+            } else if ((tagEndIndex = matchEndTag(tagIndex, controlBlockType)) >= 0) {
+
+                depth--;
+                if (depth == 0) {
+                    setClosingTag(tagIndex, tagEndIndex);
+                    return;
+                }
+
+            }
+
+            tagIndex = templateString.indexOf("!{", tagEndIndex >= 0 ? tagEndIndex : tagIndex + 2);
+
+        }
+
+        throw new MissingClosingTagException("Cannot find closing tag for " + controlBlockType.name() + " control block");
+
+    }
+
+    private void setClosingTag(int closingTagBeginIndex, int closingTagEndIndex) {
+        this.contentEndIndex = closingTagBeginIndex;
+        this.blockEndIndex = closingTagEndIndex;
+    }
+
+    /**
+     * Checks if a start tag of the passed control block type begins at index.
+     * Matches '!{command\s+(.*?)\s*}' for control blocks with attributes or '!{command\s*}' for those without.
+     *
+     * @param index            the index to check
+     * @param controlBlockType the control block type
+     * @return the end index of the tag or -1 if tag doesn't match
+     */
+    private int matchStartTag(int index, TemplateBlockType controlBlockType) {
+
+        String command = controlBlockType.getControlBlockCommand();
+        int commandIndex = index + 2;
+
+        if (commandIndex + command.length() > endIndex
+                || !templateString.startsWith("!{", index)
+                || !templateString.startsWith(command, commandIndex)) {
+            return -1;
+        }
+
+        int afterCommandIndex = commandIndex + command.length();
+
+        if (!controlBlockType.hasAttributes()) {
+            int closingBraceIndex = skipWhitespaces(afterCommandIndex);
+            return closingBraceIndex < endIndex && templateString.charAt(closingBraceIndex) == '}' ? closingBraceIndex + 1 : -1;
+        }
+
+        // at least one whitespace is needed between command and attributes
+        if (afterCommandIndex >= endIndex || !isWhitespace(templateString.charAt(afterCommandIndex))) {
+            return -1;
+        }
+
+        int attributesBeginIndex = skipWhitespaces(afterCommandIndex);
+        int closingBraceIndex = indexOfClosingBrace(attributesBeginIndex);
+        if (closingBraceIndex < 0) {
+            return -1;
+        }
+
+        int attributesEndIndex = trimTrailingWhitespaces(attributesBeginIndex, closingBraceIndex);
+        if (containsLineTerminator(attributesBeginIndex, attributesEndIndex)) {
+            return -1;
+        }
+
+        matchedAttributesBeginIndex = attributesBeginIndex;
+        matchedAttributesEndIndex = attributesEndIndex;
+
+        return closingBraceIndex + 1;
+    }
+
+    /**
+     * Checks if an end tag of the passed control block type begins at index.
+     * Matches '!{/command\s*}'.
+     *
+     * @param index            the index to check
+     * @param controlBlockType the control block type
+     * @return the end index of the tag or -1 if tag doesn't match
+     */
+    private int matchEndTag(int index, TemplateBlockType controlBlockType) {
+
+        String command = controlBlockType.getControlBlockCommand();
+        int commandIndex = index + 3;
+
+        if (commandIndex + command.length() > endIndex
+                || !templateString.startsWith("!{/", index)
+                || !templateString.startsWith(command, commandIndex)) {
+            return -1;
+        }
+
+        int closingBraceIndex = skipWhitespaces(commandIndex + command.length());
+        return closingBraceIndex < endIndex && templateString.charAt(closingBraceIndex) == '}' ? closingBraceIndex + 1 : -1;
+
+    }
+
+    private int skipWhitespaces(int index) {
+        int i = index;
+        while (i < endIndex && isWhitespace(templateString.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int trimTrailingWhitespaces(int beginIndex, int trimEndIndex) {
+        int i = trimEndIndex;
+        while (i > beginIndex && isWhitespace(templateString.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private int indexOfClosingBrace(int from) {
+
+        if (from < closingBraceLookupFrom || from > closingBraceIndex && closingBraceIndex != endIndex) {
+            closingBraceLookupFrom = from;
+            int index = templateString.indexOf('}', from);
+            closingBraceIndex = index >= 0 && index < endIndex ? index : endIndex;
+        }
+
+        return closingBraceIndex < endIndex ? closingBraceIndex : -1;
+    }
+
+    private boolean containsLineTerminator(int beginIndex, int checkEndIndex) {
+
+        if (beginIndex < lineTerminatorLookupFrom || beginIndex > lineTerminatorIndex && lineTerminatorIndex != endIndex) {
+
+            lineTerminatorLookupFrom = beginIndex;
+
+            int i = beginIndex;
+            while (i < endIndex && !isLineTerminator(templateString.charAt(i))) {
+                i++;
+            }
+            lineTerminatorIndex = i;
+
+        }
+
+        return lineTerminatorIndex < checkEndIndex;
+    }
+
+    /**
+     * Checks for whitespace characters - is equivalent to '\s' in regular expressions.
+     *
+     * @param c the character to check
+     * @return true if passed character is a whitespace, otherwise false
+     */
+    static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Checks for line terminators - those are the characters not matched by '.' in regular expressions.
+     *
+     * @param c the character to check
+     * @return true if passed character is a line terminator, otherwise false
+     */
+    public static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+
+    public TemplateBlockType getTemplateBlockType() {
+        return templateBlockType;
+    }
+
+    public int getBlockBeginIndex() {
+        return blockBeginIndex;
+    }
+
+    public int getBlockEndIndex() {
+        return blockEndIndex;
+    }
+
+    public int getStartTagEndIndex() {
+        return startTagEndIndex;
+    }
+
+    public int getAttributesBeginIndex() {
+        return attributesBeginIndex;
+    }
+
+    public int getAttributesEndIndex() {
+        return attributesEndIndex;
+    }
+
+    public int getContentBeginIndex() {
+        return contentBeginIndex;
+    }
+
+    public int getContentEndIndex() {
+        return contentEndIndex;
+    }
+
+    /**
+     * Gets the attributes of current block.
+     *
+     * @return the attributes string or null if block has no attributes
+     */
+    public String getAttributes() {
+        return attributesBeginIndex >= 0 ? templateString.substring(attributesBeginIndex, attributesEndIndex) : null;
+    }
+
+    /**
+     * Gets the content of current block.
+     * This is the access path for dynamic text blocks and the content between start and closing tag for control blocks.
+     *
+     * @return the content string
+     */
+    public String getContent() {
+        return templateString.substring(contentBeginIndex, contentEndIndex);
+    }
+
+}
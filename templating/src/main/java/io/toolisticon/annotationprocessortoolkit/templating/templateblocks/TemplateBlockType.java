@@ -1,7 +1,6 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
 import io.toolisticon.annotationprocessortoolkit.templating.NextDetectedBlockResult;
-import io.toolisticon.annotationprocessortoolkit.templating.exceptions.MissingClosingTagException;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -11,30 +10,32 @@ import java.util.regex.Pattern;
  */
 public enum TemplateBlockType {
 
-    BINDER(false),
-    PLAIN_TEXT(false),
-    DYNAMIC_TEXT(true),
-    STATIC(true, "static", false),
-    FOR(true, "for", true),
-    IF(true, "if", true),
-    INCLUDE(true,"include", true);
+    BINDER,
+    MEMOIZED,
+    TRACED,
+    PLAIN_TEXT,
+    DYNAMIC_TEXT,
+    STATIC("static", false),
+    FOR("for", true),
+    IF("if", true),
+    INCLUDE("include", true);
 
-    private final boolean usedForBlockSearch;
     private final boolean isControlBlock;
-    private final Boolean hasAttributes;
+    private final boolean hasAttributes;
     private final String controlBlockCommand;
 
     private final Pattern blockDetectionPattern;
+    private final Pattern endControlBlockPattern;
 
-    TemplateBlockType(final boolean usedForBlockSearch, final String controlBlockCommand, final Boolean hasAttributes) {
+    TemplateBlockType(final String controlBlockCommand, final Boolean hasAttributes) {
 
-        this.usedForBlockSearch = usedForBlockSearch;
         this.controlBlockCommand = controlBlockCommand;
         isControlBlock = (controlBlockCommand != null);
         this.hasAttributes = hasAttributes != null ? hasAttributes : false;
 
         if (!isControlBlock) {
             blockDetectionPattern = Pattern.compile("[$][{]\\s*((?:\\w|.)*?)\\s*[}]");
+            endControlBlockPattern = null;
         } else {
 
             if (hasAttributes) {
@@ -42,157 +43,42 @@ public enum TemplateBlockType {
             } else {
                 blockDetectionPattern = Pattern.compile("[!][{]" + controlBlockCommand + "\\s*[}]");
             }
+            endControlBlockPattern = Pattern.compile("[!][{][/]" + controlBlockCommand + "\\s*[}]");
 
         }
 
 
     }
 
-    TemplateBlockType(final boolean usedForBlockSearch) {
+    TemplateBlockType() {
 
-        this(usedForBlockSearch, null, null);
+        this(null, null);
 
     }
 
 
+    /**
+     * Gets the next block of the passed template string.
+     *
+     * @param templateString the template string to search in
+     * @return the next detected block or null if template string contains no further blocks
+     */
     public static NextDetectedBlockResult getNextBlock(final String templateString) {
 
-        int bestStartIndex = -1;
-        int endIndex = -1;
-        TemplateBlockType result = null;
-        String attributes = null;
-
-        for (TemplateBlockType templateBlockType : values()) {
-
-            // skip those enum values which represent implicit blocks
-            if (!templateBlockType.usedForBlockSearch) {
-                continue;
-            }
-
-            // check if block can be found
-            Matcher matcher = templateBlockType.blockDetectionPattern.matcher(templateString);
-
-            if (matcher.find()) {
-
-                if (result == null) {
-                    bestStartIndex = matcher.start();
-                    endIndex = matcher.end();
-                    result = templateBlockType;
-                    if (templateBlockType.hasAttributes) {
-                        attributes = matcher.group(1);
-                    }
-                } else if (bestStartIndex > matcher.start()) {
-                    bestStartIndex = matcher.start();
-                    endIndex = matcher.end();
-                    result = templateBlockType;
-                    if (templateBlockType.hasAttributes) {
-                        attributes = matcher.group(1);
-                    }
-                }
-
-            }
-
-
+        TemplateBlockTokenizer tokenizer = new TemplateBlockTokenizer(templateString);
+        if (!tokenizer.nextBlock()) {
+            return null;
         }
 
-        String content = null;
-        String remainingString = null;
-        if (result != null && result.usedForBlockSearch) {
-
-            String templateStringAfterStartTag = templateString.substring(endIndex);
-
-            if (STATIC == result) {
-
-                // just get the next closing tag
-                Matcher staticEndTagMatcher = STATIC.getEndControlBlockPattern().matcher(templateStringAfterStartTag);
-                if (staticEndTagMatcher.find()) {
-                    content = templateStringAfterStartTag.substring(0, staticEndTagMatcher.start());
-                    remainingString = templateStringAfterStartTag.substring(staticEndTagMatcher.end());
-                } else {
-                    throw new MissingClosingTagException("Cannot find closing tag for " + result.name() + " control block");
-                }
-
-
-            } else if (result.isControlBlock()) {
-
-
-                // control blocks can be wrapped and be included in static blocks, so find first end tag not wrapped in a static block
-                Matcher endControlBlockMatcher = result.getEndControlBlockPattern().matcher(templateStringAfterStartTag);
-                if (endControlBlockMatcher.find()) {
-
-                    while (controlBlockEmbeddedInStaticBlock(templateStringAfterStartTag, endControlBlockMatcher.start())) {
-
-                        // stop if no end block can be found
-                        if (!endControlBlockMatcher.find(endControlBlockMatcher.end())) {
-                            throw new MissingClosingTagException("Cannot find closing tag for " + result.name() + " control block");
-                        }
-
-                    }
-
-                }
-
-                Matcher startControlBlockMatcher = null;
-                while (true) {
-
-                    int startMatcherStartIndex = startControlBlockMatcher != null ? startControlBlockMatcher.end() : 0;
-
-
-                    // check for given start matcher in span beginning to current end tag
-                    String tmpContentStr = templateStringAfterStartTag.substring(0, endControlBlockMatcher.start());
-                    startControlBlockMatcher = result.getStartControlBlockPattern().matcher(tmpContentStr);
-
-                    boolean foundStartTagInbetween = true;
-                    if (startControlBlockMatcher.find(startMatcherStartIndex)) {
-
-                        while (controlBlockEmbeddedInStaticBlock(tmpContentStr, startControlBlockMatcher.start())) {
+        TemplateBlockType result = tokenizer.getTemplateBlockType();
 
-                            // stop if no end block can be found
-                            if (!startControlBlockMatcher.find(startControlBlockMatcher.end())) {
-                                // no start tag in between
-                                foundStartTagInbetween = false;
-                                break;
-                            }
-
-                        }
-
-                    } else {
-                        foundStartTagInbetween = false;
-                    }
-
-                    if (foundStartTagInbetween) {
-
-                        if (endControlBlockMatcher.find(endControlBlockMatcher.end())) {
-
-                            while (controlBlockEmbeddedInStaticBlock(templateStringAfterStartTag, endControlBlockMatcher.start())) {
-
-                                // stop if no end block can be found
-                                if (!endControlBlockMatcher.find(endControlBlockMatcher.end())) {
-                                    throw new MissingClosingTagException("Cannot find closing tag for " + result.name() + " control block");
-                                }
-
-                            }
-
-                        }
-
-                    } else {
-
-                        // Abort while
-                        content = templateStringAfterStartTag.substring(0, endControlBlockMatcher.start());
-                        remainingString = templateStringAfterStartTag.substring(endControlBlockMatcher.end());
-                        break;
-
-                    }
-
-
-                }
-
-            }
-
-
-        }
-
-
-        return result != null ? new NextDetectedBlockResult(result, bestStartIndex, endIndex, attributes, content, remainingString) : null;
+        return new NextDetectedBlockResult(
+                result,
+                tokenizer.getBlockBeginIndex(),
+                tokenizer.getStartTagEndIndex(),
+                tokenizer.getAttributes(),
+                result.isControlBlock() ? tokenizer.getContent() : null,
+                result.isControlBlock() ? templateString.substring(tokenizer.getBlockEndIndex()) : null);
 
     }
 
@@ -240,10 +126,23 @@ public enum TemplateBlockType {
      * @return the detection pattern for a end control block tag, otherwise null
      */
     public Pattern getEndControlBlockPattern() {
-        return isControlBlock ? Pattern.compile("[!][{][/]" + controlBlockCommand + "\\s*[}]") : null;
+        return endControlBlockPattern;
     }
 
     public boolean isControlBlock() {
         return isControlBlock;
     }
+
+    /**
+     * Gets the command used in tags of control blocks.
+     *
+     * @return the command of control blocks, otherwise null
+     */
+    public String getControlBlockCommand() {
+        return controlBlockCommand;
+    }
+
+    public boolean hasAttributes() {
+        return hasAttributes;
+    }
 }
@@ -0,0 +1,153 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compacts the static text of compiled templates.
+ * <p/>
+ * The static text of all plain text and static blocks of a template is stored once in a shared char buffer and a shared UTF-8 encoded byte buffer.
+ * Blocks just keep slices into these buffers, equal texts share the same slice.
+ * Parsed blocks only reference ranges of the template string, so each distinct text is copied and encoded just once - here.
+ * Control blocks are rebuilt without their body template strings, since their bodies are already parsed.
+ */
+public final class TemplateCompactor {
+
+    /**
+     * Hidden constructor.
+     */
+    private TemplateCompactor() {
+
+    }
+
+    /**
+     * Compacts all static text of a binder and its nested FOR and IF blocks.
+     *
+     * @param binder the binder to compact
+     * @return the compacted binder
+     */
+    public static TemplateBlockBinder compact(TemplateBlockBinder binder) {
+
+        if (binder == null) {
+            throw new IllegalArgumentException("passed binder must not be null");
+        }
+
+        Map<String, TextSlice> textSlices = new LinkedHashMap<String, TextSlice>();
+        collectTexts(binder, textSlices);
+
+        createTextSlices(textSlices);
+
+        return compact(binder, textSlices);
+
+    }
+
+    private static void collectTexts(TemplateBlockBinder binder, Map<String, TextSlice> textSlices) {
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case PLAIN_TEXT:
+                case STATIC: {
+                    String text = templateBlock.getContent(null);
+                    if (text != null) {
+                        textSlices.put(text, null);
+                    }
+                    break;
+                }
+                case FOR: {
+                    collectTexts(((ForTemplateBlock) templateBlock).getBinder(), textSlices);
+                    break;
+                }
+                case IF: {
+                    collectTexts(((IfTemplateBlock) templateBlock).getBinder(), textSlices);
+                    break;
+                }
+                default: {
+                    // other blocks don't contain static text
+                }
+
+            }
+
+        }
+
+    }
+
+    private static void createTextSlices(Map<String, TextSlice> textSlices) {
+
+        StringBuilder text = new StringBuilder();
+        ByteArrayOutputStream encodedText = new ByteArrayOutputStream();
+
+        int[] offsets = new int[textSlices.size()];
+        int[] encodedOffsets = new int[textSlices.size() + 1];
+
+        int i = 0;
+        for (String textOfSlice : textSlices.keySet()) {
+
+            offsets[i] = text.length();
+            encodedOffsets[i] = encodedText.size();
+
+            text.append(textOfSlice);
+            byte[] encodedTextOfSlice = Utf8RenderTarget.encode(textOfSlice);
+            encodedText.write(encodedTextOfSlice, 0, encodedTextOfSlice.length);
+
+            i++;
+        }
+        encodedOffsets[i] = encodedText.size();
+
+        char[] chars = new char[text.length()];
+        text.getChars(0, text.length(), chars, 0);
+        byte[] encodedChars = encodedText.toByteArray();
+
+        i = 0;
+        for (Map.Entry<String, TextSlice> entry : textSlices.entrySet()) {
+            entry.setValue(new TextSlice(chars, offsets[i], entry.getKey().length(), encodedChars, encodedOffsets[i], encodedOffsets[i + 1] - encodedOffsets[i]));
+            i++;
+        }
+
+    }
+
+    private static TemplateBlockBinder compact(TemplateBlockBinder binder, Map<String, TextSlice> textSlices) {
+
+        TemplateBlockBinder result = new TemplateBlockBinder(null);
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case PLAIN_TEXT: {
+                    String text = templateBlock.getContent(null);
+                    result.addTemplateBlock(text != null ? new PlainTextTemplateBlock(textSlices.get(text)) : templateBlock);
+                    break;
+                }
+                case STATIC: {
+                    String text = templateBlock.getContent(null);
+                    result.addTemplateBlock(text != null ? new StaticTemplateBlock(textSlices.get(text)) : templateBlock);
+                    break;
+                }
+                case FOR: {
+                    ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new ForTemplateBlock(forTemplateBlock, compact(forTemplateBlock.getBinder(), textSlices)));
+                    break;
+                }
+                case IF: {
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new IfTemplateBlock(ifTemplateBlock, ifTemplateBlock.getExpression(), compact(ifTemplateBlock.getBinder(), textSlices)));
+                    break;
+                }
+                default: {
+                    result.addTemplateBlock(templateBlock);
+                }
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+}
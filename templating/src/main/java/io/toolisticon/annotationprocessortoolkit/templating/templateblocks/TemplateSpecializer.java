@@ -0,0 +1,144 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partially evaluates template blocks against the static part of a model.
+ * <p/>
+ * Model paths starting with a key of the static model are substituted by their values.
+ * Variable text blocks and IF conditions that just depend on the static model are resolved, all other blocks are kept.
+ * Loop variables of FOR blocks shadow static model keys with the same name inside of the loop.
+ * Included templates are kept unchanged.
+ * Blocks wrapped by TRACED or MEMOIZED blocks are specialized and wrapped again, unless they are resolved completely.
+ */
+public final class TemplateSpecializer {
+
+    /**
+     * Hidden constructor.
+     */
+    private TemplateSpecializer() {
+
+    }
+
+    /**
+     * Specializes all template blocks of a binder.
+     *
+     * @param binder      the binder to specialize
+     * @param staticModel the static part of the model
+     * @return the residual binder
+     */
+    public static TemplateBlockBinder specialize(TemplateBlockBinder binder, Map<String, Object> staticModel) {
+
+        if (staticModel == null) {
+            throw new IllegalArgumentException("passed staticModel must not be null");
+        }
+
+        TemplateBlockBinderBuilder binderBuilder = new TemplateBlockBinderBuilder(null);
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case PLAIN_TEXT: {
+                    binderBuilder.addPlainText(templateBlock.getContent(null));
+                    break;
+                }
+                case DYNAMIC_TEXT: {
+
+                    VariableTextTemplateBlock variableTextTemplateBlock = (VariableTextTemplateBlock) templateBlock;
+                    Expression specializedExpression = variableTextTemplateBlock.getExpression().specialize(staticModel);
+
+                    binderBuilder.addVariableTextTemplateBlock(specializedExpression != variableTextTemplateBlock.getExpression()
+                            ? new VariableTextTemplateBlock(variableTextTemplateBlock.getAccessPath(), specializedExpression)
+                            : variableTextTemplateBlock);
+                    break;
+
+                }
+                case IF: {
+
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    binderBuilder.addIfTemplateBlock(new IfTemplateBlock(
+                            ifTemplateBlock,
+                            ifTemplateBlock.getExpression().specialize(staticModel),
+                            specialize(ifTemplateBlock.getBinder(), staticModel)));
+                    break;
+
+                }
+                case FOR: {
+
+                    ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+
+                    // loop variable shadows static model
+                    Map<String, Object> loopStaticModel = staticModel;
+                    if (staticModel.containsKey(forTemplateBlock.getLoopVariableName())) {
+                        loopStaticModel = new HashMap<String, Object>(staticModel);
+                        loopStaticModel.remove(forTemplateBlock.getLoopVariableName());
+                    }
+
+                    binderBuilder.addTemplateBlock(new ForTemplateBlock(forTemplateBlock, specialize(forTemplateBlock.getBinder(), loopStaticModel)));
+                    break;
+
+                }
+                case TRACED: {
+
+                    TracingTemplateBlock tracingTemplateBlock = (TracingTemplateBlock) templateBlock;
+                    TemplateBlock residualBlock = specializeWrappedBlock(binderBuilder, tracingTemplateBlock.getTemplateBlock(), staticModel);
+                    if (residualBlock != null) {
+                        binderBuilder.addTemplateBlock(new TracingTemplateBlock(residualBlock, tracingTemplateBlock.getListener(), tracingTemplateBlock.getTemplateName()));
+                    }
+                    break;
+
+                }
+                case MEMOIZED: {
+
+                    // specialized block reads other model paths, so it's memoized again
+                    MemoizingTemplateBlock memoizingTemplateBlock = (MemoizingTemplateBlock) templateBlock;
+                    TemplateBlock residualBlock = specializeWrappedBlock(binderBuilder, memoizingTemplateBlock.getTemplateBlock(), staticModel);
+                    if (residualBlock != null) {
+                        binderBuilder.addTemplateBlock(new MemoizingTemplateBlock(residualBlock, memoizingTemplateBlock.getFragmentCache()));
+                    }
+                    break;
+
+                }
+                default: {
+                    binderBuilder.addTemplateBlock(templateBlock);
+                }
+
+            }
+
+        }
+
+        return binderBuilder.build();
+
+    }
+
+    /**
+     * Specializes the block wrapped by another block.
+     * If the wrapped block is resolved - like IF blocks with a condition that just depends on the static model - its residual content is added to the binder builder.
+     *
+     * @param binderBuilder the binder builder to add resolved content to
+     * @param wrappedBlock  the wrapped block
+     * @param staticModel   the static part of the model
+     * @return the residual block to wrap again or null if the wrapped block has been resolved
+     */
+    private static TemplateBlock specializeWrappedBlock(TemplateBlockBinderBuilder binderBuilder, TemplateBlock wrappedBlock, Map<String, Object> staticModel) {
+
+        TemplateBlockBinder wrappedBinder = new TemplateBlockBinder(null);
+        wrappedBinder.addTemplateBlock(wrappedBlock);
+
+        TemplateBlockBinder residualBinder = specialize(wrappedBinder, staticModel);
+        List<TemplateBlock> residualBlocks = residualBinder.getTemplateBlocks();
+        if (residualBlocks.size() == 1 && residualBlocks.get(0).getTemplateBlockType() == wrappedBlock.getTemplateBlockType()) {
+            return residualBlocks.get(0);
+        }
+
+        binderBuilder.addTemplateBlocks(residualBinder);
+        return null;
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Immutable static text of a template block.
+ * <p/>
+ * Slices of parsed templates are just ranges of the template string, no text is copied or encoded while parsing.
+ * Slices of compiled templates are slices of a char buffer and of its UTF-8 encoded counterpart. Buffers are shared by all slices of a compiled template.
+ */
+final class TextSlice {
+
+    private final String sourceString;
+
+    private final char[] chars;
+    private final int offset;
+    private final int length;
+
+    private final byte[] encodedChars;
+    private final int encodedOffset;
+    private final int encodedLength;
+
+    TextSlice(char[] chars, int offset, int length, byte[] encodedChars, int encodedOffset, int encodedLength) {
+        this.sourceString = null;
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+        this.encodedChars = encodedChars;
+        this.encodedOffset = encodedOffset;
+        this.encodedLength = encodedLength;
+    }
+
+    private TextSlice(String sourceString, int offset, int length) {
+        this.sourceString = sourceString;
+        this.chars = null;
+        this.offset = offset;
+        this.length = length;
+        this.encodedChars = null;
+        this.encodedOffset = 0;
+        this.encodedLength = 0;
+    }
+
+    /**
+     * Creates a slice that references the passed text.
+     *
+     * @param text the text
+     * @return the slice or null if passed text is null
+     */
+    static TextSlice of(String text) {
+        return text != null ? new TextSlice(text, 0, text.length()) : null;
+    }
+
+    /**
+     * Creates a slice that references a range of a template string.
+     * The text is neither copied nor encoded, this is done once for all slices when the template is compacted.
+     *
+     * @param sourceString the template string
+     * @param beginIndex   the begin index of the text
+     * @param endIndex     the end index of the text
+     * @return the slice
+     */
+    static TextSlice of(String sourceString, int beginIndex, int endIndex) {
+        return new TextSlice(sourceString, beginIndex, endIndex - beginIndex);
+    }
+
+    /**
+     * Writes the text without creating intermediate Strings.
+     *
+     * @param out the Appendable to write to
+     * @throws IOException if passed Appendable can't be written
+     */
+    void render(Appendable out) throws IOException {
+
+        if (sourceString != null) {
+            renderSourceString(out);
+        } else if (out instanceof Utf8RenderTarget) {
+            ((Utf8RenderTarget) out).writeEncoded(encodedChars, encodedOffset, encodedLength);
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, offset, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, offset, length);
+        } else {
+            out.append(CharBuffer.wrap(chars, offset, length));
+        }
+
+    }
+
+    private void renderSourceString(Appendable out) throws IOException {
+
+        if (out instanceof Writer) {
+            ((Writer) out).write(sourceString, offset, length);
+        } else {
+            out.append(sourceString, offset, offset + length);
+        }
+
+    }
+
+    /**
+     * Gets the shared char buffer.
+     *
+     * @return the char buffer or null if the slice references a template string
+     */
+    char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * Gets the shared UTF-8 encoded buffer.
+     *
+     * @return the encoded buffer or null if the slice references a template string
+     */
+    byte[] getEncodedChars() {
+        return encodedChars;
+    }
+
+    @Override
+    public String toString() {
+        return sourceString != null ? sourceString.substring(offset, offset + length) : new String(chars, offset, length);
+    }
+
+}
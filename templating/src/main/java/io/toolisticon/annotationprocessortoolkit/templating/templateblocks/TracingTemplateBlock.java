@@ -0,0 +1,238 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateRenderingListener;
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expression;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Map;
+
+/**
+ * Template block that reports rendering of another template block to a {@link TemplateRenderingListener}.
+ * <p/>
+ * Output lengths are counted in chars, or in UTF-8 encoded bytes for {@link Utf8RenderTarget}.
+ * Expressions shared by multiple blocks are just reported if they are evaluated, not if their cached result is read.
+ */
+public class TracingTemplateBlock implements TemplateBlock {
+
+    /**
+     * Writer that counts the chars written to an Appendable.
+     * Is a Writer, so static text is still written in bulk instead of char by char.
+     */
+    private static class CountingWriter extends Writer {
+
+        private final Appendable out;
+        private long length = 0L;
+
+        private CountingWriter(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            length += len;
+            if (out instanceof Writer) {
+                ((Writer) out).write(cbuf, off, len);
+            } else {
+                out.append(CharBuffer.wrap(cbuf, off, len));
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            length += len;
+            if (out instanceof Writer) {
+                ((Writer) out).write(str, off, len);
+            } else {
+                out.append(str, off, off + len);
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            length++;
+            out.append((char) c);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) throws IOException {
+            length += csq != null ? csq.length() : 4;
+            out.append(csq);
+            return this;
+        }
+
+        @Override
+        public Writer append(CharSequence csq, int start, int end) throws IOException {
+            length += end - start;
+            out.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public Writer append(char c) throws IOException {
+            length++;
+            out.append(c);
+            return this;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out instanceof Flushable) {
+                ((Flushable) out).flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            // the wrapped Appendable is closed by its owner
+        }
+
+    }
+
+    private final TemplateBlock templateBlock;
+    private final TemplateRenderingListener listener;
+    private final String templateName;
+    private final String expression;
+    private final SharedExpression sharedExpression;
+
+    public TracingTemplateBlock(TemplateBlock templateBlock, TemplateRenderingListener listener, String templateName) {
+
+        if (templateBlock == null || listener == null || templateName == null) {
+            throw new IllegalArgumentException("passed templateBlock, listener and templateName must not be null");
+        }
+
+        this.templateBlock = templateBlock;
+        this.listener = listener;
+        this.templateName = templateName;
+
+        Expression evaluatedExpression;
+        switch (templateBlock.getTemplateBlockType()) {
+            case DYNAMIC_TEXT: {
+                this.expression = ((VariableTextTemplateBlock) templateBlock).getAccessPath();
+                evaluatedExpression = ((VariableTextTemplateBlock) templateBlock).getExpression();
+                break;
+            }
+            case IF: {
+                this.expression = ((IfTemplateBlock) templateBlock).getAccessPath();
+                evaluatedExpression = ((IfTemplateBlock) templateBlock).getExpression();
+                break;
+            }
+            default: {
+                this.expression = null;
+                evaluatedExpression = null;
+            }
+        }
+        this.sharedExpression = evaluatedExpression instanceof SharedExpression ? (SharedExpression) evaluatedExpression : null;
+
+    }
+
+    /**
+     * Wraps all FOR, IF, INCLUDE and DYNAMIC_TEXT blocks of a binder - including the blocks nested in FOR and IF blocks - into tracing template blocks.
+     *
+     * @param binder       the binder to trace
+     * @param listener     the listener to report to
+     * @param templateName the name of the template
+     * @return the binder with traced blocks
+     */
+    public static TemplateBlockBinder trace(TemplateBlockBinder binder, TemplateRenderingListener listener, String templateName) {
+
+        TemplateBlockBinder result = new TemplateBlockBinder(null);
+
+        for (TemplateBlock templateBlock : binder.getTemplateBlocks()) {
+
+            switch (templateBlock.getTemplateBlockType()) {
+
+                case FOR: {
+                    ForTemplateBlock forTemplateBlock = (ForTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new TracingTemplateBlock(new ForTemplateBlock(forTemplateBlock, trace(forTemplateBlock.getBinder(), listener, templateName)), listener, templateName));
+                    break;
+                }
+                case IF: {
+                    IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) templateBlock;
+                    result.addTemplateBlock(new TracingTemplateBlock(new IfTemplateBlock(ifTemplateBlock, ifTemplateBlock.getExpression(), trace(ifTemplateBlock.getBinder(), listener, templateName)), listener, templateName));
+                    break;
+                }
+                case INCLUDE:
+                case DYNAMIC_TEXT: {
+                    result.addTemplateBlock(new TracingTemplateBlock(templateBlock, listener, templateName));
+                    break;
+                }
+                default: {
+                    result.addTemplateBlock(templateBlock);
+                }
+
+            }
+
+        }
+
+        return result;
+
+    }
+
+    @Override
+    public TemplateBlockType getTemplateBlockType() {
+        return TemplateBlockType.TRACED;
+    }
+
+    @Override
+    public String getContent(Map<String, Object> variables) {
+        return RenderUtilities.renderToString(this, variables);
+    }
+
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
+
+        // must be checked before rendering, since rendering caches the result of shared expressions
+        boolean expressionEvaluated = expression != null && (sharedExpression == null || !sharedExpression.isResultCached(variables));
+
+        long startTime = System.nanoTime();
+        long outputLength;
+
+        // targets that know their length aren't wrapped, so static text is still written to them without intermediate copies or encoding
+        if (out instanceof Utf8RenderTarget) {
+
+            Utf8RenderTarget renderTarget = (Utf8RenderTarget) out;
+            long lengthBefore = renderTarget.getLength();
+            templateBlock.render(variables, out);
+            outputLength = renderTarget.getLength() - lengthBefore;
+
+        } else if (out instanceof StringBuilder) {
+
+            StringBuilder stringBuilder = (StringBuilder) out;
+            int lengthBefore = stringBuilder.length();
+            templateBlock.render(variables, out);
+            outputLength = stringBuilder.length() - lengthBefore;
+
+        } else {
+
+            CountingWriter countingOut = new CountingWriter(out);
+            templateBlock.render(variables, countingOut);
+            outputLength = countingOut.length;
+
+        }
+
+        long renderTime = System.nanoTime() - startTime;
+
+        if (expressionEvaluated) {
+            listener.expressionEvaluated(templateName, expression);
+        }
+        listener.blockRendered(templateName, templateBlock.getTemplateBlockType(), renderTime, outputLength);
+
+    }
+
+    public TemplateBlock getTemplateBlock() {
+        return templateBlock;
+    }
+
+    public TemplateRenderingListener getListener() {
+        return listener;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+}
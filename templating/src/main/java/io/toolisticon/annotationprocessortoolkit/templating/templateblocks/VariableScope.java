@@ -0,0 +1,132 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A layered variable scope.
+ * <p/>
+ * Variables are looked up in the local frame first and then in the parent scope.
+ * Local variables shadow variables of the parent scope, the parent scope is never copied or modified.
+ * <p/>
+ * Iterating over the scope creates a merged snapshot of all visible variables, so lookups via get and containsKey should be preferred.
+ * <p/>
+ * Each scope frame can cache results of expressions whose variables are defined in the frame. The cache is invalidated whenever a variable of the frame is set.
+ * <p/>
+ * Setting variables isn't threadsafe, the expression cache is.
+ */
+public class VariableScope extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> parentScope;
+    private final Map<String, Object> localVariables = new HashMap<String, Object>(4);
+
+    private Map<Object, Operand> expressionCache;
+
+    /**
+     * Creates a new scope.
+     *
+     * @param parentScope the parent scope, may be null
+     */
+    public VariableScope(Map<String, Object> parentScope) {
+        this.parentScope = parentScope != null ? parentScope : Collections.<String, Object>emptyMap();
+    }
+
+    @Override
+    public Object get(Object key) {
+
+        Object value = localVariables.get(key);
+        if (value != null || localVariables.containsKey(key)) {
+            return value;
+        }
+
+        return parentScope.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return localVariables.containsKey(key) || parentScope.containsKey(key);
+    }
+
+    /**
+     * Sets a variable in the local frame of this scope.
+     *
+     * @param key   the name of the variable
+     * @param value the value of the variable
+     * @return the previously visible value of the variable
+     */
+    @Override
+    public Object put(String key, Object value) {
+
+        Object previouslyVisibleValue = get(key);
+        localVariables.put(key, value);
+
+        synchronized (this) {
+            if (expressionCache != null) {
+                expressionCache.clear();
+            }
+        }
+
+        return previouslyVisibleValue;
+
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+
+        Map<String, Object> mergedVariables = new HashMap<String, Object>(parentScope);
+        mergedVariables.putAll(localVariables);
+
+        return Collections.unmodifiableMap(mergedVariables).entrySet();
+
+    }
+
+    /**
+     * Gets the innermost scope frame that defines one of the passed variables.
+     * The outermost scope frame is returned if none of the variables is defined by a scope frame.
+     *
+     * @param variableNames the names of the variables
+     * @return the scope frame
+     */
+    VariableScope getDefiningScope(Set<String> variableNames) {
+
+        VariableScope scope = this;
+        while (true) {
+
+            for (String variableName : variableNames) {
+                if (scope.localVariables.containsKey(variableName)) {
+                    return scope;
+                }
+            }
+
+            if (!(scope.parentScope instanceof VariableScope)) {
+                return scope;
+            }
+            scope = (VariableScope) scope.parentScope;
+
+        }
+
+    }
+
+    synchronized Operand getCachedExpressionResult(Object expression) {
+        return expressionCache != null ? expressionCache.get(expression) : null;
+    }
+
+    synchronized void cacheExpressionResult(Object expression, Operand result) {
+
+        if (expressionCache == null) {
+            expressionCache = new HashMap<Object, Operand>(8);
+        }
+        expressionCache.put(expression, result);
+
+    }
+
+    public Map<String, Object> getParentScope() {
+        return parentScope;
+    }
+
+}
@@ -4,6 +4,7 @@ import io.toolisticon.annotationprocessortoolkit.templating.expressions.Expressi
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.ExpressionParser;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -13,12 +14,19 @@ public class VariableTextTemplateBlock implements TemplateBlock {
 
 
     private final String accessPath;
+    private final Expression expression;
 
     public VariableTextTemplateBlock(String accessPath) {
         if (accessPath == null || accessPath.trim().isEmpty()) {
             throw new IllegalArgumentException("Passed accessPath must not be null or empty");
         }
         this.accessPath = accessPath;
+        this.expression = ExpressionParser.parseExpression(accessPath);
+    }
+
+    VariableTextTemplateBlock(String accessPath, Expression expression) {
+        this.accessPath = accessPath;
+        this.expression = expression;
     }
 
 
@@ -31,14 +39,34 @@ public class VariableTextTemplateBlock implements TemplateBlock {
     public String getContent(Map<String, Object> variables) {
 
 
-        Expression expression = ExpressionParser.parseExpression(accessPath, variables);
-        Operand result = expression.evaluateExpression();
+        Operand result = expression.evaluateExpression(variables);
 
         return result.value() != null ? result.value().toString() : null;
 
     }
 
-    protected String getAccessPath() {
+    @Override
+    public void render(Map<String, Object> variables, Appendable out) throws IOException {
+        out.append(getContent(variables));
+    }
+
+    /**
+     * Gets the content of an expression that doesn't depend on the model.
+     *
+     * @return the content or null if the expression depends on the model
+     */
+    public String getConstantContent() {
+
+        Operand result = expression.evaluateConstantExpression();
+        return result != null ? String.valueOf(result.value()) : null;
+
+    }
+
+    Expression getExpression() {
+        return expression;
+    }
+
+    public String getAccessPath() {
         return this.accessPath;
     }
 }
@@ -0,0 +1,127 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test utility that compiles generated template renderer sources in memory and loads them.
+ */
+public final class GeneratedTemplateRendererLoader {
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private ClassFile(String className) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+    }
+
+    private static class InMemoryClassLoader extends ClassLoader {
+
+        private final Map<String, ClassFile> classFiles;
+
+        private InMemoryClassLoader(Map<String, ClassFile> classFiles) {
+            super(GeneratedTemplateRendererLoader.class.getClassLoader());
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+
+            ClassFile classFile = classFiles.get(name);
+            if (classFile == null) {
+                throw new ClassNotFoundException(name);
+            }
+
+            byte[] bytes = classFile.bytes.toByteArray();
+            return defineClass(name, bytes, 0, bytes.length);
+
+        }
+
+    }
+
+    /**
+     * Hidden constructor.
+     */
+    private GeneratedTemplateRendererLoader() {
+
+    }
+
+    /**
+     * Compiles the passed renderer source and creates an instance of the renderer.
+     *
+     * @param fullyQualifiedClassName the fully qualified class name of the renderer
+     * @param source                  the generated source
+     * @return the renderer instance
+     */
+    public static TemplateRenderer load(String fullyQualifiedClassName, String source) throws Exception {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(null, null, null);
+
+        final Map<String, ClassFile> classFiles = new HashMap<String, ClassFile>();
+        JavaFileManager fileManager = new ForwardingJavaFileManager<StandardJavaFileManager>(standardFileManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                ClassFile classFile = new ClassFile(className);
+                classFiles.put(className, classFile);
+                return classFile;
+            }
+        };
+
+        StringWriter compilerOutput = new StringWriter();
+        boolean success = compiler.getTask(
+                compilerOutput,
+                fileManager,
+                null,
+                Arrays.asList("-classpath", System.getProperty("java.class.path"), "-proc:none"),
+                null,
+                Collections.singletonList(new SourceFile(fullyQualifiedClassName, source))
+        ).call();
+
+        if (!success) {
+            throw new IllegalStateException("Compilation of generated renderer failed : " + compilerOutput + "\n" + source);
+        }
+
+        return (TemplateRenderer) new InMemoryClassLoader(classFiles).loadClass(fullyQualifiedClassName).newInstance();
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LruCache}.
+ */
+public class LruCacheTest {
+
+    @Test
+    public void get_shouldCountHitsAndMisses() {
+
+        LruCache<String, String> unit = new LruCache<String, String>(10);
+        unit.put("a", "A");
+
+        MatcherAssert.assertThat(unit.get("a"), Matchers.is("A"));
+        MatcherAssert.assertThat(unit.get("b"), Matchers.nullValue());
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(1L));
+
+    }
+
+    @Test
+    public void put_shouldEvictLeastRecentlyUsedEntry() {
+
+        LruCache<String, String> unit = new LruCache<String, String>(2);
+        unit.put("a", "A");
+        unit.put("b", "B");
+
+        // touch a, so b is the least recently used entry
+        unit.get("a");
+        unit.put("c", "C");
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(2));
+        MatcherAssert.assertThat(unit.get("a"), Matchers.is("A"));
+        MatcherAssert.assertThat(unit.get("b"), Matchers.nullValue());
+        MatcherAssert.assertThat(unit.get("c"), Matchers.is("C"));
+
+    }
+
+    @Test
+    public void setMaximumSize_shouldEvictEntries() {
+
+        LruCache<String, String> unit = new LruCache<String, String>(10);
+        unit.put("a", "A");
+        unit.put("b", "B");
+        unit.put("c", "C");
+
+        unit.setMaximumSize(1);
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(1));
+        MatcherAssert.assertThat(unit.getMaximumSize(), Matchers.is(1));
+        MatcherAssert.assertThat(unit.get("c"), Matchers.is("C"));
+
+    }
+
+    @Test
+    public void maximumSizeOfZeroDisablesCaching() {
+
+        LruCache<String, String> unit = new LruCache<String, String>(0);
+        unit.put("a", "A");
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+        MatcherAssert.assertThat(unit.get("a"), Matchers.nullValue());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaximumSize_negativeSize() {
+        new LruCache<String, String>(-1);
+    }
+
+    @Test
+    public void clear_shouldRemoveEntriesAndResetCounters() {
+
+        LruCache<String, String> unit = new LruCache<String, String>(10);
+        unit.put("a", "A");
+        unit.get("a");
+        unit.get("b");
+
+        unit.clear();
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(0L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(0L));
+
+    }
+
+}
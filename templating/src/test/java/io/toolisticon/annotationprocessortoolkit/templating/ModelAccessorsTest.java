@@ -0,0 +1,113 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link ModelAccessors}.
+ */
+public class ModelAccessorsTest {
+
+    public static class Pojo {
+
+        public String getValue() {
+            return "VALUE";
+        }
+
+        public String getReflective() {
+            return "REFLECTIVE";
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("FAILED");
+        }
+
+    }
+
+    public static class PojoModelAccessor implements ModelAccessor {
+
+        private int accessCount = 0;
+
+        @Override
+        public Class<?> getModelType() {
+            return Pojo.class;
+        }
+
+        @Override
+        public Class<?> getPropertyType(String propertyName) {
+            return "value".equals(propertyName) || "failing".equals(propertyName) ? String.class : null;
+        }
+
+        @Override
+        public Object getPropertyValue(Object model, String propertyName) {
+            accessCount++;
+            return "value".equals(propertyName) ? ((Pojo) model).getValue() : ((Pojo) model).getFailing();
+        }
+
+    }
+
+    @After
+    public void unregister() {
+        ModelAccessors.unregister(Pojo.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void register_nullSafety() {
+        ModelAccessors.register(null);
+    }
+
+    @Test
+    public void getModelAccessor_registeredAccessor() {
+
+        PojoModelAccessor modelAccessor = new PojoModelAccessor();
+
+        MatcherAssert.assertThat(ModelAccessors.getModelAccessor(Pojo.class), Matchers.nullValue());
+
+        ModelAccessors.register(modelAccessor);
+        MatcherAssert.assertThat(ModelAccessors.getModelAccessor(Pojo.class), Matchers.is((ModelAccessor) modelAccessor));
+        MatcherAssert.assertThat(ModelAccessors.getModelAccessor(null), Matchers.nullValue());
+
+        ModelAccessors.unregister(Pojo.class);
+        MatcherAssert.assertThat(ModelAccessors.getModelAccessor(Pojo.class), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void resolve_modelPathUsesAccessorAndFallsBackToReflection() {
+
+        PojoModelAccessor modelAccessor = new PojoModelAccessor();
+        ModelAccessors.register(modelAccessor);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new Pojo());
+
+        ModelPathResolver.ResolvedModelPathResult result = new ModelPath("pojo.value").resolve(model);
+        MatcherAssert.assertThat(result.getValue(), Matchers.is((Object) "VALUE"));
+        MatcherAssert.assertThat(result.getType(), Matchers.is((Object) String.class));
+        MatcherAssert.assertThat(modelAccessor.accessCount, Matchers.is(1));
+
+        // not provided by accessor
+        MatcherAssert.assertThat(new ModelPath("pojo.reflective").resolve(model).getValue(), Matchers.is((Object) "REFLECTIVE"));
+        MatcherAssert.assertThat(modelAccessor.accessCount, Matchers.is(1));
+
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void resolve_exceptionsOfAccessorAreWrapped() {
+
+        ModelAccessors.register(new PojoModelAccessor());
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new Pojo());
+
+        new ModelPath("pojo.failing").resolve(model);
+
+    }
+
+}
@@ -1,9 +1,13 @@
 package io.toolisticon.annotationprocessortoolkit.templating;
 
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Unit test for {@link ModelPathResolver}.
  */
@@ -88,4 +92,61 @@ public class ModelPathResolverTest {
 
     }
 
+    public static class ResolveModelPathTestBaseClass {
+
+        public Object getValue() {
+            return "BASE";
+        }
+
+        public boolean isFlag() {
+            return true;
+        }
+
+    }
+
+    public static class ResolveModelPathTestClass extends ResolveModelPathTestBaseClass {
+
+        @Override
+        public String getValue() {
+            return "OVERRIDDEN";
+        }
+
+    }
+
+    @Test
+    public void resolveModelPath_pojoGettersAreResolvedRepeatedly() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new ResolveModelPathTestClass());
+
+        for (int i = 0; i < 3; i++) {
+
+            ModelPathResolver.ResolvedModelPathResult result = ModelPathResolver.resolveModelPath(model, "pojo.value");
+            MatcherAssert.assertThat(result.getValue(), Matchers.is((Object) "OVERRIDDEN"));
+            MatcherAssert.assertThat(result.getType(), Matchers.equalTo((Class) String.class));
+
+            result = ModelPathResolver.resolveModelPath(model, "pojo.flag");
+            MatcherAssert.assertThat(result.getValue(), Matchers.is((Object) true));
+
+        }
+
+    }
+
+    @Test
+    public void resolveModelPath_nonResolvableTokenMustThrowExceptionRepeatedly() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new ResolveModelPathTestClass());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                ModelPathResolver.resolveModelPath(model, "pojo.xxx");
+                MatcherAssert.assertThat("Expected InvalidPathException", false);
+            } catch (InvalidPathException e) {
+                // expected
+            }
+        }
+
+    }
+
 }
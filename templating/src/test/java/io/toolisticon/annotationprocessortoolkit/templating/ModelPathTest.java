@@ -0,0 +1,125 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link ModelPath}.
+ */
+public class ModelPathTest {
+
+    public static class PojoA {
+
+        public String getValue() {
+            return "A";
+        }
+
+        public Map<String, Object> getMap() {
+            Map<String, Object> map = new HashMap<String, Object>();
+            map.put("key", "MAP");
+            return map;
+        }
+
+    }
+
+    public static class PojoB {
+
+        public String getValue() {
+            return "B";
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nullSafety() {
+        new ModelPath(null);
+    }
+
+    @Test
+    public void getPathTokens_shouldSplitLikeRegularExpressionBasedSplit() {
+
+        String[] paths = {"abc", "abc.def.ghi", "", ".abc", "abc..def", "abc.", "abc..", "...", " abc . def "};
+
+        for (String path : paths) {
+            MatcherAssert.assertThat(path, new ModelPath(path).getPathTokens(), Matchers.equalTo(path.split("[.]")));
+        }
+
+    }
+
+    @Test
+    public void resolve_nullModel() {
+        MatcherAssert.assertThat(new ModelPath("abc").resolve(null), Matchers.nullValue());
+    }
+
+    @Test
+    public void resolve_mapsAndPojos() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new PojoA());
+
+        ModelPath unit = new ModelPath("pojo.map.key");
+
+        MatcherAssert.assertThat(unit.resolve(model).getValue(), Matchers.is((Object) "MAP"));
+        MatcherAssert.assertThat(unit.resolve(model).getType(), Matchers.equalTo((Class) String.class));
+
+    }
+
+    @Test
+    public void resolve_changingNodeTypesMustBeHandledCorrectly() {
+
+        ModelPath unit = new ModelPath("pojo.value");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+
+        model.put("pojo", new PojoA());
+        MatcherAssert.assertThat(unit.resolve(model).getValue(), Matchers.is((Object) "A"));
+
+        model.put("pojo", new PojoB());
+        MatcherAssert.assertThat(unit.resolve(model).getValue(), Matchers.is((Object) "B"));
+
+        Map<String, Object> mapNode = new HashMap<String, Object>();
+        mapNode.put("value", "MAP");
+        model.put("pojo", mapNode);
+        MatcherAssert.assertThat(unit.resolve(model).getValue(), Matchers.is((Object) "MAP"));
+
+        model.put("pojo", new PojoA());
+        MatcherAssert.assertThat(unit.resolve(model).getValue(), Matchers.is((Object) "A"));
+
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void resolve_nonResolvablePojoToken() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", new PojoB());
+
+        new ModelPath("pojo.map").resolve(model);
+
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void resolve_nullValueInPath() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("pojo", null);
+
+        new ModelPath("pojo.value").resolve(model);
+
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void resolve_arrayInPath() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("array", new String[]{"A"});
+
+        new ModelPath("array.length").resolve(model);
+
+    }
+
+}
@@ -1,12 +1,17 @@
 package io.toolisticon.annotationprocessortoolkit.templating;
 
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidIncludeModelExpression;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockBinder;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
 import io.toolisticon.annotationprocessortoolkit.templating.testclasses.TestClass2;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,8 +21,19 @@ import java.util.Map;
 /**
  * Unit test for {@link ParseUtilities}.
  */
+@RunWith(Parameterized.class)
 public class ParseUtilitiesTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> engines() {
+        return TemplateEngine.parameters();
+    }
+
+    private final TemplateEngine engine;
+
+    public ParseUtilitiesTest(TemplateEngine engine) {
+        this.engine = engine;
+    }
 
     @Test
     public void readResourceToStringTest() throws Exception {
@@ -61,7 +77,7 @@ public class ParseUtilitiesTest {
         model.put("pojo", new ParseStringTestPojo());
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(values), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, values), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -99,7 +115,7 @@ public class ParseUtilitiesTest {
         values.put("model", model);
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(values), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, values), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -124,7 +140,7 @@ public class ParseUtilitiesTest {
         values.put("xyz", true);
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(values), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, values), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -140,7 +156,7 @@ public class ParseUtilitiesTest {
         values.put("xyz", true);
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(values), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, values), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -157,7 +173,7 @@ public class ParseUtilitiesTest {
         values.put("test", new TestClass2());
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(values), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, values), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -177,7 +193,7 @@ public class ParseUtilitiesTest {
         subModel.put("bridge", subSubModel);
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(model), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is(EXPECTED_RESULT));
 
     }
 
@@ -197,11 +213,61 @@ public class ParseUtilitiesTest {
         subModel.put("bridge", subSubModel);
 
 
-        MatcherAssert.assertThat(ParseUtilities.parseString(TEMPLATE_STRING).getContent(model), Matchers.is(EXPECTED_RESULT));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is(EXPECTED_RESULT));
 
     }
 
 
+    @Test
+    public void parseString_constantIfBlocksAreEliminatedAndPlainTextIsMerged() {
+
+        final String TEMPLATE_STRING = "a!{if 1 > 2}X!{/if}b!{if true && !false}c${'d' + 1}!{/if}e${value}f";
+        TemplateBlockBinder binder = ParseUtilities.parseString(TEMPLATE_STRING);
+
+        MatcherAssert.assertThat(binder.getTemplateBlocks().size(), Matchers.is(3));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.PLAIN_TEXT));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(0).getContent(null), Matchers.is("abcd1e"));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(1).getTemplateBlockType(), Matchers.is(TemplateBlockType.DYNAMIC_TEXT));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(2).getContent(null), Matchers.is("f"));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("value", "V");
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("abcd1eVf"));
+
+    }
+
+    @Test(expected = InvalidExpressionResult.class)
+    public void parseString_constantNonBooleanIfConditionFailsOnRendering() {
+
+        engine.render("!{if 5}X!{/if}", new HashMap<String, Object>());
+
+    }
+
+
+    @Test
+    public void parseString_blockContentIsTrimmedLikeTrimContentString() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("flag", true);
+        model.put("value", "V");
+        model.put("values", new String[]{"1", "2"});
+
+        String[] contents = {
+                "    \nabc", "    \n   abc", "    \n   \nabc", "\nabc\n  ", "abc  \n", "abc  \r\n", "abc \r  \n", "abc   ",
+                " \n \n", "   ", "", "\n", "${value}  \n", "  \n!{for v : values}${v}  \n!{/for}  \n"
+        };
+
+        for (String content : contents) {
+
+            String expectedResult = engine.render(ParseUtilities.trimContentString(content), model);
+
+            MatcherAssert.assertThat(content, engine.render("!{if flag}" + content + "!{/if}", model), Matchers.is(expectedResult));
+            MatcherAssert.assertThat(content, engine.render("-!{for v : values}" + content + "!{/for}-", model), Matchers.is("-" + expectedResult + expectedResult + "-"));
+
+        }
+
+    }
+
     @Test
     public void trimContentString_trimContentString_Test() {
         MatcherAssert.assertThat(ParseUtilities.trimContentString("    \nabc"), Matchers.is("abc"));
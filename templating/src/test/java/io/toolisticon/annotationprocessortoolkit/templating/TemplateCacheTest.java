@@ -0,0 +1,187 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateCache}.
+ */
+public class TemplateCacheTest {
+
+    @Test
+    public void getTemplateForString_shouldReuseCompiledTemplate() {
+
+        TemplateCache unit = new TemplateCache();
+
+        Template template = unit.getTemplateForString("${abc}");
+
+        MatcherAssert.assertThat(unit.getTemplateForString("${abc}"), Matchers.sameInstance(template));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.size(), Matchers.is(1));
+
+    }
+
+    @Test
+    public void getTemplateForResource_shouldReuseCompiledTemplate() {
+
+        TemplateCache unit = new TemplateCache();
+
+        Template template = unit.getTemplateForResource("/TestTemplateProcessorTemplateFile.tpl");
+
+        MatcherAssert.assertThat(unit.getTemplateForResource("/TestTemplateProcessorTemplateFile.tpl"), Matchers.sameInstance(template));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(1L));
+
+    }
+
+    @Test
+    public void resourceNamesAndTemplateStringsMustNotCollide() {
+
+        TemplateCache unit = new TemplateCache();
+
+        Template resourceTemplate = unit.getTemplateForResource("/TestTemplateProcessorTemplateFile.tpl");
+        Template stringTemplate = unit.getTemplateForString("/TestTemplateProcessorTemplateFile.tpl");
+
+        MatcherAssert.assertThat(stringTemplate, Matchers.not(Matchers.sameInstance(resourceTemplate)));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void getTemplateForString_shouldReuseCompiledTemplateForEqualContent() {
+
+        TemplateCache unit = new TemplateCache();
+
+        Template template = unit.getTemplateForString(new String("${value}"));
+
+        MatcherAssert.assertThat(unit.getTemplateForString(new String("${value}")), Matchers.sameInstance(template));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(1L));
+
+    }
+
+    @Test
+    public void getTemplateForString_templateStringsWithSameHashCodeMustNotCollide() {
+
+        TemplateCache unit = new TemplateCache();
+
+        // "Aa" and "BB" have the same String hash code
+        MatcherAssert.assertThat("Aa".hashCode(), Matchers.is("BB".hashCode()));
+
+        Template template1 = unit.getTemplateForString("Aa");
+        Template template2 = unit.getTemplateForString("BB");
+
+        MatcherAssert.assertThat(template2, Matchers.not(Matchers.sameInstance(template1)));
+        MatcherAssert.assertThat(template2.render(null), Matchers.is("BB"));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedTemplate() {
+
+        TemplateCache unit = new TemplateCache(2);
+
+        Template templateA = unit.getTemplateForString("A");
+        unit.getTemplateForString("B");
+
+        // touch A, so B is the least recently used template
+        unit.getTemplateForString("A");
+        unit.getTemplateForString("C");
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(2));
+        MatcherAssert.assertThat(unit.getTemplateForString("A"), Matchers.sameInstance(templateA));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(3L));
+
+        unit.getTemplateForString("B");
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(4L));
+
+    }
+
+    @Test
+    public void setMaximumSize_shouldEvictTemplates() {
+
+        TemplateCache unit = new TemplateCache();
+        unit.getTemplateForString("A");
+        unit.getTemplateForString("B");
+        unit.getTemplateForString("C");
+
+        unit.setMaximumSize(1);
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(1));
+        MatcherAssert.assertThat(unit.getMaximumSize(), Matchers.is(1));
+
+    }
+
+    @Test
+    public void maximumSizeOfZeroDisablesCaching() {
+
+        TemplateCache unit = new TemplateCache(0);
+        unit.getTemplateForString("A");
+        unit.getTemplateForString("A");
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaximumSize_negativeSize() {
+        new TemplateCache(-1);
+    }
+
+    @Test
+    public void clear_shouldRemoveTemplatesAndResetCounters() {
+
+        TemplateCache unit = new TemplateCache();
+        unit.getTemplateForString("A");
+        unit.getTemplateForString("A");
+
+        unit.clear();
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(0L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(0L));
+
+    }
+
+    @Test
+    public void setRenderingListener_shouldReportParsingAndRenderingOfIncludedTemplates() {
+
+        TemplateCache unit = new TemplateCache();
+        Template untracedTemplate = unit.getTemplateForString("!{include resource:'/TestTemplateProcessorTemplateFile.tpl'}!{/include}");
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        TemplateProcessor.setRenderingListener(metrics);
+        try {
+
+            // setting a listener clears the cache
+            unit.setRenderingListener(metrics);
+            MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+
+            Template template = unit.getTemplateForString("!{include resource:'/TestTemplateProcessorTemplateFile.tpl'}!{/include}");
+            MatcherAssert.assertThat(template, Matchers.not(Matchers.sameInstance(untracedTemplate)));
+
+            Map<String, Object> model = new HashMap<String, Object>();
+            model.put("test", "YEP");
+            MatcherAssert.assertThat(template.render(model), Matchers.is("YEP"));
+
+            String templateName = "template#" + Integer.toHexString("!{include resource:'/TestTemplateProcessorTemplateFile.tpl'}!{/include}".hashCode());
+            MatcherAssert.assertThat(metrics.getRenderCount(templateName, TemplateBlockType.INCLUDE), Matchers.is(1L));
+            MatcherAssert.assertThat(metrics.getOutputLength(templateName, TemplateBlockType.INCLUDE), Matchers.is(3L));
+            MatcherAssert.assertThat(metrics.getRenderCount("/TestTemplateProcessorTemplateFile.tpl", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(1L));
+            MatcherAssert.assertThat(metrics.toJson(), Matchers.containsString("\"name\" : \"/TestTemplateProcessorTemplateFile.tpl\""));
+            MatcherAssert.assertThat(metrics.toJson(), Matchers.containsString("\"name\" : \"" + templateName + "\""));
+
+        } finally {
+            TemplateProcessor.setRenderingListener(null);
+        }
+
+    }
+
+}
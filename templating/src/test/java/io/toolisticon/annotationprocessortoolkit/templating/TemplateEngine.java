@@ -0,0 +1,121 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test utility to run template tests against the interpreting {@link TemplateProcessor} and the renderers generated by {@link TemplateRendererGenerator}.
+ * <p/>
+ * Test classes are run with the {@link org.junit.runners.Parameterized} runner, using {@link #parameters()} as parameters.
+ */
+public enum TemplateEngine {
+
+    INTERPRETED {
+        @Override
+        public String render(String templateString, Map<String, Object> values) {
+            return TemplateProcessor.processTemplate(templateString, values);
+        }
+
+        @Override
+        public String renderResource(String templateFileName, Map<String, Object> values) {
+            return TemplateProcessor.processTemplateResourceFile(templateFileName, values);
+        }
+    },
+
+    GENERATED {
+        @Override
+        public String render(String templateString, Map<String, Object> values) {
+
+            TemplateRenderer renderer = getRenderer("string:" + templateString);
+            if (renderer == null) {
+                String className = nextClassName();
+                renderer = putRenderer("string:" + templateString, className, TemplateRendererGenerator.generateSourceForString(templateString, className));
+            }
+            return renderToString(renderer, values);
+
+        }
+
+        @Override
+        public String renderResource(String templateFileName, Map<String, Object> values) {
+
+            TemplateRenderer renderer = getRenderer("resource:" + templateFileName);
+            if (renderer == null) {
+                String className = nextClassName();
+                renderer = putRenderer("resource:" + templateFileName, className, TemplateRendererGenerator.generateSourceForResource(templateFileName, className));
+            }
+            return renderToString(renderer, values);
+
+        }
+    };
+
+    /**
+     * Generated renderers - templates are just compiled once per test run.
+     */
+    private static final Map<String, TemplateRenderer> RENDERERS = new HashMap<String, TemplateRenderer>();
+
+    private static int classCounter = 0;
+
+    /**
+     * Renders a template string.
+     *
+     * @param templateString the template string
+     * @param values         the values to render
+     * @return the rendered template
+     */
+    public abstract String render(String templateString, Map<String, Object> values);
+
+    /**
+     * Renders a template resource file.
+     *
+     * @param templateFileName the resource name of the template file
+     * @param values           the values to render
+     * @return the rendered template
+     */
+    public abstract String renderResource(String templateFileName, Map<String, Object> values);
+
+    /**
+     * Gets the parameters to run a parameterized test with all template engines.
+     *
+     * @return the parameters
+     */
+    public static List<Object[]> parameters() {
+        return Arrays.asList(new Object[]{INTERPRETED}, new Object[]{GENERATED});
+    }
+
+    private static synchronized String nextClassName() {
+        return "io.toolisticon.annotationprocessortoolkit.templating.generated.Renderer" + (classCounter++);
+    }
+
+    private static synchronized TemplateRenderer getRenderer(String key) {
+        return RENDERERS.get(key);
+    }
+
+    private static synchronized TemplateRenderer putRenderer(String key, String className, String source) {
+
+        TemplateRenderer renderer;
+        try {
+            renderer = GeneratedTemplateRendererLoader.load(className, source);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot load generated renderer " + className, e);
+        }
+        RENDERERS.put(key, renderer);
+        return renderer;
+
+    }
+
+    private static String renderToString(TemplateRenderer renderer, Map<String, Object> values) {
+
+        StringBuilder result = new StringBuilder();
+        try {
+            renderer.render(values, result);
+        } catch (IOException e) {
+            throw new IllegalStateException("Appending to StringBuilder failed", e);
+        }
+        return result.toString();
+
+    }
+
+}
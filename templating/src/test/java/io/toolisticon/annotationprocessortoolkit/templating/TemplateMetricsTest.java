@@ -0,0 +1,116 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateMetrics}.
+ */
+public class TemplateMetricsTest {
+
+    @Test
+    public void blockRendered_shouldAggregatePerTemplateAndBlockType() {
+
+        TemplateMetrics unit = new TemplateMetrics();
+        unit.templateParsed("/a.tpl", 10L);
+        unit.blockRendered("/a.tpl", TemplateBlockType.FOR, 100L, 5L);
+        unit.blockRendered("/a.tpl", TemplateBlockType.FOR, 200L, 7L);
+        unit.blockRendered("/b.tpl", TemplateBlockType.FOR, 1000L, 1L);
+        unit.expressionEvaluated("/a.tpl", "value");
+
+        MatcherAssert.assertThat(unit.getParseTimeNanos("/a.tpl"), Matchers.is(10L));
+        MatcherAssert.assertThat(unit.getRenderCount("/a.tpl", TemplateBlockType.FOR), Matchers.is(2L));
+        MatcherAssert.assertThat(unit.getRenderTimeNanos("/a.tpl", TemplateBlockType.FOR), Matchers.is(300L));
+        MatcherAssert.assertThat(unit.getOutputLength("/a.tpl", TemplateBlockType.FOR), Matchers.is(12L));
+        MatcherAssert.assertThat(unit.getExpressionEvaluationCount("/a.tpl"), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getRenderCount("/a.tpl", TemplateBlockType.IF), Matchers.is(0L));
+        MatcherAssert.assertThat(unit.getRenderCount("/c.tpl", TemplateBlockType.IF), Matchers.is(0L));
+
+        unit.clear();
+        MatcherAssert.assertThat(unit.getRenderCount("/a.tpl", TemplateBlockType.FOR), Matchers.is(0L));
+
+    }
+
+    @Test
+    public void toJson_emptyMetrics() {
+        MatcherAssert.assertThat(new TemplateMetrics().toJson(), Matchers.is("{\n  \"templates\" : []\n}"));
+    }
+
+    @Test
+    public void toJson_shouldExportAllTemplates() {
+
+        TemplateMetrics unit = new TemplateMetrics();
+        unit.templateParsed("/b\"x.tpl", 10L);
+        unit.templateParsed("/a.tpl", 20L);
+        unit.blockRendered("/a.tpl", TemplateBlockType.IF, 100L, 5L);
+        unit.blockRendered("/a.tpl", TemplateBlockType.FOR, 300L, 7L);
+        unit.expressionEvaluated("/a.tpl", "value");
+
+        MatcherAssert.assertThat(unit.toJson(), Matchers.is("{\n"
+                + "  \"templates\" : [\n"
+                + "    {\n"
+                + "      \"name\" : \"/a.tpl\",\n"
+                + "      \"parseCount\" : 1,\n"
+                + "      \"parseTimeNanos\" : 20,\n"
+                + "      \"expressionEvaluationCount\" : 1,\n"
+                + "      \"blocks\" : {\n"
+                + "        \"FOR\" : { \"renderCount\" : 1, \"renderTimeNanos\" : 300, \"outputLength\" : 7 },\n"
+                + "        \"IF\" : { \"renderCount\" : 1, \"renderTimeNanos\" : 100, \"outputLength\" : 5 }\n"
+                + "      }\n"
+                + "    },\n"
+                + "    {\n"
+                + "      \"name\" : \"/b\\\"x.tpl\",\n"
+                + "      \"parseCount\" : 1,\n"
+                + "      \"parseTimeNanos\" : 10,\n"
+                + "      \"expressionEvaluationCount\" : 0,\n"
+                + "      \"blocks\" : {}\n"
+                + "    }\n"
+                + "  ]\n"
+                + "}"));
+
+    }
+
+    @Test
+    public void trace_shouldReportRenderingOfTemplate() {
+
+        TemplateMetrics unit = new TemplateMetrics();
+        Template template = Template.compile("[!{for value : values}!{if value != 'B'}${value}!{/if}!{/for}]").trace(unit, "test");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B", "C"));
+
+        MatcherAssert.assertThat(template.render(model), Matchers.is("[AC]"));
+
+        MatcherAssert.assertThat(unit.getRenderCount("test", TemplateBlockType.FOR), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getOutputLength("test", TemplateBlockType.FOR), Matchers.is(2L));
+        MatcherAssert.assertThat(unit.getRenderCount("test", TemplateBlockType.IF), Matchers.is(3L));
+        MatcherAssert.assertThat(unit.getRenderCount("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(2L));
+        MatcherAssert.assertThat(unit.getOutputLength("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(2L));
+        MatcherAssert.assertThat(unit.getExpressionEvaluationCount("test"), Matchers.is(5L));
+
+    }
+
+    @Test
+    public void trace_shouldReportSharedExpressionsJustIfEvaluated() {
+
+        TemplateMetrics unit = new TemplateMetrics();
+        Template template = Template.compile("!{for value : values}(${value})${value}!{/for}").trace(unit, "test");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B"));
+
+        MatcherAssert.assertThat(template.render(model), Matchers.is("(A)A(B)B"));
+
+        // shared expression is evaluated once per loop iteration
+        MatcherAssert.assertThat(unit.getRenderCount("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(4L));
+        MatcherAssert.assertThat(unit.getExpressionEvaluationCount("test"), Matchers.is(2L));
+
+    }
+
+}
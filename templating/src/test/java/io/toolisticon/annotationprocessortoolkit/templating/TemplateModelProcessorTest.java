@@ -0,0 +1,186 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateModelProcessor}.
+ */
+public class TemplateModelProcessorTest {
+
+    private static final String PERSON_SOURCE = "package test;\n"
+            + "\n"
+            + "import io.toolisticon.annotationprocessortoolkit.templating.TemplateModel;\n"
+            + "import java.util.Arrays;\n"
+            + "import java.util.List;\n"
+            + "\n"
+            + "@TemplateModel\n"
+            + "public class Person<T extends Number> {\n"
+            + "\n"
+            + "    @TemplateModel\n"
+            + "    public static class Address {\n"
+            + "        public String getCity() { return \"Berlin\"; }\n"
+            + "    }\n"
+            + "\n"
+            + "    public String getName() { return \"getName\"; }\n"
+            + "    public String name() { return \"name\"; }\n"
+            + "    public boolean isActive() { return true; }\n"
+            + "    public boolean hasChildren() { return false; }\n"
+            + "    public List<String> getTags() { return Arrays.asList(\"A\", \"B\"); }\n"
+            + "    public T getNumber() { return null; }\n"
+            + "    public Address getAddress() { return new Address(); }\n"
+            + "    public static String getStaticValue() { return \"static\"; }\n"
+            + "    public void getNothing() { }\n"
+            + "    public String getWithParameter(String parameter) { return parameter; }\n"
+            + "\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void process_generatesModelAccessors() throws Exception {
+
+        File outputDirectory = compile("Person", PERSON_SOURCE, true);
+
+        File serviceFile = new File(outputDirectory, TemplateModelProcessor.SERVICE_FILE_NAME);
+        MatcherAssert.assertThat(new String(Files.readAllBytes(serviceFile.toPath()), "UTF-8"), Matchers.is("test.PersonModelAccessor\ntest.Person_AddressModelAccessor\n"));
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader());
+        try {
+
+            ModelAccessor unit = (ModelAccessor) classLoader.loadClass("test.PersonModelAccessor").newInstance();
+            Object person = classLoader.loadClass("test.Person").newInstance();
+
+            MatcherAssert.assertThat(unit.getModelType(), Matchers.is((Object) person.getClass()));
+
+            // method names take precedence over property names
+            assertProperty(unit, person, "name", String.class, "name");
+            assertProperty(unit, person, "getName", String.class, "getName");
+            assertProperty(unit, person, "active", boolean.class, true);
+            assertProperty(unit, person, "Active", boolean.class, true);
+            assertProperty(unit, person, "children", boolean.class, false);
+            assertProperty(unit, person, "tags", List.class, Arrays.asList("A", "B"));
+            assertProperty(unit, person, "number", Number.class, null);
+
+            // left to reflection
+            MatcherAssert.assertThat(unit.getPropertyType("staticValue"), Matchers.nullValue());
+            MatcherAssert.assertThat(unit.getPropertyType("nothing"), Matchers.nullValue());
+            MatcherAssert.assertThat(unit.getPropertyType("withParameter"), Matchers.nullValue());
+            MatcherAssert.assertThat(unit.getPropertyType("class"), Matchers.nullValue());
+            MatcherAssert.assertThat(unit.getPropertyType("unknown"), Matchers.nullValue());
+
+        } finally {
+            classLoader.close();
+        }
+
+    }
+
+    @Test
+    public void process_generatedModelAccessorsAreUsedByModelPaths() throws Exception {
+
+        File outputDirectory = compile("Person", PERSON_SOURCE, true);
+
+        URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader());
+        try {
+
+            ModelAccessors.register((ModelAccessor) classLoader.loadClass("test.PersonModelAccessor").newInstance());
+            ModelAccessors.register((ModelAccessor) classLoader.loadClass("test.Person_AddressModelAccessor").newInstance());
+
+            Map<String, Object> model = new HashMap<String, Object>();
+            model.put("person", classLoader.loadClass("test.Person").newInstance());
+
+            MatcherAssert.assertThat(Template.compile("${person.name}:${person.address.city}:${person.staticValue}:!{for tag : person.tags}${tag}!{/for}").render(model), Matchers.is("name:Berlin:static:AB"));
+
+        } finally {
+            ModelAccessors.unregister(classLoader.loadClass("test.Person"));
+            ModelAccessors.unregister(classLoader.loadClass("test.Person$Address"));
+            classLoader.close();
+        }
+
+    }
+
+    @Test
+    public void process_privateClassesAreRejected() throws Exception {
+
+        compile("Outer", "package test;\n"
+                + "\n"
+                + "public class Outer {\n"
+                + "    @io.toolisticon.annotationprocessortoolkit.templating.TemplateModel\n"
+                + "    private static class Inner {\n"
+                + "    }\n"
+                + "}\n", false);
+
+    }
+
+    private void assertProperty(ModelAccessor unit, Object model, String propertyName, Class<?> type, Object value) throws Exception {
+
+        MatcherAssert.assertThat(unit.getPropertyType(propertyName), Matchers.is((Object) type));
+        MatcherAssert.assertThat(unit.getPropertyValue(model, propertyName), Matchers.is(value));
+
+    }
+
+    private File compile(String simpleClassName, String source, boolean expectSuccess) throws Exception {
+
+        File sourceDirectory = temporaryFolder.newFolder();
+        File outputDirectory = temporaryFolder.newFolder();
+
+        File sourceFile = new File(new File(sourceDirectory, "test"), simpleClassName + ".java");
+        sourceFile.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(sourceFile), "UTF-8");
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+
+        JavaCompiler.CompilationTask task = compiler.getTask(
+                null,
+                fileManager,
+                diagnostics,
+                Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", outputDirectory.getPath(), "-s", outputDirectory.getPath()),
+                null,
+                fileManager.getJavaFileObjects(sourceFile));
+        task.setProcessors(Collections.singletonList(new TemplateModelProcessor()));
+
+        boolean success = task.call();
+        fileManager.close();
+
+        MatcherAssert.assertThat(diagnostics.getDiagnostics().toString(), success, Matchers.is(expectSuccess));
+
+        if (!expectSuccess) {
+            List<Diagnostic<? extends JavaFileObject>> diagnosticList = diagnostics.getDiagnostics();
+            MatcherAssert.assertThat(diagnosticList.get(0).getMessage(null), Matchers.containsString("must not be private"));
+        }
+
+        return outputDirectory;
+
+    }
+
+}
@@ -3,22 +3,37 @@ package io.toolisticon.annotationprocessortoolkit.templating;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Unit test for {@link TemplateProcessor}.
  */
+@RunWith(Parameterized.class)
 public class TemplateProcessorTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> engines() {
+        return TemplateEngine.parameters();
+    }
+
+    private final TemplateEngine engine;
+
+    public TemplateProcessorTest(TemplateEngine engine) {
+        this.engine = engine;
+    }
+
     @Test
     public void testTemplateString() {
 
         Map<String, Object> map = new HashMap<String, Object>();
         map.put("test", "YEP");
 
-        MatcherAssert.assertThat(TemplateProcessor.processTemplate("${test}", map), Matchers.is("YEP"));
+        MatcherAssert.assertThat(engine.render("${test}", map), Matchers.is("YEP"));
 
 
     }
@@ -29,7 +44,7 @@ public class TemplateProcessorTest {
         Map<String, Object> map = new HashMap<String, Object>();
         map.put("test", "YEP");
 
-        MatcherAssert.assertThat(TemplateProcessor.processTemplateResourceFile("/TestTemplateProcessorTemplateFile.tpl", map), Matchers.is("YEP"));
+        MatcherAssert.assertThat(engine.renderResource("/TestTemplateProcessorTemplateFile.tpl", map), Matchers.is("YEP"));
 
 
     }
@@ -40,7 +55,7 @@ public class TemplateProcessorTest {
         Map<String, Object> map = new HashMap<String, Object>();
         map.put("test", "YEP");
 
-        TemplateProcessor.processTemplateResourceFile("/XXX.tpl", map);
+        engine.renderResource("/XXX.tpl", map);
 
 
     }
@@ -0,0 +1,152 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateRendererGenerator}.
+ */
+public class TemplateRendererGeneratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void toStringLiteral_shouldEscapeSpecialCharacters() {
+
+        MatcherAssert.assertThat(TemplateRendererGenerator.toStringLiteral("abc"), Matchers.is("\"abc\""));
+        MatcherAssert.assertThat(TemplateRendererGenerator.toStringLiteral("a\"b\\c"), Matchers.is("\"a\\\"b\\\\c\""));
+        MatcherAssert.assertThat(TemplateRendererGenerator.toStringLiteral("a\r\n\tb"), Matchers.is("\"a\\r\\n\\tb\""));
+        MatcherAssert.assertThat(TemplateRendererGenerator.toStringLiteral("ä\u0001"), Matchers.is("\"\\u00e4\\u0001\""));
+
+    }
+
+    @Test
+    public void generateSourceForString_shouldResolvePlainAccessPathsDirectly() {
+
+        String source = TemplateRendererGenerator.generateSourceForString("A ${model.value} B ${model.value + 1}", "a.b.TestRenderer");
+
+        MatcherAssert.assertThat(source, Matchers.containsString("package a.b;"));
+        MatcherAssert.assertThat(source, Matchers.containsString("public final class TestRenderer implements TemplateRenderer"));
+        MatcherAssert.assertThat(source, Matchers.containsString("new ModelPath(\"model.value\")"));
+        MatcherAssert.assertThat(source, Matchers.containsString("ExpressionParser.parseExpression(\"model.value + 1\")"));
+        MatcherAssert.assertThat(source, Matchers.containsString("out.append(\"A \");"));
+
+    }
+
+    @Test
+    public void generateSourceForString_shouldRenderSpecialCharactersAndLongTemplates() throws Exception {
+
+        StringBuilder templateString = new StringBuilder("\"\\ä\r\n");
+        StringBuilder expectedResult = new StringBuilder("\"\\ä\r\n");
+        for (int i = 0; i < TemplateRendererGenerator.MAX_STATEMENTS_PER_METHOD * 2; i++) {
+            templateString.append(i).append(":${value};");
+            expectedResult.append(i).append(":X;");
+        }
+        for (int i = 0; i < TemplateRendererGenerator.MAX_STRING_LITERAL_LENGTH; i++) {
+            templateString.append('a');
+            expectedResult.append('a');
+        }
+
+        TemplateRenderer renderer = GeneratedTemplateRendererLoader.load("TestRenderer", TemplateRendererGenerator.generateSourceForString(templateString.toString(), "TestRenderer"));
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("value", "X");
+
+        StringBuilder result = new StringBuilder();
+        renderer.render(values, result);
+
+        MatcherAssert.assertThat(result.toString(), Matchers.is(expectedResult.toString()));
+
+    }
+
+    @Test
+    public void generateSourceForString_parallelLoopsAreRenderedSequentially() throws Exception {
+
+        String source = TemplateRendererGenerator.generateSourceForString("!{for value : values, parallel:'true'}[${value}]!{/for}", "TestRenderer");
+
+        MatcherAssert.assertThat(source, Matchers.containsString("// parallel loop is rendered sequentially"));
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("values", Arrays.asList("A", "B", "C"));
+
+        StringBuilder result = new StringBuilder();
+        GeneratedTemplateRendererLoader.load("TestRenderer", source).render(values, result);
+
+        MatcherAssert.assertThat(result.toString(), Matchers.is("[A][B][C]"));
+
+    }
+
+    @Test
+    public void generateSourceForString_tracedTemplatesAreGeneratedWithoutTracing() throws Exception {
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        TemplateProcessor.setRenderingListener(metrics);
+        try {
+
+            String templateString = "!{for value : values}[${value}]!{/for}";
+            TemplateRenderer renderer = GeneratedTemplateRendererLoader.load("TestRenderer", TemplateRendererGenerator.generateSourceForString(templateString, "TestRenderer"));
+
+            Map<String, Object> values = new HashMap<String, Object>();
+            values.put("values", Arrays.asList("A", "B"));
+
+            StringBuilder result = new StringBuilder();
+            renderer.render(values, result);
+
+            MatcherAssert.assertThat(result.toString(), Matchers.is("[A][B]"));
+            MatcherAssert.assertThat(metrics.getRenderCount("template#" + Integer.toHexString(templateString.hashCode()), TemplateBlockType.FOR), Matchers.is(0L));
+
+        } finally {
+            TemplateProcessor.setRenderingListener(null);
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generateSourceForString_invalidClassName() {
+        TemplateRendererGenerator.generateSourceForString("abc", "a.b.1abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generateSourceForResource_nonExistingResource() {
+        TemplateRendererGenerator.generateSourceForResource("/XXX.tpl", "a.b.TestRenderer");
+    }
+
+    @Test
+    public void writeSourceForResource_shouldWriteSourceFileToPackageDirectory() throws Exception {
+
+        File outputDirectory = temporaryFolder.newFolder();
+
+        File sourceFile = TemplateRendererGenerator.writeSourceForResource("/TestTemplateProcessorTemplateFile.tpl", "a.b.TestRenderer", outputDirectory);
+
+        MatcherAssert.assertThat(sourceFile, Matchers.is(new File(outputDirectory, "a" + File.separator + "b" + File.separator + "TestRenderer.java")));
+        MatcherAssert.assertThat(sourceFile.isFile(), Matchers.is(true));
+
+    }
+
+    @Test
+    public void main_shouldWriteSourceFile() throws Exception {
+
+        File outputDirectory = temporaryFolder.newFolder();
+
+        TemplateRendererGenerator.main(new String[]{"/TestTemplateProcessorTemplateFile.tpl", "TestRenderer", outputDirectory.getAbsolutePath()});
+
+        MatcherAssert.assertThat(new File(outputDirectory, "TestRenderer.java").isFile(), Matchers.is(true));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void main_invalidNumberOfArguments() throws Exception {
+        TemplateRendererGenerator.main(new String[]{"/TestTemplateProcessorTemplateFile.tpl"});
+    }
+
+}
@@ -0,0 +1,345 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.FragmentCache;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlock;
+import io.toolisticon.annotationprocessortoolkit.templating.templateblocks.TemplateBlockType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Unit test for {@link Template}.
+ */
+public class TemplateTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_nullSafety() {
+        Template.compile(null);
+    }
+
+    @Test
+    public void render_compiledTemplateCanBeRenderedMultipleTimes() {
+
+        Template unit = Template.compile("value : ${value}");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("value", "A");
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("value : A"));
+
+        model.put("value", "B");
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("value : B"));
+
+    }
+
+    @Test
+    public void render_renderIntoAppendable() throws IOException {
+
+        Template unit = Template.compile("!{for value : values}[${value}]!{/for}!{if flag}!{/if}");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", new String[]{"A", "B", "C"});
+        model.put("flag", true);
+
+        StringWriter writer = new StringWriter();
+        unit.render(model, writer);
+
+        MatcherAssert.assertThat(writer.toString(), Matchers.is("[A][B][C]"));
+        MatcherAssert.assertThat(writer.toString(), Matchers.is(unit.render(model)));
+
+    }
+
+    @Test
+    public void compileResource_existingResource() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("test", "YEP");
+
+        MatcherAssert.assertThat(Template.compileResource("/TestTemplateProcessorTemplateFile.tpl").render(model), Matchers.is("YEP"));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileResource_nonExistingResource() {
+        Template.compileResource("/XXX.tpl");
+    }
+
+    @Test
+    public void render_concurrentRenderingOfSharedTemplate() throws Exception {
+
+        final Template unit = Template.compile("!{for value : values}!{if value > 1 && value < 4}[${value * factor}]!{/if}!{/for}${name}");
+
+        List<Callable<String>> renderTasks = new ArrayList<Callable<String>>();
+        List<String> expectedResults = new ArrayList<String>();
+
+        for (int i = 0; i < 200; i++) {
+
+            final Map<String, Object> model = new HashMap<String, Object>();
+            model.put("values", Arrays.asList(1L, 2L, 3L, 4L));
+            model.put("factor", (long) i);
+            model.put("name", "model" + i);
+
+            expectedResults.add("[" + (2 * i) + "][" + (3 * i) + "]model" + i);
+            renderTasks.add(new Callable<String>() {
+                @Override
+                public String call() {
+                    return unit.render(model);
+                }
+            });
+
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+
+            List<Future<String>> results = pool.invokeAll(renderTasks);
+            for (int i = 0; i < results.size(); i++) {
+                MatcherAssert.assertThat(results.get(i).get(), Matchers.is(expectedResults.get(i)));
+            }
+
+        } finally {
+            pool.shutdown();
+        }
+
+    }
+
+    @Test
+    public void specialize_residualTemplateIsRenderedWithRemainingModel() {
+
+        Template unit = Template.compile("!{if config.generateComments}// ${config.name} : !{/if}${config.name}.${element}");
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("generateComments", false);
+        config.put("name", "cfg");
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        Template residualTemplate = unit.specialize(staticModel);
+
+        // IF block has been eliminated
+        MatcherAssert.assertThat(residualTemplate.getBinder().getTemplateBlocks().size(), Matchers.is(2));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("element", "A");
+        MatcherAssert.assertThat(residualTemplate.render(model), Matchers.is("cfg.A"));
+
+        model.put("element", "B");
+        MatcherAssert.assertThat(residualTemplate.render(model), Matchers.is("cfg.B"));
+
+        // original template is unchanged
+        config.put("generateComments", true);
+        model.put("config", config);
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("// cfg :cfg.B"));
+
+    }
+
+    @Test
+    public void specialize_staticValuesRemainVisibleForUnspecializedBlocks() {
+
+        Template unit = Template.compile("!{for value : config.values}${value}!{/for}${element}");
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("values", Arrays.asList("A", "B"));
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("element", "E");
+
+        MatcherAssert.assertThat(unit.specialize(staticModel).render(model), Matchers.is("ABE"));
+
+    }
+
+    private static Template createSpecializedTemplate() {
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("name", "static");
+        config.put("values", Arrays.asList("A", "B"));
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        return Template.compile("${config.name}!{for value : config.values}${value}!{/for}${element}").specialize(staticModel);
+
+    }
+
+    private static Map<String, Object> createModelOverridingStaticValues() {
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("name", "passed");
+        config.put("values", Arrays.asList("C"));
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("config", config);
+        return model;
+
+    }
+
+    @Test
+    public void specialize_passedValuesWithOtherKeysAreRendered() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("element", "E");
+
+        MatcherAssert.assertThat(createSpecializedTemplate().render(model), Matchers.is("staticABE"));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void specialize_renderWithValuesOverridingStaticValues() {
+        createSpecializedTemplate().render(createModelOverridingStaticValues());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void specialize_specializeWithValuesOverridingStaticValues() {
+        createSpecializedTemplate().specialize(createModelOverridingStaticValues());
+    }
+
+    @Test
+    public void specialize_tracedTemplate() {
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        Template unit = Template.compile("!{if config.generateComments}// ${config.name} : !{/if}${element}!{for value : values}${value}!{/for}").trace(metrics, "test");
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("generateComments", true);
+        config.put("name", "NAME");
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        Template specializedTemplate = unit.specialize(staticModel);
+
+        // IF block and its content are resolved, remaining blocks stay traced
+        MatcherAssert.assertThat(specializedTemplate.getBinder().getTemplateBlocks().size(), Matchers.is(3));
+        MatcherAssert.assertThat(specializedTemplate.getBinder().getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.PLAIN_TEXT));
+        MatcherAssert.assertThat(specializedTemplate.getBinder().getTemplateBlocks().get(1).getTemplateBlockType(), Matchers.is(TemplateBlockType.TRACED));
+        MatcherAssert.assertThat(specializedTemplate.getBinder().getTemplateBlocks().get(2).getTemplateBlockType(), Matchers.is(TemplateBlockType.TRACED));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("element", "E");
+        model.put("values", Arrays.asList("1", "2"));
+        MatcherAssert.assertThat(specializedTemplate.render(model), Matchers.is("// NAME :E12"));
+
+        MatcherAssert.assertThat(metrics.getRenderCount("test", TemplateBlockType.IF), Matchers.is(0L));
+        MatcherAssert.assertThat(metrics.getRenderCount("test", TemplateBlockType.FOR), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.getRenderCount("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(3L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void specialize_nullSafety() {
+        Template.compile("abc").specialize(null);
+    }
+
+    @Test
+    public void memoize_unchangedFragmentsAreReusedAcrossElements() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        Template unit = Template.compile("!{if config.header}// ${config.name}!{/if}\n!{for method : element.methods}${method};!{/for}").memoize(fragmentCache);
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("header", true);
+        config.put("name", "HEADER");
+
+        for (String element : Arrays.asList("A", "B", "C")) {
+
+            Map<String, Object> elementModel = new HashMap<String, Object>();
+            elementModel.put("methods", Arrays.asList(element + "1", element + "2"));
+
+            Map<String, Object> model = new HashMap<String, Object>();
+            model.put("config", config);
+            model.put("element", elementModel);
+
+            MatcherAssert.assertThat(unit.render(model), Matchers.is("// HEADER\n" + element + "1;" + element + "2;"));
+
+        }
+
+        // header is rendered once, FOR block once per element
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(4L));
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void memoize_tracedTemplate() {
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        FragmentCache fragmentCache = new FragmentCache();
+        Template unit = Template.compile("!{for value : values}[${value}]!{/for}").trace(metrics, "test").memoize(fragmentCache);
+
+        MatcherAssert.assertThat(unit.getBinder().getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.MEMOIZED));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B"));
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("[A][B]"));
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("[A][B]"));
+
+        MatcherAssert.assertThat(fragmentCache.size(), Matchers.is(1));
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+
+        // reused fragment isn't reported
+        MatcherAssert.assertThat(metrics.getRenderCount("test", TemplateBlockType.FOR), Matchers.is(1L));
+        MatcherAssert.assertThat(metrics.getRenderCount("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void specialize_memoizedTemplate() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        Template memoizedTemplate = Template.compile("!{if config.generateComments}// ${config.name}!{/if}!{for value : values}[${value}]!{/for}").memoize(fragmentCache);
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("generateComments", true);
+        config.put("name", "NAME");
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        Template unit = memoizedTemplate.specialize(staticModel);
+
+        List<TemplateBlock> templateBlocks = unit.getBinder().getTemplateBlocks();
+        MatcherAssert.assertThat(templateBlocks.size(), Matchers.is(2));
+        MatcherAssert.assertThat(templateBlocks.get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.PLAIN_TEXT));
+        MatcherAssert.assertThat(templateBlocks.get(1).getTemplateBlockType(), Matchers.is(TemplateBlockType.MEMOIZED));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B"));
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("// NAME[A][B]"));
+        MatcherAssert.assertThat(unit.render(model), Matchers.is("// NAME[A][B]"));
+
+        MatcherAssert.assertThat(fragmentCache.size(), Matchers.is(1));
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void memoize_nullSafety() {
+        Template.compile("abc").memoize(null);
+    }
+
+    @Test
+    public void render_renderIntoOutputStream() throws IOException {
+
+        Template unit = Template.compile("!{for value : values}[${value}\u00e4]!{/for}!{static}\u20ac!{/static}");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", new String[]{"A", "\u00f6", "\uD83D\uDE00"});
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        unit.render(model, outputStream);
+
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is(unit.render(model).getBytes(StandardCharsets.UTF_8)));
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.toolisticon.annotationprocessortoolkit.templating;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit test for {@link Utf8RenderTarget}.
+ */
+public class Utf8RenderTargetTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nullSafety() {
+        new Utf8RenderTarget(null);
+    }
+
+    @Test
+    public void append_shouldEncodeLikeString() throws IOException {
+
+        String content = "aä€😀z";
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget unit = new Utf8RenderTarget(outputStream);
+        unit.append(content);
+        unit.flush();
+
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is(content.getBytes(StandardCharsets.UTF_8)));
+
+    }
+
+    @Test
+    public void append_surrogatePairSplitAcrossAppends() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget unit = new Utf8RenderTarget(outputStream);
+        unit.append('\uD83D');
+        unit.append("\uDE00");
+        unit.flush();
+
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is("😀".getBytes(StandardCharsets.UTF_8)));
+
+    }
+
+    @Test
+    public void append_unpairedSurrogatesAreReplaced() throws IOException {
+
+        String content = "a\uDE00b\uD83Dc";
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget unit = new Utf8RenderTarget(outputStream);
+        unit.append(content);
+        unit.append('\uD83D');
+        unit.writeEncoded(Utf8RenderTarget.encode("d"));
+        unit.append('\uD83D');
+        unit.flush();
+
+        MatcherAssert.assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), Matchers.is("a?b?c?d?"));
+
+    }
+
+    @Test
+    public void append_null() throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget unit = new Utf8RenderTarget(outputStream);
+        unit.append(null);
+        unit.flush();
+
+        MatcherAssert.assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), Matchers.is("null"));
+
+    }
+
+    @Test
+    public void writeEncoded_contentLargerThanBufferKeepsOrder() throws IOException {
+
+        StringBuilder largeContent = new StringBuilder();
+        for (int i = 0; i < Utf8RenderTarget.BUFFER_SIZE; i++) {
+            largeContent.append((char) ('a' + i % 26));
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget unit = new Utf8RenderTarget(outputStream);
+        for (int i = 0; i < 3; i++) {
+            unit.append("ä");
+            unit.writeEncoded(Utf8RenderTarget.encode(largeContent.toString()));
+        }
+        unit.flush();
+
+        String expectedResult = "ä" + largeContent + "ä" + largeContent + "ä" + largeContent;
+        MatcherAssert.assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), Matchers.is(expectedResult));
+
+    }
+
+}
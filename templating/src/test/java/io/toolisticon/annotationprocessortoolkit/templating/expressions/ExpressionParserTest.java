@@ -1,5 +1,6 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions;
 
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.BinaryOperationOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.ExpressionOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
@@ -62,6 +63,17 @@ public class ExpressionParserTest {
 
     }
 
+    @Test
+    public void parseExpression_operationsWithSameExecutionOrderAreLeftAssociative() {
+
+        MatcherAssert.assertThat((Long) ExpressionParser.parseExpression("10 - 3 + 2").evaluateExpression().value(), Matchers.is(9L));
+        MatcherAssert.assertThat((Long) ExpressionParser.parseExpression("10 - 3 - 2").evaluateExpression().value(), Matchers.is(5L));
+        MatcherAssert.assertThat((Long) ExpressionParser.parseExpression("8 / 4 * 2").evaluateExpression().value(), Matchers.is(4L));
+        MatcherAssert.assertThat((Long) ExpressionParser.parseExpression("2 + 3 * 4 - 6 / 2 + 1").evaluateExpression().value(), Matchers.is(12L));
+        MatcherAssert.assertThat((Boolean) ExpressionParser.parseExpression("1 + 2 * 3 == 7 && 2 * 3 - 1 > 4 || false").evaluateExpression().value(), Matchers.is(true));
+
+    }
+
     @Test
     public void parseExpression_parseNegation_bracesA_Test() {
 
@@ -358,5 +370,59 @@ public class ExpressionParserTest {
 
     }
 
+    @Test
+    public void parseExpression_constantSubExpressionsAreFolded() {
+
+        Expression expression = ExpressionParser.parseExpression("1 + 2 * (3 + 4) == 15 && !false");
+        MatcherAssert.assertThat(expression.getOperandTree().getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+        MatcherAssert.assertThat((Boolean) expression.evaluateConstantExpression().value(), Matchers.is(true));
+
+        Expression partiallyConstantExpression = ExpressionParser.parseExpression("abc + 2 * 3");
+        MatcherAssert.assertThat(partiallyConstantExpression.evaluateConstantExpression(), Matchers.nullValue());
+        MatcherAssert.assertThat(((BinaryOperationOperand) partiallyConstantExpression.getOperandTree()).getRightOperand().getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("abc", 4L);
+        MatcherAssert.assertThat((Long) partiallyConstantExpression.evaluateExpression(model).value(), Matchers.is(10L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseExpression_failingConstantSubExpressionsAreEvaluatedLazily() {
+
+        Expression expression = ExpressionParser.parseExpression("true + 1");
+        MatcherAssert.assertThat(expression.evaluateConstantExpression(), Matchers.nullValue());
+
+        expression.evaluateExpression(new HashMap<String, Object>());
+
+    }
+
+    @Test
+    public void parseExpression_keywordPrefixedModelPaths() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("trueValue", false);
+        model.put("nullable", "N");
+
+        MatcherAssert.assertThat((Boolean) ExpressionParser.parseExpression("trueValue || nullable == 'N'").evaluateExpression(model).value(), Matchers.is(true));
+
+    }
+
+    @Test
+    public void parseExpression_nestedSubExpressions() {
+
+        Expression expression = ExpressionParser.parseExpression(" ( (1 + 2) * ( 3 - 1 ) ) / 2 ");
+
+        MatcherAssert.assertThat(expression.getOperands().length, Matchers.is(2));
+        MatcherAssert.assertThat((Long) expression.evaluateExpression(null).value(), Matchers.is(3L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseExpression_missingClosingBrace() {
+
+        ExpressionParser.parseExpression("(1 + (2 * 3)");
+
+    }
 
 }
@@ -1,5 +1,6 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions;
 
+import io.toolisticon.annotationprocessortoolkit.templating.ModelPathResolver;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandFactory;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
@@ -8,6 +9,9 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Unit Test for {@link Expression}.
  */
@@ -859,7 +863,7 @@ public class ExpressionTest {
     @Test(expected = IllegalArgumentException.class)
     public void evaluate_ExpressionWithTwoOperandsAndOneOperation_or_withInvalidType1_Test() {
 
-        doTestSingleOperation(createOperand(Boolean.class, true), OperationType.OR, createOperand(Integer.class, 15), 15.0);
+        doTestSingleOperation(createOperand(Boolean.class, false), OperationType.OR, createOperand(Integer.class, 15), 15.0);
 
     }
 
@@ -889,6 +893,59 @@ public class ExpressionTest {
     }
 
 
+    // ------------------------------------------------------
+    // -- Do test repeated evaluation
+    // ------------------------------------------------------
+
+    @Test
+    public void evaluate_repeatedEvaluationDoesntModifyExpression() {
+
+        Expression givenExpression = new Expression(getArray(createOperand(Long.class, 5L), createOperand(Long.class, 10L), createOperand(Long.class, 2L)), getArray(OperationType.ADDITION, OperationType.MULTIPLICATION));
+
+        MatcherAssert.assertThat((Long) givenExpression.evaluateExpression().value(), Matchers.is(25L));
+        MatcherAssert.assertThat((Long) givenExpression.evaluateExpression().value(), Matchers.is(25L));
+        MatcherAssert.assertThat(givenExpression.getOperands().length, Matchers.is(3));
+        MatcherAssert.assertThat(givenExpression.getOperationTypes().length, Matchers.is(2));
+
+    }
+
+    @Test
+    public void evaluate_repeatedEvaluationWithDifferentModels() {
+
+        Expression givenExpression = ExpressionParser.parseExpression("!(abc > 5) && (abc + 1) == 4");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("abc", 3L);
+        MatcherAssert.assertThat((Boolean) givenExpression.evaluateExpression(model).value(), Matchers.is(true));
+
+        model.put("abc", 6L);
+        MatcherAssert.assertThat((Boolean) givenExpression.evaluateExpression(model).value(), Matchers.is(false));
+
+        model.put("abc", 3L);
+        MatcherAssert.assertThat((Boolean) givenExpression.evaluateExpression(model).value(), Matchers.is(true));
+
+    }
+
+    @Test
+    public void evaluate_explicitModelDoesntUseThreadBoundModel() {
+
+        Expression givenExpression = ExpressionParser.parseExpression("abc + 1");
+
+        Map<String, Object> threadBoundModel = new HashMap<String, Object>();
+        threadBoundModel.put("abc", 10L);
+        ModelPathResolver.modelMapThreadLocal.set(threadBoundModel);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("abc", 1L);
+
+        MatcherAssert.assertThat((Long) givenExpression.evaluateExpression(model).value(), Matchers.is(2L));
+        MatcherAssert.assertThat(ModelPathResolver.modelMapThreadLocal.get(), Matchers.sameInstance(threadBoundModel));
+
+        ModelPathResolver.modelMapThreadLocal.remove();
+
+    }
+
+
     // ------------------------------------------------------
     // -- Common stuff
     // ------------------------------------------------------
@@ -905,6 +962,53 @@ public class ExpressionTest {
     }
 
 
+    @Test
+    public void specialize_staticOperandsAreSubstituted() {
+
+        Expression unit = ExpressionParser.parseExpression("config.factor * value + config.offset");
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("factor", 3L);
+        config.put("offset", 2L);
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        Expression specializedExpression = unit.specialize(staticModel);
+        MatcherAssert.assertThat(specializedExpression.evaluateConstantExpression(), Matchers.nullValue());
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("value", 5L);
+        MatcherAssert.assertThat(specializedExpression.evaluateExpression(model).value(), Matchers.<Object>is(17L));
+
+    }
+
+    @Test
+    public void specialize_fullyStaticExpressionBecomesConstant() {
+
+        Expression unit = ExpressionParser.parseExpression("value > 4");
+
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("value", 5L);
+
+        MatcherAssert.assertThat(unit.specialize(staticModel).evaluateConstantExpression().value(), Matchers.<Object>is(true));
+
+        // expression without static operands stays unchanged
+        MatcherAssert.assertThat(unit.specialize(new HashMap<String, Object>()), Matchers.sameInstance(unit));
+
+    }
+
+
+    @Test
+    public void getModelPaths_shouldReturnPathsOfDynamicOperands() {
+
+        Expression unit = ExpressionParser.parseExpression("a.b + (c * 2) > 4 || !d || 3 > 2");
+
+        MatcherAssert.assertThat(unit.getModelPaths(), Matchers.contains("a.b", "c", "d"));
+        MatcherAssert.assertThat(ExpressionParser.parseExpression("'abc' + 5").getModelPaths(), Matchers.<String>empty());
+
+    }
+
+
     private <T> Operand createOperand(Class<T> type, T value) {
         return OperandFactory.createOperationResult(type, value);
     }
@@ -914,4 +1018,30 @@ public class ExpressionTest {
         return values;
     }
 
+    @Test
+    public void evaluate_andOrShortCircuit() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("flag", false);
+
+        // right operands can't be resolved, so they must not be evaluated
+        MatcherAssert.assertThat((Boolean) ExpressionParser.parseExpression("flag && missing.value").evaluateExpression(model).value(), Matchers.is(false));
+        MatcherAssert.assertThat((Boolean) ExpressionParser.parseExpression("!flag || missing.value").evaluateExpression(model).value(), Matchers.is(true));
+        MatcherAssert.assertThat((Boolean) ExpressionParser.parseExpression("flag && missing.value || !flag").evaluateExpression(model).value(), Matchers.is(true));
+
+    }
+
+    @Test
+    public void specialize_shortCircuitedOperationBecomesConstant() {
+
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("flag", false);
+
+        Expression unit = ExpressionParser.parseExpression("flag && value > 4").specialize(staticModel);
+
+        MatcherAssert.assertThat((Boolean) unit.evaluateConstantExpression().value(), Matchers.is(false));
+        MatcherAssert.assertThat(unit.getModelPaths(), Matchers.<String>empty());
+
+    }
+
 }
@@ -0,0 +1,111 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandType;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandTypeSearchResult;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationTypeSearchResult;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ExpressionTokenizer}.
+ */
+public class ExpressionTokenizerTest {
+
+    @Test
+    public void scanCharacter_spacesBelongToToken() {
+
+        MatcherAssert.assertThat(ExpressionTokenizer.scanCharacter("  (  a)", 0, '('), Matchers.is(5));
+        MatcherAssert.assertThat(ExpressionTokenizer.scanCharacter("  (  a)", 0, ')'), Matchers.is(-1));
+        MatcherAssert.assertThat(ExpressionTokenizer.scanCharacter("  ", 0, ')'), Matchers.is(-1));
+
+    }
+
+    @Test
+    public void scanBinaryOperationType_allOperations() {
+
+        assertOperationType(" && ", OperationType.AND);
+        assertOperationType(" || ", OperationType.OR);
+        assertOperationType(" == ", OperationType.EQUAL);
+        assertOperationType(" != ", OperationType.NOT_EQUAL);
+        assertOperationType(" <= ", OperationType.LESS_OR_EQUAL_THAN);
+        assertOperationType(" >= ", OperationType.GREATER_OR_EQUAL_THAN);
+        assertOperationType(" < ", OperationType.LESS_THAN);
+        assertOperationType(" > ", OperationType.GREATER_THAN);
+        assertOperationType(" + ", OperationType.ADDITION);
+        assertOperationType(" - ", OperationType.SUBTRACTION);
+        assertOperationType(" * ", OperationType.MULTIPLICATION);
+        assertOperationType(" / ", OperationType.DIVISION);
+
+    }
+
+    @Test
+    public void scanBinaryOperationType_incompleteOrUnknownOperation() {
+
+        MatcherAssert.assertThat(ExpressionTokenizer.scanBinaryOperationType(" & a", 0), Matchers.nullValue());
+        MatcherAssert.assertThat(ExpressionTokenizer.scanBinaryOperationType(" = a", 0), Matchers.nullValue());
+        MatcherAssert.assertThat(ExpressionTokenizer.scanBinaryOperationType(" ! a", 0), Matchers.nullValue());
+        MatcherAssert.assertThat(ExpressionTokenizer.scanBinaryOperationType(" % a", 0), Matchers.nullValue());
+        MatcherAssert.assertThat(ExpressionTokenizer.scanBinaryOperationType("   ", 0), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void scanOperandType_numbers() {
+
+        assertOperandType("abc 15 ", 3, OperandType.LONG, 7);
+        assertOperandType("-15+", 0, OperandType.LONG, 3);
+        assertOperandType(" 1.5 ", 0, OperandType.DOUBLE, 5);
+        assertOperandType("-1.5", 0, OperandType.DOUBLE, 4);
+        assertOperandType("1.a", 0, OperandType.LONG, 1);
+        MatcherAssert.assertThat(ExpressionTokenizer.scanOperandType("- 1", 0), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void scanOperandType_strings() {
+
+        assertOperandType(" 'a b' + 'c'", 0, OperandType.STRING, 7);
+        assertOperandType("'it\\'s' ", 0, OperandType.STRING, 8);
+        assertOperandType("'a\\\\' + 'b'", 0, OperandType.STRING, 6);
+        MatcherAssert.assertThat(ExpressionTokenizer.scanOperandType("'abc", 0), Matchers.nullValue());
+        MatcherAssert.assertThat(ExpressionTokenizer.scanOperandType("'a\nb'", 0), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void scanOperandType_keywordsAndModelPaths() {
+
+        assertOperandType("true ", 0, OperandType.BOOLEAN, 5);
+        assertOperandType("false", 0, OperandType.BOOLEAN, 5);
+        assertOperandType("null", 0, OperandType.NULL_VALUE, 4);
+        assertOperandType("trueValue", 0, OperandType.DYNAMIC_VALUE, 9);
+        assertOperandType("nullable.value", 0, OperandType.DYNAMIC_VALUE, 14);
+        assertOperandType("a.b_1.c ", 0, OperandType.DYNAMIC_VALUE, 8);
+        assertOperandType("a.b.", 0, OperandType.DYNAMIC_VALUE, 3);
+        MatcherAssert.assertThat(ExpressionTokenizer.scanOperandType(" .a", 0), Matchers.nullValue());
+
+    }
+
+    private void assertOperationType(String expressionString, OperationType operationType) {
+
+        OperationTypeSearchResult result = ExpressionTokenizer.scanBinaryOperationType(expressionString + "a", 0);
+
+        MatcherAssert.assertThat(result.getValue(), Matchers.is(operationType));
+        MatcherAssert.assertThat(result.getStartIndex(), Matchers.is(0));
+        MatcherAssert.assertThat(result.getEndIndex(), Matchers.is(expressionString.length()));
+
+    }
+
+    private void assertOperandType(String expressionString, int index, OperandType operandType, int endIndex) {
+
+        OperandTypeSearchResult result = ExpressionTokenizer.scanOperandType(expressionString, index);
+
+        MatcherAssert.assertThat(result.getValue(), Matchers.is(operandType));
+        MatcherAssert.assertThat(result.getStartIndex(), Matchers.is(index));
+        MatcherAssert.assertThat(result.getEndIndex(), Matchers.is(endIndex));
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link BinaryOperationOperand}.
+ */
+public class BinaryOperationOperandTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_nullValuedOperationType_mustThrowException() {
+
+        new BinaryOperationOperand(null, new LongOperand("1"), new LongOperand("2"));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_unaryOperationType_mustThrowException() {
+
+        new BinaryOperationOperand(OperationType.NEGATE, new BooleanOperand("true"), new BooleanOperand("true"));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_nullValuedOperand_mustThrowException() {
+
+        new BinaryOperationOperand(OperationType.ADDITION, new LongOperand("1"), null);
+
+    }
+
+    @Test
+    public void test_binaryOperationType_successfulPath() {
+
+        BinaryOperationOperand unit = new BinaryOperationOperand(OperationType.ADDITION, new LongOperand("1"), new LongOperand("2"));
+
+        MatcherAssert.assertThat((Long) unit.value(), Matchers.is(3L));
+        MatcherAssert.assertThat((Class) unit.getOperandsJavaType(), Matchers.equalTo((Class) Long.class));
+        MatcherAssert.assertThat(unit.getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+
+    }
+
+    @Test
+    public void test_nestedOperations_evaluate() {
+
+        BinaryOperationOperand unit = new BinaryOperationOperand(
+                OperationType.SUBTRACTION,
+                new BinaryOperationOperand(OperationType.SUBTRACTION, new LongOperand("10"), new LongOperand("3")),
+                new LongOperand("2"));
+
+        Operand result = unit.evaluate();
+
+        MatcherAssert.assertThat(result.getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+        MatcherAssert.assertThat((Long) result.value(), Matchers.is(5L));
+
+        // can be evaluated again
+        MatcherAssert.assertThat((Long) unit.evaluate().value(), Matchers.is(5L));
+
+    }
+
+    @Test
+    public void evaluate_andDoesntEvaluateRightOperandIfLeftOperandIsFalse() {
+
+        Operand rightOperand = Mockito.mock(Operand.class);
+        BinaryOperationOperand unit = new BinaryOperationOperand(OperationType.AND, new BooleanOperand("false"), rightOperand);
+
+        MatcherAssert.assertThat((Boolean) unit.evaluate(null).value(), Matchers.is(false));
+        Mockito.verify(rightOperand, Mockito.never()).evaluate(Mockito.<Map<String, Object>>any());
+
+    }
+
+    @Test
+    public void evaluate_orDoesntEvaluateRightOperandIfLeftOperandIsTrue() {
+
+        Operand rightOperand = Mockito.mock(Operand.class);
+        BinaryOperationOperand unit = new BinaryOperationOperand(OperationType.OR, new BooleanOperand("true"), rightOperand);
+
+        MatcherAssert.assertThat((Boolean) unit.evaluate(null).value(), Matchers.is(true));
+        Mockito.verify(rightOperand, Mockito.never()).evaluate(Mockito.<Map<String, Object>>any());
+
+    }
+
+    @Test
+    public void evaluate_rightOperandIsEvaluatedIfLeftOperandDoesntDetermineResult() {
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("flag", false);
+
+        MatcherAssert.assertThat((Boolean) new BinaryOperationOperand(OperationType.AND, new BooleanOperand("true"), new DynamicOperand("flag")).evaluate(model).value(), Matchers.is(false));
+        MatcherAssert.assertThat((Boolean) new BinaryOperationOperand(OperationType.OR, new BooleanOperand("false"), new DynamicOperand("flag")).evaluate(model).value(), Matchers.is(false));
+
+    }
+
+    @Test
+    public void isConstant_shortCircuitedOperationDoesntDependOnRightOperand() {
+
+        MatcherAssert.assertThat(new BinaryOperationOperand(OperationType.AND, new BooleanOperand("false"), new DynamicOperand("flag")).isConstant(), Matchers.is(true));
+        MatcherAssert.assertThat(new BinaryOperationOperand(OperationType.OR, new BooleanOperand("true"), new DynamicOperand("flag")).isConstant(), Matchers.is(true));
+        MatcherAssert.assertThat(new BinaryOperationOperand(OperationType.AND, new BooleanOperand("true"), new DynamicOperand("flag")).isConstant(), Matchers.is(false));
+        MatcherAssert.assertThat(new BinaryOperationOperand(OperationType.ADDITION, new LongOperand("1"), new DynamicOperand("value")).isConstant(), Matchers.is(false));
+
+    }
+
+}
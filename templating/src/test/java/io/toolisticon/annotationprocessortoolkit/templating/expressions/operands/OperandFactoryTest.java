@@ -1,6 +1,8 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operands;
 
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operations.OperationType;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.Test;
 
 /**
@@ -18,5 +20,40 @@ public class OperandFactoryTest {
         OperandFactory.createOperand(OperandType.BOOLEAN, null, new OperationType[0], null);
     }
 
+    @Test
+    public void createOperationResult_boolean_sharedInstances() {
+
+        MatcherAssert.assertThat((Boolean) OperandFactory.createOperationResult(true).value(), Matchers.is(true));
+        MatcherAssert.assertThat((Boolean) OperandFactory.createOperationResult(false).value(), Matchers.is(false));
+        MatcherAssert.assertThat(OperandFactory.createOperationResult(true), Matchers.sameInstance(OperandFactory.createOperationResult(true)));
+        MatcherAssert.assertThat(OperandFactory.createOperationResult(true).getOperandsJavaType(), Matchers.equalTo((Class) Boolean.class));
+
+    }
+
+    @Test
+    public void createOperationResult_primitiveLong() {
+
+        LongOperationResultOperand result = OperandFactory.createOperationResult(5L);
+
+        MatcherAssert.assertThat(result.longValue(), Matchers.is(5L));
+        MatcherAssert.assertThat(result.doubleValue(), Matchers.is(5.0));
+        MatcherAssert.assertThat(result.value(), Matchers.is(5L));
+        MatcherAssert.assertThat(result.getOperandsJavaType(), Matchers.equalTo((Class) Long.class));
+        MatcherAssert.assertThat(result.getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+
+    }
+
+    @Test
+    public void createOperationResult_primitiveDouble() {
+
+        DoubleOperationResultOperand result = OperandFactory.createOperationResult(5.5);
+
+        MatcherAssert.assertThat(result.doubleValue(), Matchers.is(5.5));
+        MatcherAssert.assertThat(result.longValue(), Matchers.is(5L));
+        MatcherAssert.assertThat(result.value(), Matchers.is(5.5));
+        MatcherAssert.assertThat(result.getOperandsJavaType(), Matchers.equalTo((Class) Double.class));
+        MatcherAssert.assertThat(result.getOperandType(), Matchers.is(OperandType.OPERATION_RESULT));
+
+    }
 
 }
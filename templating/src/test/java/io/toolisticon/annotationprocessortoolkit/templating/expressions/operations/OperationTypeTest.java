@@ -1,5 +1,7 @@
 package io.toolisticon.annotationprocessortoolkit.templating.expressions.operations;
 
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.DoubleOperationResultOperand;
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.LongOperationResultOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.NullValueOperand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.Operand;
 import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandFactory;
@@ -13,6 +15,30 @@ import org.mockito.Mockito;
  */
 public class OperationTypeTest {
 
+    // --------------------------------------------------------
+    // -- Primitive operation results
+    // --------------------------------------------------------
+
+    @Test
+    public void doOperation_primitiveOperationResultsAsOperands() {
+
+        Operand longResult = OperationType.MULTIPLICATION.doOperation(OperandFactory.createOperationResult(Integer.class, 3), OperandFactory.createOperationResult(Long.class, 4L));
+        MatcherAssert.assertThat(longResult, Matchers.instanceOf(LongOperationResultOperand.class));
+        MatcherAssert.assertThat((Long) longResult.value(), Matchers.is(12L));
+
+        Operand doubleResult = OperationType.DIVISION.doOperation(longResult, OperandFactory.createOperationResult(Float.class, 8.0f));
+        MatcherAssert.assertThat(doubleResult, Matchers.instanceOf(DoubleOperationResultOperand.class));
+        MatcherAssert.assertThat((Double) doubleResult.value(), Matchers.is(1.5));
+
+        MatcherAssert.assertThat((Boolean) OperationType.EQUAL.doOperation(longResult, OperandFactory.createOperationResult(Double.class, 12.0)).value(), Matchers.is(true));
+        MatcherAssert.assertThat((Boolean) OperationType.EQUAL.doOperation(longResult, OperandFactory.createOperationResult(Short.class, (short) 12)).value(), Matchers.is(true));
+        MatcherAssert.assertThat((Boolean) OperationType.NOT_EQUAL.doOperation(doubleResult, OperandFactory.createOperationResult(1.5)).value(), Matchers.is(false));
+        MatcherAssert.assertThat((Boolean) OperationType.GREATER_THAN.doOperation(longResult, doubleResult).value(), Matchers.is(true));
+        MatcherAssert.assertThat((Boolean) OperationType.LESS_OR_EQUAL_THAN.doOperation(longResult, OperandFactory.createOperationResult(12L)).value(), Matchers.is(true));
+
+    }
+
+
     // --------------------------------------------------------
     // -- AND
     // --------------------------------------------------------
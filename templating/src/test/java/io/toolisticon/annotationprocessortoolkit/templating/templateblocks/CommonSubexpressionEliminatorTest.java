@@ -0,0 +1,104 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import io.toolisticon.annotationprocessortoolkit.templating.Template;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link CommonSubexpressionEliminator}.
+ */
+public class CommonSubexpressionEliminatorTest {
+
+    public static class CountingBean {
+
+        private int getterCalls = 0;
+
+        public String getValue() {
+            getterCalls++;
+            return "V";
+        }
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void eliminate_nullSafety() {
+        CommonSubexpressionEliminator.eliminate(null);
+    }
+
+    @Test
+    public void eliminate_binderWithoutCommonSubexpressionsIsKept() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("${a}!{if b}${c}!{/if}");
+
+        MatcherAssert.assertThat(CommonSubexpressionEliminator.eliminate(binder), Matchers.sameInstance(binder));
+
+    }
+
+    @Test
+    public void eliminate_identicalExpressionsAreShared() {
+
+        TemplateBlockBinder result = CommonSubexpressionEliminator.eliminate(ParseUtilities.parseString("${ a.b }-!{for x : list}!{if a.b}${a.b}!{/if}!{/for}${c}"));
+
+        VariableTextTemplateBlock first = (VariableTextTemplateBlock) result.getTemplateBlocks().get(0);
+        IfTemplateBlock ifBlock = (IfTemplateBlock) ((ForTemplateBlock) result.getTemplateBlocks().get(2)).getBinder().getTemplateBlocks().get(0);
+        VariableTextTemplateBlock nested = (VariableTextTemplateBlock) ifBlock.getBinder().getTemplateBlocks().get(0);
+        VariableTextTemplateBlock other = (VariableTextTemplateBlock) result.getTemplateBlocks().get(3);
+
+        MatcherAssert.assertThat(first.getExpression(), Matchers.instanceOf(SharedExpression.class));
+        MatcherAssert.assertThat(ifBlock.getExpression(), Matchers.sameInstance(first.getExpression()));
+        MatcherAssert.assertThat(nested.getExpression(), Matchers.sameInstance(first.getExpression()));
+        MatcherAssert.assertThat(other.getExpression(), Matchers.not(Matchers.instanceOf(SharedExpression.class)));
+
+    }
+
+    @Test
+    public void render_sharedExpressionIsEvaluatedOncePerRendering() {
+
+        Template template = Template.compile("${bean.value}${bean.value}!{for x : list}${x}${bean.value}!{/for}");
+
+        CountingBean bean = new CountingBean();
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("bean", bean);
+        model.put("list", Arrays.asList("A", "B"));
+
+        MatcherAssert.assertThat(template.render(model), Matchers.is("VVAVBV"));
+        MatcherAssert.assertThat(bean.getterCalls, Matchers.is(1));
+
+        // cached values aren't kept across renderings
+        MatcherAssert.assertThat(template.render(model), Matchers.is("VVAVBV"));
+        MatcherAssert.assertThat(bean.getterCalls, Matchers.is(2));
+
+    }
+
+    @Test
+    public void render_sharedExpressionIsInvalidatedByLoopVariable() {
+
+        Template template = Template.compile("!{for x : list}!{if x == 'B'}[${x}]!{/if}${x}${x}!{/for}");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("list", Arrays.asList("A", "B", "C"));
+
+        MatcherAssert.assertThat(template.render(model), Matchers.is("AA[B]BBCC"));
+
+    }
+
+    @Test
+    public void render_sharedExpressionInNestedLoops() {
+
+        Template template = Template.compile("!{for x : outer}!{for y : inner}${x}${y}!{/for}${x}!{/for}");
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("outer", Arrays.asList("A", "B"));
+        model.put("inner", Arrays.asList("1", "2"));
+
+        MatcherAssert.assertThat(template.render(model), Matchers.is("A1A2AB1B2B"));
+
+    }
+
+}
@@ -1,14 +1,20 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateEngine;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Assume;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,8 +22,20 @@ import java.util.Set;
 /**
  * Unit Test for {@link ForTemplateBlock}.
  */
+@RunWith(Parameterized.class)
 public class ForTemplateBlockTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> engines() {
+        return TemplateEngine.parameters();
+    }
+
+    private final TemplateEngine engine;
+
+    public ForTemplateBlockTest(TemplateEngine engine) {
+        this.engine = engine;
+    }
+
     @Test
     public void test_getTemplateBlockType() {
         MatcherAssert.assertThat(new ForTemplateBlock("test:abc.def", "DEF").getTemplateBlockType(), Matchers.is(TemplateBlockType.FOR));
@@ -64,79 +82,202 @@ public class ForTemplateBlockTest {
 
     @Test(expected = InvalidPathException.class)
     public void test_getContent_invalidPath() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
 
-        unit.getContent(model);
+        engine.render("!{for abc : def }${abc}!{/for}", model);
 
     }
 
     @Test(expected = InvalidPathException.class)
     public void test_getContent_invalidType() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", "NOPE");
 
-        unit.getContent(model);
+        engine.render("!{for abc : def }${abc}!{/for}", model);
 
     }
 
 
     @Test(expected = InvalidExpressionResult.class)
     public void test_getContent_nullValueInModel_mustReturnEmptyString() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", null);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo(""));
+        MatcherAssert.assertThat(engine.render("!{for abc : def }${abc}!{/for}", model), Matchers.equalTo(""));
 
     }
 
     @Test
     public void test_getContent_arrayValueInModel() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
         String[] value = {"A","B"};
         model.put("def", value);
 
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new VariableTextTemplateBlock("abc"));
-
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("AB"));
+        MatcherAssert.assertThat(engine.render("!{for abc : def }${abc}!{/for}", model), Matchers.equalTo("AB"));
 
     }
 
     @Test
     public void test_getContent_listValueInModel() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
         List<String> value = Arrays.asList("A","B");
         model.put("def", value);
 
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new VariableTextTemplateBlock("abc"));
-
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("AB"));
+        MatcherAssert.assertThat(engine.render("!{for abc : def }${abc}!{/for}", model), Matchers.equalTo("AB"));
 
     }
 
     @Test
     public void test_getContent_setValueInModel() {
-        ForTemplateBlock unit = new ForTemplateBlock(" abc : def ", "${abc}");
-
         Map<String, Object> model = new HashMap<String, Object>();
         Set<String> value = new HashSet<String>(Arrays.asList("A","B"));
         model.put("def", value);
 
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new VariableTextTemplateBlock("abc"));
+        MatcherAssert.assertThat(engine.render("!{for abc : def }${abc}!{/for}", model), Matchers.isOneOf("AB","BA"));
+
+    }
+
+    @Test
+    public void testConstructor_parallelAttribute() {
+
+        MatcherAssert.assertThat(new ForTemplateBlock(" abc : def ", "").isParallel(), Matchers.is(false));
+        MatcherAssert.assertThat(new ForTemplateBlock(" abc : def, parallel:'true' ", "").isParallel(), Matchers.is(true));
+        MatcherAssert.assertThat(new ForTemplateBlock(" abc : def , parallel : 'false'", "").isParallel(), Matchers.is(false));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_unknownNamedAttribute() {
+        new ForTemplateBlock(" abc : def, unknown:'true' ", "");
+    }
+
+    @Test
+    public void test_getContent_parallelRenderingKeepsOrder() {
+
+        final String TEMPLATE_STRING = "!{for value : values, parallel:'true'}[${value}!{for inner : innerValues, parallel:'true'}${inner}!{/for}]!{/for}";
+
+        List<Long> values = new ArrayList<Long>();
+        StringBuilder expectedResult = new StringBuilder();
+        for (long i = 0; i < 2000; i++) {
+            values.add(i);
+            expectedResult.append("[").append(i).append("xyz]");
+        }
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", values);
+        model.put("innerValues", Arrays.asList("x", "y", "z"));
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is(expectedResult.toString()));
+
+    }
+
+    @Test(expected = InvalidPathException.class)
+    public void test_getContent_parallelRenderingPropagatesExceptions() {
+
+        final String TEMPLATE_STRING = "!{for value : values, parallel:'true'}${value.unknown}!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B", "C"));
+
+        engine.render(TEMPLATE_STRING, model);
+
+    }
+
+    @Test
+    public void test_getContent_primitiveArrayValueInModel() {
+
+        final String TEMPLATE_STRING = "!{for value : values}[${value}]!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", new int[]{1, 2, 3});
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[1][2][3]"));
+
+        model.put("values", new char[]{'a', 'b'});
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[a][b]"));
+
+    }
+
+    @Test
+    public void test_getContent_iterableValueInModel() {
+
+        final String TEMPLATE_STRING = "!{for value : values}[${value}]!{/for}";
+
+        final List<String> values = Arrays.asList("A", "B");
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return values.iterator();
+            }
+        });
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[A][B]"));
+
+    }
+
+    @Test
+    public void test_getContent_iteratorValueInModel() {
+
+        final String TEMPLATE_STRING = "!{for value : values}[${value}]!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B").iterator());
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[A][B]"));
+
+    }
+
+    @Test
+    public void test_getContent_parallelRenderingOfIterator() {
+
+        final String TEMPLATE_STRING = "!{for value : values, parallel:'true'}[${value}]!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B", "C").iterator());
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[A][B][C]"));
+
+    }
+
+    @Test
+    public void test_getContent_streamValueInModel() throws Exception {
+
+        // Streams are just available since Java 8
+        Object stream;
+        try {
+            stream = List.class.getMethod("stream").invoke(Arrays.asList("A", "B"));
+        } catch (NoSuchMethodException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        final String TEMPLATE_STRING = "!{for value : values}[${value}]!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", stream);
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[A][B]"));
+
+    }
+
+    @Test
+    public void test_getContent_spliteratorValueInModel() throws Exception {
+
+        // Spliterators are just available since Java 8
+        Object spliterator;
+        try {
+            spliterator = List.class.getMethod("spliterator").invoke(Arrays.asList("A", "B"));
+        } catch (NoSuchMethodException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        final String TEMPLATE_STRING = "!{for value : values}[${value}]!{/for}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", spliterator);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.isOneOf("AB","BA"));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.is("[A][B]"));
 
     }
 
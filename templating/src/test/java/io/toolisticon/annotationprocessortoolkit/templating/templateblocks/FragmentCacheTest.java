@@ -0,0 +1,64 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link FragmentCache}.
+ */
+public class FragmentCacheTest {
+
+    private final TemplateBlock templateBlock = new PlainTextTemplateBlock("abc");
+
+    @Test
+    public void lookup_fingerprintsAreComparedByValue() {
+
+        FragmentCache unit = new FragmentCache();
+        unit.store(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A", new int[]{1, 2}}), "content");
+
+        MatcherAssert.assertThat(unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A", new int[]{1, 2}})), Matchers.is("content"));
+        MatcherAssert.assertThat(unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A", new int[]{1, 3}})), Matchers.nullValue());
+        MatcherAssert.assertThat(unit.lookup(new FragmentCache.FragmentKey(new PlainTextTemplateBlock("abc"), new Object[]{"A", new int[]{1, 2}})), Matchers.nullValue());
+
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void store_leastRecentlyUsedFragmentIsEvicted() {
+
+        FragmentCache unit = new FragmentCache(2);
+        unit.store(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A"}), "A");
+        unit.store(new FragmentCache.FragmentKey(templateBlock, new Object[]{"B"}), "B");
+        unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A"}));
+        unit.store(new FragmentCache.FragmentKey(templateBlock, new Object[]{"C"}), "C");
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(2));
+        MatcherAssert.assertThat(unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[]{"A"})), Matchers.is("A"));
+        MatcherAssert.assertThat(unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[]{"B"})), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void clear_shouldRemoveFragmentsAndResetCounters() {
+
+        FragmentCache unit = new FragmentCache();
+        unit.store(new FragmentCache.FragmentKey(templateBlock, new Object[0]), "A");
+        unit.lookup(new FragmentCache.FragmentKey(templateBlock, new Object[0]));
+
+        unit.clear();
+
+        MatcherAssert.assertThat(unit.size(), Matchers.is(0));
+        MatcherAssert.assertThat(unit.getHitCount(), Matchers.is(0L));
+        MatcherAssert.assertThat(unit.getMissCount(), Matchers.is(0L));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaximumSize_negativeSize() {
+        new FragmentCache().setMaximumSize(-1);
+    }
+
+}
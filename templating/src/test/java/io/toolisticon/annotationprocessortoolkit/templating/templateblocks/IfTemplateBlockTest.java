@@ -1,19 +1,35 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateEngine;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidExpressionResult;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Unit Test for {@link IfTemplateBlock}.
  */
+@RunWith(Parameterized.class)
 public class IfTemplateBlockTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> engines() {
+        return TemplateEngine.parameters();
+    }
+
+    private final TemplateEngine engine;
+
+    public IfTemplateBlockTest(TemplateEngine engine) {
+        this.engine = engine;
+    }
+
     @Test
     public void test_getTemplateBlockType() {
         MatcherAssert.assertThat(new IfTemplateBlock("abc", "").getTemplateBlockType(), Matchers.is(TemplateBlockType.IF));
@@ -58,89 +74,84 @@ public class IfTemplateBlockTest {
 
     @Test(expected = InvalidPathException.class)
     public void test_getContent_invalidPath() {
-        IfTemplateBlock unit = new IfTemplateBlock(" def ", "ABC");
-
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
 
         Map<String, Object> model = new HashMap<String, Object>();
 
-        unit.getContent(model);
+        engine.render("!{if  def }AB!{/if}", model);
 
     }
 
     @Test(expected = InvalidExpressionResult.class)
     public void test_getContent_invalidType() {
-        IfTemplateBlock unit = new IfTemplateBlock(" def ", "${abc}");
-
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
 
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", "NOPE");
 
-        unit.getContent(model);
+        engine.render("!{if  def }AB!{/if}", model);
 
     }
 
 
     @Test(expected = InvalidExpressionResult.class)
     public void test_getContent_nullValueInModel_mustReturnEmptyString() {
-        IfTemplateBlock unit = new IfTemplateBlock(" def ", "ABC");
-
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
 
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", null);
 
-        unit.getContent(model);
+        engine.render("!{if  def }AB!{/if}", model);
 
     }
 
     @Test
     public void test_getContent_trueValueInModel() {
-        IfTemplateBlock unit = new IfTemplateBlock("def", "AB");
-
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
-
 
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", true);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("AB"));
+        MatcherAssert.assertThat(engine.render("!{if def}AB!{/if}", model), Matchers.equalTo("AB"));
 
     }
 
     @Test
     public void test_getContent_falseValueInModel() {
-        IfTemplateBlock unit = new IfTemplateBlock(" def ", "AB");
-
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
-
 
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", false);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo(""));
+        MatcherAssert.assertThat(engine.render("!{if  def }AB!{/if}", model), Matchers.equalTo(""));
 
     }
 
     @Test
     public void test_getContent_expressionValueInModel() {
-        IfTemplateBlock unit = new IfTemplateBlock(" def == 'YEP' ", "AB");
 
-        // Must add template block
-        unit.getBinder().addTemplateBlock(new PlainTextTemplateBlock("AB"));
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("def", "YEP");
+
+        MatcherAssert.assertThat(engine.render("!{if  def == 'YEP' }AB!{/if}", model), Matchers.equalTo("AB"));
+
+    }
+
+    @Test
+    public void test_getContent_repeatedRenderingWithDifferentModels() {
 
         Map<String, Object> model = new HashMap<String, Object>();
         model.put("def", "YEP");
+        MatcherAssert.assertThat(engine.render("!{if  def == 'YEP' }AB!{/if}", model), Matchers.equalTo("AB"));
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("AB"));
+        model.put("def", "NOPE");
+        MatcherAssert.assertThat(engine.render("!{if  def == 'YEP' }AB!{/if}", model), Matchers.equalTo(""));
 
     }
 
+    @Test
+    public void test_getConstantCondition() {
+
+        MatcherAssert.assertThat(new IfTemplateBlock("1 < 2 && !false", "").getConstantCondition(), Matchers.is(true));
+        MatcherAssert.assertThat(new IfTemplateBlock("'a' == 'b'", "").getConstantCondition(), Matchers.is(false));
+        MatcherAssert.assertThat(new IfTemplateBlock("def == 'b'", "").getConstantCondition(), Matchers.nullValue());
+        MatcherAssert.assertThat(new IfTemplateBlock("5", "").getConstantCondition(), Matchers.nullValue());
+
+    }
 
 }
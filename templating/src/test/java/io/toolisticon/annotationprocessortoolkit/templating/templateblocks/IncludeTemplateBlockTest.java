@@ -1,18 +1,36 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateEngine;
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateProcessor;
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidIncludeModelExpression;
 import io.toolisticon.annotationprocessortoolkit.templating.exceptions.InvalidPathException;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Unit Test for {@link IncludeTemplateBlock}.
  */
+@RunWith(Parameterized.class)
 public class IncludeTemplateBlockTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> engines() {
+        return TemplateEngine.parameters();
+    }
+
+    private final TemplateEngine engine;
+
+    public IncludeTemplateBlockTest(TemplateEngine engine) {
+        this.engine = engine;
+    }
+
     @Test
     public void test_getTemplateBlockType() {
         MatcherAssert.assertThat(new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl'", "").getTemplateBlockType(), Matchers.is(TemplateBlockType.INCLUDE));
@@ -80,20 +98,20 @@ public class IncludeTemplateBlockTest {
 
     @Test
     public void test_getContent_successfully() {
-        IncludeTemplateBlock unit = new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl'","");
+        final String TEMPLATE_STRING = "!{include resource : '/IncludeTemplateBlockTest.tpl'}!{/include}";
 
         Map<String, Object> model = new HashMap<String, Object>();
         Map<String, Object> subModel = new HashMap<String, Object>();
         subModel.put("value", "test");
         model.put("model", subModel);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("test : test"));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("test : test"));
 
     }
 
     @Test
     public void test_getContent_successfully_withModelAttribute() {
-        IncludeTemplateBlock unit = new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl', model : 'model.bridge'","");
+        final String TEMPLATE_STRING = "!{include resource : '/IncludeTemplateBlockTest.tpl', model : 'model.bridge'}!{/include}";
 
         Map<String, Object> model = new HashMap<String, Object>();
         Map<String, Object> subModel = new HashMap<String, Object>();
@@ -102,13 +120,13 @@ public class IncludeTemplateBlockTest {
         model.put("model", subModel);
         subModel.put("bridge", subSubModel);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("test : test"));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("test : test"));
 
     }
 
     @Test
     public void test_getContent_successfully_withModelDefinitionInContentBlock() {
-        IncludeTemplateBlock unit = new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl'","model : model.bridge");
+        final String TEMPLATE_STRING = "!{include resource : '/IncludeTemplateBlockTest.tpl'}model : model.bridge!{/include}";
 
         Map<String, Object> model = new HashMap<String, Object>();
         Map<String, Object> subModel = new HashMap<String, Object>();
@@ -117,17 +135,67 @@ public class IncludeTemplateBlockTest {
         model.put("model", subModel);
         subModel.put("bridge", subSubModel);
 
-        MatcherAssert.assertThat(unit.getContent(model), Matchers.equalTo("test : test"));
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("test : test"));
 
     }
 
     @Test(expected = InvalidPathException.class)
     public void test_getContent_missingModelValue() {
-        IncludeTemplateBlock unit = new IncludeTemplateBlock("resource: '/IncludeTemplateBlockTest.tpl'","");
+        final String TEMPLATE_STRING = "!{include resource: '/IncludeTemplateBlockTest.tpl'}!{/include}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+
+        engine.render(TEMPLATE_STRING, model);
+
+    }
+
+    @Test
+    public void test_getTemplate_sharedCompiledTemplate() {
+        IncludeTemplateBlock unit1 = new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl'", "");
+        IncludeTemplateBlock unit2 = new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl', model : 'model'", "");
+
+        MatcherAssert.assertThat(unit1.getTemplate(), Matchers.sameInstance(unit2.getTemplate()));
+        MatcherAssert.assertThat(unit1.getTemplate(), Matchers.sameInstance(TemplateProcessor.getTemplateCache().getTemplateForResource("/IncludeTemplateBlockTest.tpl")));
+
+    }
 
+    @Test
+    public void test_getContent_recursiveInclude() {
+        final String TEMPLATE_STRING = "!{include resource : '/RecursiveIncludeTemplateBlockTest.tpl'}!{/include}";
+
+        Map<String, Object> grandChild = new HashMap<String, Object>();
+        grandChild.put("name", "C");
+        grandChild.put("child", null);
+        Map<String, Object> child = new HashMap<String, Object>();
+        child.put("name", "B");
+        child.put("child", grandChild);
+        Map<String, Object> subModel = new HashMap<String, Object>();
+        subModel.put("name", "A");
+        subModel.put("child", child);
         Map<String, Object> model = new HashMap<String, Object>();
+        model.put("model", subModel);
+
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("A[B[C]]"));
+
+    }
+
+    @Test
+    public void test_getContent_modelDefinitionIsReusedForMultipleModels() {
+        final String TEMPLATE_STRING = "!{include resource : '/IncludeTemplateBlockTest.tpl'}model.value : value!{/include}";
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("value", "first");
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("test : first"));
+
+        model.put("value", "second");
+        MatcherAssert.assertThat(engine.render(TEMPLATE_STRING, model), Matchers.equalTo("test : second"));
+
+    }
+
+    @Test(expected = InvalidIncludeModelExpression.class)
+    public void testConstructor_invalidModelDefinition() {
 
-        unit.getContent(model);
+        new IncludeTemplateBlock("resource : '/IncludeTemplateBlockTest.tpl'", "model.value = value");
 
     }
 
@@ -0,0 +1,169 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit test for {@link MemoizingTemplateBlock}.
+ */
+public class MemoizingTemplateBlockTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nullSafety() {
+        new MemoizingTemplateBlock(new PlainTextTemplateBlock("abc"), null);
+    }
+
+    @Test
+    public void render_outputIsReusedForUnchangedInputs() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        MemoizingTemplateBlock unit = new MemoizingTemplateBlock(ParseUtilities.parseString("${a}-${b}"), fragmentCache);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("a", "A");
+        model.put("b", "B");
+        model.put("c", "C");
+
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("A-B"));
+
+        // unread value changed
+        model.put("c", "X");
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("A-B"));
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(1L));
+
+        // read value changed
+        model.put("b", "X");
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("A-X"));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void render_unresolvablePathsArePartOfFingerprint() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        MemoizingTemplateBlock unit = new MemoizingTemplateBlock(ParseUtilities.parseString("!{if a != null}${a.name}!{/if}"), fragmentCache);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("a", null);
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is(""));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is(""));
+
+        Map<String, Object> a = new HashMap<String, Object>();
+        a.put("name", "NAME");
+        model.put("a", a);
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("NAME"));
+
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void memoize_loopBodiesAreMemoizedPerIteration() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        TemplateBlockBinder unit = MemoizingTemplateBlock.memoize(ParseUtilities.parseString("!{for value : values}!{if value != 'B'}[${value}]!{/if}!{/for}"), fragmentCache);
+
+        MatcherAssert.assertThat(unit.getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.MEMOIZED));
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B", "C"));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[A][C]"));
+
+        // FOR block is rendered again, IF blocks for A and C are reused
+        model.put("values", Arrays.asList("A", "C", "D"));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[A][C][D]"));
+
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(2L));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(6L));
+
+    }
+
+    @Test
+    public void render_changesOfMutatedLoopValuesAreDetected() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        MemoizingTemplateBlock unit = new MemoizingTemplateBlock(ParseUtilities.parseString("!{for value : values}[${value.name}]!{/for}"), fragmentCache);
+
+        Map<String, Object> value = new HashMap<String, Object>();
+        value.put("name", "A");
+        List<Object> values = new ArrayList<Object>();
+        values.add(value);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", values);
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[A]"));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[A]"));
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+
+        // same list instance with changed element
+        value.put("name", "B");
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[B]"));
+
+        // same list instance with added element
+        values.add(Collections.singletonMap("name", "C"));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("[B][C]"));
+
+        MatcherAssert.assertThat(fragmentCache.getHitCount(), Matchers.is(1L));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(3L));
+
+    }
+
+    @Test
+    public void render_changesOfMutatedIncludeModelAreDetected() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        MemoizingTemplateBlock unit = new MemoizingTemplateBlock(ParseUtilities.parseString("!{include resource:'/RecursiveIncludeTemplateBlockTest.tpl', model:'tree'}!{/include}"), fragmentCache);
+
+        Map<String, Object> tree = new HashMap<String, Object>();
+        tree.put("name", "A");
+        tree.put("child", null);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("tree", tree);
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("A"));
+
+        tree.put("name", "B");
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("B"));
+
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void render_singleUseLoopValuesAreNotMemoized() {
+
+        FragmentCache fragmentCache = new FragmentCache();
+        MemoizingTemplateBlock unit = new MemoizingTemplateBlock(ParseUtilities.parseString("!{for value : values}${value}!{/for}"), fragmentCache);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B").iterator());
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is("AB"));
+
+        MatcherAssert.assertThat(fragmentCache.size(), Matchers.is(0));
+        MatcherAssert.assertThat(fragmentCache.getMissCount(), Matchers.is(0L));
+
+    }
+
+    @Test
+    public void memoize_textBlocksAreNotMemoized() {
+
+        TemplateBlockBinder unit = MemoizingTemplateBlock.memoize(ParseUtilities.parseString("abc${value}"), new FragmentCache());
+
+        MatcherAssert.assertThat(unit.getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.PLAIN_TEXT));
+        MatcherAssert.assertThat(unit.getTemplateBlocks().get(1).getTemplateBlockType(), Matchers.is(TemplateBlockType.DYNAMIC_TEXT));
+
+    }
+
+}
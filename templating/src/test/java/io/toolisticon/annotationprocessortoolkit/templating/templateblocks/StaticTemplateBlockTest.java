@@ -1,9 +1,15 @@
 package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
 
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Unit Test for {@link StaticTemplateBlock}.
  */
@@ -14,4 +20,22 @@ public class StaticTemplateBlockTest {
         MatcherAssert.assertThat(new StaticTemplateBlock("").getTemplateBlockType(), Matchers.is(TemplateBlockType.STATIC));
     }
 
+    @Test
+    public void render_shouldWriteEncodedContentToUtf8RenderTarget() throws IOException {
+
+        StaticTemplateBlock unit = new StaticTemplateBlock("\u00e4bc\u20ac");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget renderTarget = new Utf8RenderTarget(outputStream);
+        unit.render(null, renderTarget);
+        renderTarget.flush();
+
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is("\u00e4bc\u20ac".getBytes(StandardCharsets.UTF_8)));
+
+        StringWriter writer = new StringWriter();
+        unit.render(null, writer);
+        MatcherAssert.assertThat(writer.toString(), Matchers.is("\u00e4bc\u20ac"));
+
+    }
+
 }
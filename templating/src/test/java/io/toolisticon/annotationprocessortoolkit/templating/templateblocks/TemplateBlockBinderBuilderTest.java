@@ -0,0 +1,86 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TemplateBlockBinderBuilder}.
+ */
+public class TemplateBlockBinderBuilderTest {
+
+    @Test
+    public void build_adjacentPlainTextIsMerged() {
+
+        TemplateBlockBinderBuilder unit = new TemplateBlockBinderBuilder("");
+        unit.addPlainText("A");
+        unit.addVariableTextTemplateBlock(new VariableTextTemplateBlock("'B'"));
+        unit.addPlainText("C");
+        unit.addVariableTextTemplateBlock(new VariableTextTemplateBlock("value"));
+        unit.addPlainText("D");
+
+        TemplateBlockBinder binder = unit.build();
+
+        MatcherAssert.assertThat(binder.getTemplateBlocks().size(), Matchers.is(3));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(0).getContent(null), Matchers.is("ABC"));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(1).getTemplateBlockType(), Matchers.is(TemplateBlockType.DYNAMIC_TEXT));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(2).getContent(null), Matchers.is("D"));
+
+    }
+
+    @Test
+    public void build_constantIfBlocksAreResolved() {
+
+        IfTemplateBlock trueIfTemplateBlock = new IfTemplateBlock("true", "");
+        trueIfTemplateBlock.getBinder().addTemplateBlock(new PlainTextTemplateBlock("T"));
+        IfTemplateBlock falseIfTemplateBlock = new IfTemplateBlock("false", "");
+        falseIfTemplateBlock.getBinder().addTemplateBlock(new PlainTextTemplateBlock("F"));
+        IfTemplateBlock dynamicIfTemplateBlock = new IfTemplateBlock("value", "");
+
+        TemplateBlockBinderBuilder unit = new TemplateBlockBinderBuilder("");
+        unit.addPlainText("A");
+        unit.addIfTemplateBlock(trueIfTemplateBlock);
+        unit.addIfTemplateBlock(falseIfTemplateBlock);
+        unit.addIfTemplateBlock(dynamicIfTemplateBlock);
+
+        TemplateBlockBinder binder = unit.build();
+
+        MatcherAssert.assertThat(binder.getTemplateBlocks().size(), Matchers.is(2));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(0).getContent(null), Matchers.is("AT"));
+        MatcherAssert.assertThat(binder.getTemplateBlocks().get(1), Matchers.<TemplateBlock>sameInstance(dynamicIfTemplateBlock));
+
+    }
+
+    @Test
+    public void addPlainText_adjacentRangesAreMergedWithoutCopying() {
+
+        String templateString = "ABCDEF";
+
+        TemplateBlockBinderBuilder unit = new TemplateBlockBinderBuilder(templateString);
+        unit.addPlainText(templateString, 0, 2);
+        unit.addPlainText(templateString, 2, 4);
+        unit.addPlainText(templateString, 4, 4);
+        unit.addTemplateBlock(new StaticTemplateBlock("S"));
+        unit.addPlainText(templateString, 4, 5);
+        unit.addPlainText("-");
+        unit.addPlainText(templateString, 5, 6);
+
+        TemplateBlockBinder binder = unit.build();
+
+        MatcherAssert.assertThat(binder.getTemplateBlocks().size(), Matchers.is(3));
+        MatcherAssert.assertThat(binder.getContent(null), Matchers.is("ABCDSE-F"));
+        MatcherAssert.assertThat(((PlainTextTemplateBlock) binder.getTemplateBlocks().get(0)).getTextSlice().getChars(), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void build_emptyPlainTextIsOmitted() {
+
+        TemplateBlockBinderBuilder unit = new TemplateBlockBinderBuilder("");
+        unit.addPlainText("");
+
+        MatcherAssert.assertThat(unit.build().getTemplateBlocks().size(), Matchers.is(0));
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TemplateBlockDependencies}.
+ */
+public class TemplateBlockDependenciesTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getModelPaths_nullSafety() {
+        TemplateBlockDependencies.getModelPaths(null);
+    }
+
+    @Test
+    public void getModelPaths_variableTextAndIfBlocks() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("${a.b} ${'x' + c}!{if d > 5 && e}${f}!{/if}${a.b}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.contains("a.b", "c", "d", "e", "f"));
+
+    }
+
+    @Test
+    public void getModelPaths_constantBlocksHaveNoDependencies() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("abc ${5 * 3}!{static}${a}!{/static}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.<String>empty());
+
+    }
+
+    @Test
+    public void getModelPaths_loopVariableIsReplacedByLoopValues() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{for value : element.values}${value.name}${valueSuffix}${prefix}!{/for}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.contains("element.values", "valueSuffix", "prefix"));
+
+    }
+
+    @Test
+    public void getModelPaths_includeWithModelAttribute() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{include resource:'/RecursiveIncludeTemplateBlockTest.tpl', model:'element.tree'}!{/include}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.contains("element.tree"));
+
+    }
+
+    @Test
+    public void getModelPaths_includeWithModelDefinition() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{include resource:'/TestTemplateProcessorTemplateFile.tpl'}test:element.name + suffix\n!{/include}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.contains("element.name", "suffix"));
+
+    }
+
+    @Test
+    public void getModelPaths_includeWithoutModelUsesDependenciesOfIncludedTemplate() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{include resource:'/TestTemplateProcessorTemplateFile.tpl'}!{/include}");
+
+        MatcherAssert.assertThat(TemplateBlockDependencies.getModelPaths(binder), Matchers.contains("test"));
+
+    }
+
+    @Test
+    public void getModelDependencies_pathsRootedInLoopVariableAreKeptPerScope() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{for value : element.values}${value.name}!{for item : value.items}${item}${prefix}!{/for}!{/for}");
+
+        TemplateBlockDependencies.ModelDependencies modelDependencies = TemplateBlockDependencies.getModelDependencies(binder);
+        MatcherAssert.assertThat(modelDependencies.getValuePaths(), Matchers.contains("prefix"));
+        MatcherAssert.assertThat(modelDependencies.getScopeDependencies(), Matchers.hasSize(1));
+
+        TemplateBlockDependencies.ScopeDependencies loopDependencies = modelDependencies.getScopeDependencies().get(0);
+        MatcherAssert.assertThat(loopDependencies.getAccessPath(), Matchers.is("element.values"));
+        MatcherAssert.assertThat(loopDependencies.getVariableName(), Matchers.is("value"));
+        MatcherAssert.assertThat(loopDependencies.isIterated(), Matchers.is(true));
+        MatcherAssert.assertThat(loopDependencies.getVariableDependencies().getValuePaths(), Matchers.contains("value.name"));
+        MatcherAssert.assertThat(loopDependencies.getVariableDependencies().getScopeDependencies(), Matchers.hasSize(1));
+
+        TemplateBlockDependencies.ScopeDependencies nestedLoopDependencies = loopDependencies.getVariableDependencies().getScopeDependencies().get(0);
+        MatcherAssert.assertThat(nestedLoopDependencies.getAccessPath(), Matchers.is("value.items"));
+        MatcherAssert.assertThat(nestedLoopDependencies.getVariableDependencies().getValuePaths(), Matchers.contains("item"));
+
+    }
+
+    @Test
+    public void getModelDependencies_recursiveIncludeWithModelAttributeReadsWholeModel() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{include resource:'/RecursiveIncludeTemplateBlockTest.tpl', model:'element.tree'}!{/include}");
+
+        TemplateBlockDependencies.ModelDependencies modelDependencies = TemplateBlockDependencies.getModelDependencies(binder);
+        MatcherAssert.assertThat(modelDependencies.getValuePaths(), Matchers.<String>empty());
+
+        TemplateBlockDependencies.ScopeDependencies includeDependencies = modelDependencies.getScopeDependencies().get(0);
+        MatcherAssert.assertThat(includeDependencies.isIterated(), Matchers.is(false));
+        MatcherAssert.assertThat(includeDependencies.getVariableDependencies().getValuePaths(), Matchers.contains("model.name", "model.child"));
+
+    }
+
+}
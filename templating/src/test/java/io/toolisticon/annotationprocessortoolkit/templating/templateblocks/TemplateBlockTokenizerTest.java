@@ -0,0 +1,105 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.exceptions.MissingClosingTagException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TemplateBlockTokenizer}.
+ */
+public class TemplateBlockTokenizerTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nullSafety() {
+        new TemplateBlockTokenizer(null);
+    }
+
+    @Test
+    public void nextBlock_noBlocks() {
+
+        TemplateBlockTokenizer unit = new TemplateBlockTokenizer("abc $ {def} ! {ghi}");
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(false));
+
+    }
+
+    @Test
+    public void nextBlock_detectAllBlocksInOrder() {
+
+        String templateString = "A${ abc.def }B!{for x : y}${x}!{/for}C!{static}!{if a}!{/static}D";
+        TemplateBlockTokenizer unit = new TemplateBlockTokenizer(templateString);
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getTemplateBlockType(), Matchers.is(TemplateBlockType.DYNAMIC_TEXT));
+        MatcherAssert.assertThat(unit.getBlockBeginIndex(), Matchers.is(1));
+        MatcherAssert.assertThat(unit.getBlockEndIndex(), Matchers.is(13));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("abc.def"));
+        MatcherAssert.assertThat(unit.getAttributes(), Matchers.nullValue());
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getTemplateBlockType(), Matchers.is(TemplateBlockType.FOR));
+        MatcherAssert.assertThat(unit.getBlockBeginIndex(), Matchers.is(14));
+        MatcherAssert.assertThat(unit.getAttributes(), Matchers.is("x : y"));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("${x}"));
+        MatcherAssert.assertThat(templateString.substring(unit.getBlockEndIndex()), Matchers.is("C!{static}!{if a}!{/static}D"));
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getTemplateBlockType(), Matchers.is(TemplateBlockType.STATIC));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("!{if a}"));
+        MatcherAssert.assertThat(templateString.substring(unit.getBlockEndIndex()), Matchers.is("D"));
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(false));
+
+    }
+
+    @Test
+    public void nextBlock_nestedBlocksAndClosingTagsInStaticBlocks() {
+
+        TemplateBlockTokenizer unit = new TemplateBlockTokenizer("!{if a}1!{if b}2!{/if}!{static}!{/if}!{/static}3!{/if}4");
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getTemplateBlockType(), Matchers.is(TemplateBlockType.IF));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("1!{if b}2!{/if}!{static}!{/if}!{/static}3"));
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(false));
+
+    }
+
+    @Test
+    public void nextBlock_dynamicTextMustNotSpanMultipleLines() {
+
+        TemplateBlockTokenizer unit = new TemplateBlockTokenizer("${a\nb} ${c}");
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getBlockBeginIndex(), Matchers.is(7));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("c"));
+
+    }
+
+    @Test
+    public void nextBlock_rangeBasedTokenization() {
+
+        TemplateBlockTokenizer unit = new TemplateBlockTokenizer("${a}${b}${c}", 4, 8);
+
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(true));
+        MatcherAssert.assertThat(unit.getContent(), Matchers.is("b"));
+        MatcherAssert.assertThat(unit.nextBlock(), Matchers.is(false));
+
+    }
+
+    @Test(expected = MissingClosingTagException.class)
+    public void nextBlock_missingClosingTag() {
+
+        new TemplateBlockTokenizer("!{for a:b} !{for c:d} !{/for}").nextBlock();
+
+    }
+
+    @Test(expected = MissingClosingTagException.class)
+    public void nextBlock_missingClosingStaticTag() {
+
+        new TemplateBlockTokenizer("!{static} !{/for}").nextBlock();
+
+    }
+
+}
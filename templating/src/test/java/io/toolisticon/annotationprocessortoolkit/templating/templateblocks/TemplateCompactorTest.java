@@ -0,0 +1,109 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateCompactor}.
+ */
+public class TemplateCompactorTest {
+
+    private static final String TEMPLATE = "ä<!{for value : values}(${value}!{if value == 'B'}€!{/if})!{/for}!{static}${x}!{/static}(";
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compact_nullSafety() {
+        TemplateCompactor.compact(null);
+    }
+
+    @Test
+    public void parseString_staticTextIsNeitherCopiedNorEncodedBeforeCompaction() {
+
+        TemplateBlockBinder unit = ParseUtilities.parseString(TEMPLATE);
+
+        PlainTextTemplateBlock leadingText = (PlainTextTemplateBlock) unit.getTemplateBlocks().get(0);
+        StaticTemplateBlock staticText = (StaticTemplateBlock) unit.getTemplateBlocks().get(2);
+
+        MatcherAssert.assertThat(leadingText.getTextSlice().getChars(), Matchers.nullValue());
+        MatcherAssert.assertThat(leadingText.getTextSlice().getEncodedChars(), Matchers.nullValue());
+        MatcherAssert.assertThat(staticText.getTextSlice().getChars(), Matchers.nullValue());
+        MatcherAssert.assertThat(staticText.getTextSlice().getEncodedChars(), Matchers.nullValue());
+
+        MatcherAssert.assertThat(leadingText.getContent(null), Matchers.is("ä<"));
+        MatcherAssert.assertThat(staticText.getContent(null), Matchers.is("${x}"));
+
+    }
+
+    @Test
+    public void compact_staticTextSharesBuffers() {
+
+        TemplateBlockBinder unit = TemplateCompactor.compact(ParseUtilities.parseString(TEMPLATE));
+
+        PlainTextTemplateBlock leadingText = (PlainTextTemplateBlock) unit.getTemplateBlocks().get(0);
+        StaticTemplateBlock staticText = (StaticTemplateBlock) unit.getTemplateBlocks().get(2);
+        PlainTextTemplateBlock trailingText = (PlainTextTemplateBlock) unit.getTemplateBlocks().get(3);
+
+        ForTemplateBlock forTemplateBlock = (ForTemplateBlock) unit.getTemplateBlocks().get(1);
+        IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) forTemplateBlock.getBinder().getTemplateBlocks().get(2);
+        PlainTextTemplateBlock nestedText = (PlainTextTemplateBlock) ifTemplateBlock.getBinder().getTemplateBlocks().get(0);
+
+        MatcherAssert.assertThat(staticText.getTextSlice().getChars(), Matchers.sameInstance(leadingText.getTextSlice().getChars()));
+        MatcherAssert.assertThat(nestedText.getTextSlice().getChars(), Matchers.sameInstance(leadingText.getTextSlice().getChars()));
+        MatcherAssert.assertThat(nestedText.getTextSlice().getEncodedChars(), Matchers.sameInstance(leadingText.getTextSlice().getEncodedChars()));
+
+        // equal texts share the same slice
+        MatcherAssert.assertThat(trailingText.getTextSlice(), Matchers.sameInstance(((PlainTextTemplateBlock) forTemplateBlock.getBinder().getTemplateBlocks().get(0)).getTextSlice()));
+
+        MatcherAssert.assertThat(new String(leadingText.getTextSlice().getChars()), Matchers.is("ä<(€)${x}"));
+
+    }
+
+    @Test
+    public void compact_bodyTemplateStringsAreDropped() {
+
+        TemplateBlockBinder unit = TemplateCompactor.compact(ParseUtilities.parseString(TEMPLATE));
+
+        ForTemplateBlock forTemplateBlock = (ForTemplateBlock) unit.getTemplateBlocks().get(1);
+        IfTemplateBlock ifTemplateBlock = (IfTemplateBlock) forTemplateBlock.getBinder().getTemplateBlocks().get(2);
+
+        MatcherAssert.assertThat(forTemplateBlock.getTemplateString(), Matchers.nullValue());
+        MatcherAssert.assertThat(ifTemplateBlock.getTemplateString(), Matchers.nullValue());
+
+    }
+
+    @Test
+    public void compact_renderingIsUnchanged() throws IOException {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString(TEMPLATE);
+        TemplateBlockBinder unit = TemplateCompactor.compact(binder);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B"));
+
+        String expectedResult = "ä<(A)(B€)${x}(";
+        MatcherAssert.assertThat(binder.getContent(model), Matchers.is(expectedResult));
+        MatcherAssert.assertThat(unit.getContent(model), Matchers.is(expectedResult));
+
+        StringWriter writer = new StringWriter();
+        unit.render(model, writer);
+        MatcherAssert.assertThat(writer.toString(), Matchers.is(expectedResult));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Utf8RenderTarget renderTarget = new Utf8RenderTarget(outputStream);
+        unit.render(model, renderTarget);
+        renderTarget.flush();
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is(expectedResult.getBytes(StandardCharsets.UTF_8)));
+
+    }
+
+}
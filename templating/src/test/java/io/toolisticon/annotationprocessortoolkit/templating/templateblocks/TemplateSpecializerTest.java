@@ -0,0 +1,81 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.ParseUtilities;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TemplateSpecializer}.
+ */
+public class TemplateSpecializerTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void specialize_nullSafety() {
+        TemplateSpecializer.specialize(ParseUtilities.parseString("abc"), null);
+    }
+
+    @Test
+    public void specialize_staticPathsAreSubstituted() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("${config.prefix}:${config.prefix + element.name}!{if config.enabled}ON!{/if}!{if !config.enabled}OFF!{/if}");
+
+        Map<String, Object> config = new HashMap<String, Object>();
+        config.put("prefix", "P");
+        config.put("enabled", true);
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", config);
+
+        TemplateBlockBinder specializedBinder = TemplateSpecializer.specialize(binder, staticModel);
+
+        // plain text, variable text and plain text
+        MatcherAssert.assertThat(specializedBinder.getTemplateBlocks().size(), Matchers.is(3));
+        MatcherAssert.assertThat(specializedBinder.getTemplateBlocks().get(0).getContent(null), Matchers.is("P:"));
+        MatcherAssert.assertThat(specializedBinder.getTemplateBlocks().get(2).getContent(null), Matchers.is("ON"));
+
+        // static path inside of mixed expression is already substituted
+        Map<String, Object> element = new HashMap<String, Object>();
+        element.put("name", "E");
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("element", element);
+
+        MatcherAssert.assertThat(specializedBinder.getContent(model), Matchers.is("P:PEON"));
+
+    }
+
+    @Test
+    public void specialize_loopVariableShadowsStaticModel() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("!{for value : values}${value}!{/for}${value}");
+
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("value", "S");
+
+        TemplateBlockBinder specializedBinder = TemplateSpecializer.specialize(binder, staticModel);
+
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("A", "B"));
+
+        MatcherAssert.assertThat(specializedBinder.getContent(model), Matchers.is("ABS"));
+
+    }
+
+    @Test
+    public void specialize_unresolvableStaticPathIsKept() {
+
+        TemplateBlockBinder binder = ParseUtilities.parseString("${config.unknown}");
+
+        Map<String, Object> staticModel = new HashMap<String, Object>();
+        staticModel.put("config", new HashMap<String, Object>());
+
+        TemplateBlockBinder specializedBinder = TemplateSpecializer.specialize(binder, staticModel);
+
+        MatcherAssert.assertThat(specializedBinder.getTemplateBlocks().get(0).getTemplateBlockType(), Matchers.is(TemplateBlockType.DYNAMIC_TEXT));
+
+    }
+
+}
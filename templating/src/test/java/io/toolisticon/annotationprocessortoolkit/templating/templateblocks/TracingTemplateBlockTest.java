@@ -0,0 +1,103 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.Template;
+import io.toolisticon.annotationprocessortoolkit.templating.TemplateMetrics;
+import io.toolisticon.annotationprocessortoolkit.templating.Utf8RenderTarget;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link TracingTemplateBlock}.
+ */
+public class TracingTemplateBlockTest {
+
+    /**
+     * Render target that records how content is written.
+     */
+    private static class RecordingUtf8RenderTarget extends Utf8RenderTarget {
+
+        private int encodedWrites = 0;
+        private int appendedChars = 0;
+
+        private RecordingUtf8RenderTarget(ByteArrayOutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void writeEncoded(byte[] encodedContent, int offset, int length) throws IOException {
+            encodedWrites++;
+            super.writeEncoded(encodedContent, offset, length);
+        }
+
+        @Override
+        public Utf8RenderTarget append(char c) throws IOException {
+            appendedChars++;
+            return super.append(c);
+        }
+
+    }
+
+    private static final String TEMPLATE = "!{for value : values}€${value}!{/for}";
+
+    private static Map<String, Object> createModel() {
+        Map<String, Object> model = new HashMap<String, Object>();
+        model.put("values", Arrays.asList("a", "b"));
+        return model;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSafety() {
+        new TracingTemplateBlock(null, new TemplateMetrics(), "test");
+    }
+
+    @Test
+    public void render_shouldWritePreEncodedStaticTextToUtf8RenderTarget() throws IOException {
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        Template template = Template.compile(TEMPLATE).trace(metrics, "test");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        RecordingUtf8RenderTarget renderTarget = new RecordingUtf8RenderTarget(outputStream);
+        template.render(createModel(), renderTarget);
+        renderTarget.flush();
+
+        MatcherAssert.assertThat(outputStream.toByteArray(), Matchers.is("€a€b".getBytes(StandardCharsets.UTF_8)));
+
+        // static text is written pre-encoded, just dynamic text is encoded while rendering
+        MatcherAssert.assertThat(renderTarget.encodedWrites, Matchers.is(2));
+        MatcherAssert.assertThat(renderTarget.appendedChars, Matchers.is(2));
+
+        // output length is counted in bytes
+        MatcherAssert.assertThat(metrics.getOutputLength("test", TemplateBlockType.FOR), Matchers.is(8L));
+        MatcherAssert.assertThat(metrics.getOutputLength("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(2L));
+
+    }
+
+    @Test
+    public void render_shouldCountCharsOfOtherTargets() throws IOException {
+
+        TemplateMetrics metrics = new TemplateMetrics();
+        Template template = Template.compile(TEMPLATE).trace(metrics, "test");
+
+        StringWriter writer = new StringWriter();
+        template.render(createModel(), writer);
+        MatcherAssert.assertThat(writer.toString(), Matchers.is("€a€b"));
+
+        MatcherAssert.assertThat(template.render(createModel()), Matchers.is("€a€b"));
+
+        // rendered once to a Writer and once to a StringBuilder
+        MatcherAssert.assertThat(metrics.getOutputLength("test", TemplateBlockType.FOR), Matchers.is(8L));
+        MatcherAssert.assertThat(metrics.getOutputLength("test", TemplateBlockType.DYNAMIC_TEXT), Matchers.is(4L));
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package io.toolisticon.annotationprocessortoolkit.templating.templateblocks;
+
+import io.toolisticon.annotationprocessortoolkit.templating.expressions.operands.OperandFactory;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Unit test for {@link VariableScope}.
+ */
+public class VariableScopeTest {
+
+    @Test
+    public void get_nullParentScope() {
+
+        VariableScope unit = new VariableScope(null);
+
+        MatcherAssert.assertThat(unit.get("abc"), Matchers.nullValue());
+        MatcherAssert.assertThat(unit.containsKey("abc"), Matchers.is(false));
+        MatcherAssert.assertThat(unit.isEmpty(), Matchers.is(true));
+
+    }
+
+    @Test
+    public void get_localVariablesShadowParentVariables() {
+
+        Map<String, Object> parent = new HashMap<String, Object>();
+        parent.put("abc", "PARENT");
+        parent.put("def", "PARENT");
+
+        VariableScope unit = new VariableScope(parent);
+        MatcherAssert.assertThat(unit.put("abc", "LOCAL"), Matchers.is((Object) "PARENT"));
+
+        MatcherAssert.assertThat(unit.get("abc"), Matchers.is((Object) "LOCAL"));
+        MatcherAssert.assertThat(unit.get("def"), Matchers.is((Object) "PARENT"));
+        MatcherAssert.assertThat(unit.containsKey("abc"), Matchers.is(true));
+        MatcherAssert.assertThat(unit.containsKey("def"), Matchers.is(true));
+        MatcherAssert.assertThat(unit.containsKey("xyz"), Matchers.is(false));
+
+        // parent must not be changed
+        MatcherAssert.assertThat(parent.get("abc"), Matchers.is((Object) "PARENT"));
+
+    }
+
+    @Test
+    public void get_localNullValuesShadowParentVariables() {
+
+        Map<String, Object> parent = new HashMap<String, Object>();
+        parent.put("abc", "PARENT");
+
+        VariableScope unit = new VariableScope(parent);
+        unit.put("abc", null);
+
+        MatcherAssert.assertThat(unit.get("abc"), Matchers.nullValue());
+        MatcherAssert.assertThat(unit.containsKey("abc"), Matchers.is(true));
+
+    }
+
+    @Test
+    public void entrySet_containsMergedVariables() {
+
+        Map<String, Object> parent = new HashMap<String, Object>();
+        parent.put("abc", "PARENT");
+        parent.put("def", "PARENT");
+
+        VariableScope unit = new VariableScope(new VariableScope(parent));
+        unit.put("abc", "LOCAL");
+        unit.put("ghi", "LOCAL");
+
+        Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("abc", "LOCAL");
+        expected.put("def", "PARENT");
+        expected.put("ghi", "LOCAL");
+
+        MatcherAssert.assertThat(new HashMap<String, Object>(unit), Matchers.equalTo(expected));
+        MatcherAssert.assertThat(unit.size(), Matchers.is(3));
+
+    }
+
+    @Test
+    public void getDefiningScope_innermostScopeDefiningVariable() {
+
+        Map<String, Object> root = new HashMap<String, Object>();
+        root.put("abc", "ROOT");
+
+        VariableScope rootScope = new VariableScope(root);
+        VariableScope outer = new VariableScope(rootScope);
+        outer.put("def", "OUTER");
+        VariableScope inner = new VariableScope(outer);
+        inner.put("ghi", "INNER");
+
+        MatcherAssert.assertThat(inner.getDefiningScope(new HashSet<String>(Arrays.asList("ghi", "def"))), Matchers.sameInstance(inner));
+        MatcherAssert.assertThat(inner.getDefiningScope(new HashSet<String>(Arrays.asList("abc", "def"))), Matchers.sameInstance(outer));
+        MatcherAssert.assertThat(inner.getDefiningScope(new HashSet<String>(Arrays.asList("abc"))), Matchers.sameInstance(rootScope));
+        MatcherAssert.assertThat(inner.getDefiningScope(new HashSet<String>()), Matchers.sameInstance(rootScope));
+
+    }
+
+    @Test
+    public void put_invalidatesCachedExpressionResults() {
+
+        VariableScope unit = new VariableScope(null);
+        Object expression = new Object();
+
+        unit.cacheExpressionResult(expression, OperandFactory.createOperationResult(String.class, "A"));
+        MatcherAssert.assertThat(unit.getCachedExpressionResult(expression), Matchers.notNullValue());
+
+        unit.put("abc", "B");
+        MatcherAssert.assertThat(unit.getCachedExpressionResult(expression), Matchers.nullValue());
+
+    }
+
+}
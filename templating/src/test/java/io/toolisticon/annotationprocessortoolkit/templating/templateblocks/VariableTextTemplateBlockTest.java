@@ -83,4 +83,13 @@ public class VariableTextTemplateBlockTest {
 
     }
 
+    @Test
+    public void test_getConstantContent() {
+
+        MatcherAssert.assertThat(new VariableTextTemplateBlock("'abc' + (1 + 2)").getConstantContent(), Matchers.is("abc3"));
+        MatcherAssert.assertThat(new VariableTextTemplateBlock("null").getConstantContent(), Matchers.is("null"));
+        MatcherAssert.assertThat(new VariableTextTemplateBlock("'abc' + def").getConstantContent(), Matchers.nullValue());
+
+    }
+
 }
@@ -0,0 +1 @@
+${model.name}!{if model.child != null}[!{include resource:'/RecursiveIncludeTemplateBlockTest.tpl', model:'model.child'}!{/include}]!{/if}
\ No newline at end of file